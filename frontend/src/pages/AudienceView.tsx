@@ -3,14 +3,41 @@ import { useParams } from 'react-router-dom';
 import { Box, Typography, Button, RadioGroup, FormControlLabel, Radio, TextField } from '@mui/material';
 import SockJS from 'sockjs-client';
 import { Client } from '@stomp/stompjs';
+import { encodeBallot } from '../services/binaryProtocol';
 
 interface ActiveQuestion {
   id: number;
   question: string;
   type: string;
   options: string[];
+  // Present when the server offers the binary vote protocol.
+  presentationRef?: number;
+  questionRef?: number;
+  protocolEpoch?: number;
 }
 
+// Native WebSocket carries binary STOMP bodies; SockJS is text-only and
+// remains the fallback for browsers without it.
+const useBinaryProtocol = typeof WebSocket !== 'undefined';
+
+// A stable voter id plus a per-submission sequence number make votes
+// idempotent: a resend after reconnecting is dropped by the server, and a
+// later choice replaces the earlier one.
+const getVoterId = () => {
+  let voterId = localStorage.getItem('voterId');
+  if (!voterId) {
+    voterId = crypto.randomUUID();
+    localStorage.setItem('voterId', voterId);
+  }
+  return voterId;
+};
+
+const nextClientSeq = () => {
+  const seq = Number(localStorage.getItem('voteSeq') ?? '0') + 1;
+  localStorage.setItem('voteSeq', String(seq));
+  return seq;
+};
+
 const AudienceView = () => {
   const { presentationId } = useParams();
   const [activeQuestion, setActiveQuestion] = useState<ActiveQuestion | null>(null);
@@ -18,9 +45,10 @@ const AudienceView = () => {
   const [stompClient, setStompClient] = useState<Client | null>(null);
 
   useEffect(() => {
-    const socket = new SockJS('http://localhost:8080/api/ws');
     const client = new Client({
-      webSocketFactory: () => socket,
+      webSocketFactory: () => useBinaryProtocol
+        ? new WebSocket('ws://localhost:8080/api/ws-binary')
+        : new SockJS('http://localhost:8080/api/ws'),
       connectHeaders: {
         login: 'user',
         passcode: 'password',
@@ -51,11 +79,28 @@ const AudienceView = () => {
 
   const handleSubmitResponse = () => {
     if (activeQuestion && response) {
+      const voterId = getVoterId();
+      const clientSeq = nextClientSeq();
+      const option = activeQuestion.options.indexOf(response);
+      if (useBinaryProtocol && activeQuestion.type === 'MULTIPLE_CHOICE' && option >= 0
+          && activeQuestion.questionRef !== undefined && activeQuestion.presentationRef !== undefined
+          && activeQuestion.protocolEpoch !== undefined) {
+        stompClient?.publish({
+          destination: '/app/binary/votes',
+          binaryBody: encodeBallot(activeQuestion.protocolEpoch, voterId, activeQuestion.presentationRef,
+            activeQuestion.questionRef, option, clientSeq),
+          headers: { 'content-type': 'application/octet-stream' },
+        });
+        setResponse('');
+        return;
+      }
       stompClient?.publish({
         destination: `/app/presentation/${presentationId}/response`,
         body: JSON.stringify({
           questionId: activeQuestion.id,
           response,
+          voterId,
+          clientSeq,
         }),
       });
       setResponse('');
@@ -63,27 +63,35 @@ const PresenterDashboard = () => {
     };
   }, [presentationId]);
 
-  const updatePollResponses = (response: any) => {
+  // The server coalesces votes and sends the current counts for each changed
+  // question, so an update replaces the question's responses outright.
+  const updatePollResponses = (update: { questionId: number; options: string[]; votes: number[] }) => {
     setPollQuestions((prevQuestions) =>
       prevQuestions.map((question) =>
-        question.id === response.questionId
+        question.id === update.questionId
           ? {
               ...question,
-              responses: {
-                ...question.responses,
-                [response.option]: (question.responses[response.option] || 0) + 1,
-              },
+              responses: Object.fromEntries(
+                update.options.map((option, index) => [option, update.votes[index] ?? 0])
+              ),
             }
           : question
       )
     );
   };
 
-  const updateWordCloud = (wordCloud: WordCloud) => {
+  // Updates carry only the words whose counts changed plus any words that
+  // dropped out of the server's top list.
+  const updateWordCloud = (update: { id: number; wordFrequencies: { [key: string]: number }; removed: string[] }) => {
     setWordClouds((prevClouds) =>
-      prevClouds.map((cloud) =>
-        cloud.id === wordCloud.id ? { ...cloud, wordFrequencies: wordCloud.wordFrequencies } : cloud
-      )
+      prevClouds.map((cloud) => {
+        if (cloud.id !== update.id) {
+          return cloud;
+        }
+        const wordFrequencies = { ...cloud.wordFrequencies, ...update.wordFrequencies };
+        update.removed.forEach((word) => delete wordFrequencies[word]);
+        return { ...cloud, wordFrequencies };
+      })
     );
   };
 
@@ -0,0 +1,92 @@
+// Compact binary frames for the audience channel; mirrors BinaryProtocol.java.
+// Integers are unsigned LEB128 varints and ids are server-assigned references.
+
+const VOTES = 0x01;
+const TALLIES = 0x02;
+const BALLOTS = 0x03;
+
+export interface BinaryTallies {
+  epoch: number;
+  presentationRef: number;
+  questions: { questionRef: number; votes: number[] }[];
+}
+
+const writeVarint = (out: number[], value: number) => {
+  while (value > 0x7f) {
+    out.push((value & 0x7f) | 0x80);
+    value >>>= 7;
+  }
+  out.push(value);
+};
+
+export const encodeVote = (
+  epoch: number,
+  presentationRef: number,
+  questionRef: number,
+  option: number,
+): Uint8Array => {
+  const out: number[] = [VOTES];
+  writeVarint(out, epoch);
+  writeVarint(out, presentationRef);
+  writeVarint(out, questionRef);
+  out.push(option & 0xff);
+  return Uint8Array.from(out);
+};
+
+// A vote that carries the voter's identity and sequence number, so the server
+// can drop retries and treat a later ballot as a changed vote.
+export const encodeBallot = (
+  epoch: number,
+  voterId: string,
+  presentationRef: number,
+  questionRef: number,
+  option: number,
+  clientSeq: number,
+): Uint8Array => {
+  const voter = new TextEncoder().encode(voterId);
+  const out: number[] = [BALLOTS];
+  writeVarint(out, epoch);
+  writeVarint(out, voter.length);
+  voter.forEach((b) => out.push(b));
+  writeVarint(out, presentationRef);
+  writeVarint(out, questionRef);
+  out.push(option & 0xff);
+  writeVarint(out, clientSeq);
+  return Uint8Array.from(out);
+};
+
+export const decodeTallies = (frame: Uint8Array): BinaryTallies => {
+  let pos = 0;
+  const readVarint = () => {
+    let value = 0;
+    for (let shift = 0; shift < 35; shift += 7) {
+      if (pos >= frame.length) {
+        throw new Error('Truncated binary frame');
+      }
+      const b = frame[pos++];
+      value |= (b & 0x7f) << shift;
+      if ((b & 0x80) === 0) {
+        return value >>> 0;
+      }
+    }
+    throw new Error('Varint too long');
+  };
+
+  if (frame[pos++] !== TALLIES) {
+    throw new Error('Not a binary tallies frame');
+  }
+  const epoch = readVarint();
+  const presentationRef = readVarint();
+  const questionCount = readVarint();
+  const questions = [];
+  for (let i = 0; i < questionCount; i++) {
+    const questionRef = readVarint();
+    const optionCount = readVarint();
+    const votes = [];
+    for (let j = 0; j < optionCount; j++) {
+      votes.push(readVarint());
+    }
+    questions.push({ questionRef, votes });
+  }
+  return { epoch, presentationRef, questions };
+};
@@ -0,0 +1,79 @@
+package com.interactive.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.interactive.model.Presentation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of presentation lists, both as one buffered value and
+ * element by element through a generator as the streaming endpoints do.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PresentationSerializationBenchmark {
+    @Param({"100", "1000"})
+    public int presentations;
+
+    private ObjectMapper objectMapper;
+    private List<Presentation> list;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        list = new ArrayList<>(presentations);
+        for (int i = 0; i < presentations; i++) {
+            Presentation presentation = new Presentation();
+            presentation.setId(UUID.randomUUID());
+            presentation.setTitle("Presentation " + i);
+            presentation.setDescription("Benchmark presentation");
+            presentation.setAccessCode(String.format("%06d", i));
+            presentation.setPresenterId("presenter-" + (i % 10));
+            presentation.setActive(i % 2 == 0);
+            list.add(presentation);
+        }
+    }
+
+    @Benchmark
+    public byte[] writeList() throws IOException {
+        return objectMapper.writeValueAsBytes(list);
+    }
+
+    @Benchmark
+    public byte[] streamList() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+            generator.writeStartArray();
+            for (Presentation presentation : list) {
+                generator.writeObject(presentation);
+            }
+            generator.writeEndArray();
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,126 @@
+package com.interactive.repository.impl;
+
+import com.datastax.astra.client.collections.Collection;
+import com.datastax.astra.client.collections.definition.documents.Document;
+import com.datastax.astra.client.core.query.Filter;
+import com.datastax.astra.client.databases.Database;
+import com.interactive.admission.AdaptiveConcurrencyLimit;
+import com.interactive.model.PollQuestion;
+import com.interactive.model.Presentation;
+import com.interactive.model.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Cost of turning stored Astra documents into model objects. The repositories
+ * are built against a stubbed {@link Collection} so no database is needed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DocumentMappingBenchmark {
+    private AstraPollQuestionRepository pollQuestionRepository;
+    private AstraResponseRepository responseRepository;
+    private AstraPresentationRepository presentationRepository;
+    private Document pollQuestionDocument;
+    private Document responseDocument;
+    private Document presentationDocument;
+    private String createdAt;
+    private UUID pollQuestionId;
+
+    @Setup
+    public void setUp() {
+        createdAt = LocalDateTime.now().toString();
+        pollQuestionId = UUID.randomUUID();
+        pollQuestionDocument = new Document()
+            .append("_id", pollQuestionId.toString())
+            .append("presentationId", UUID.randomUUID().toString())
+            .append("question", "Which release should we ship first?")
+            .append("options", List.of("Alpha", "Beta", "Gamma", "Delta"))
+            .append("votes", Map.of("0", 120, "1", 45, "2", 300, "3", 7))
+            .append("active", true)
+            .append("createdAt", createdAt);
+        responseDocument = new Document()
+            .append("_id", UUID.randomUUID().toString())
+            .append("pollQuestionId", pollQuestionId.toString())
+            .append("selectedOption", 2)
+            .append("createdAt", createdAt);
+        presentationDocument = new Document()
+            .append("_id", UUID.randomUUID().toString())
+            .append("title", "Quarterly all-hands")
+            .append("description", "Live Q&A and polls")
+            .append("accessCode", "123456")
+            .append("presenterId", "presenter-1")
+            .append("active", true)
+            .append("createdAt", createdAt)
+            .append("endedAt", createdAt);
+
+        AstraOperations operations = new AstraOperations(new SimpleMeterRegistry(), 0,
+            new AdaptiveConcurrencyLimit(256, 256, 256, Long.MAX_VALUE / 1_000_000, 1.0), 0,
+            1, 0, 0, 0, new String[0], 0, 0);
+        AstraSingleFlight singleFlight = new AstraSingleFlight(new SimpleMeterRegistry(), new String[0], 0);
+        pollQuestionRepository = new AstraPollQuestionRepository(stubDatabase(pollQuestionDocument), operations,
+            singleFlight);
+        responseRepository = new AstraResponseRepository(stubDatabase(responseDocument), operations);
+        presentationRepository = new AstraPresentationRepository(stubDatabase(presentationDocument), operations,
+            singleFlight);
+    }
+
+    @Benchmark
+    public PollQuestion documentToPollQuestion() {
+        return pollQuestionRepository.documentToPollQuestion(pollQuestionDocument);
+    }
+
+    @Benchmark
+    public Response documentToResponse() {
+        return responseRepository.documentToResponse(responseDocument);
+    }
+
+    @Benchmark
+    public Presentation documentToPresentation() {
+        return presentationRepository.documentToPresentation(presentationDocument);
+    }
+
+    @Benchmark
+    public LocalDateTime parseTimestamp() {
+        return LocalDateTime.parse(createdAt);
+    }
+
+    @Benchmark
+    public Optional<PollQuestion> findPollQuestionById() {
+        return pollQuestionRepository.findById(pollQuestionId);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Database stubDatabase(Document document) {
+        Collection<Document> collection = mock(Collection.class);
+        when(collection.findOne(any(Filter.class))).thenReturn(Optional.of(document));
+        Database database = mock(Database.class);
+        when(database.getCollection(anyString())).thenReturn(collection);
+        return database;
+    }
+}
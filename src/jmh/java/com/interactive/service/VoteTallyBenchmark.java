@@ -0,0 +1,102 @@
+package com.interactive.service;
+
+import com.interactive.cluster.ClusterNode;
+import com.interactive.model.PollQuestion;
+import com.interactive.model.Response;
+import com.interactive.repository.PollQuestionRepository;
+import com.interactive.repository.ResponseRepository;
+import com.interactive.repository.RollupRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Rebuilding a tally from N stored responses, and recording votes into a warm
+ * tally from several threads at once.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VoteTallyBenchmark {
+    private static final int OPTIONS = 4;
+
+    @Param({"1000", "100000"})
+    public int responses;
+
+    private UUID pollQuestionId;
+    private VoteTallyService rebuildService;
+    private VoteTallyService counterService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PollQuestion question = new PollQuestion();
+        question.setPresentationId(UUID.randomUUID());
+        question.setQuestion("Benchmark question");
+        question.setOptions(List.of("A", "B", "C", "D"));
+        pollQuestionId = question.getId();
+
+        List<Response> stored = new ArrayList<>(responses);
+        for (int i = 0; i < responses; i++) {
+            Response response = new Response();
+            response.setPollQuestionId(pollQuestionId);
+            response.setSelectedOption(i % OPTIONS);
+            stored.add(response);
+        }
+
+        PollQuestionRepository pollQuestionRepository = mock(PollQuestionRepository.class);
+        when(pollQuestionRepository.findById(pollQuestionId)).thenReturn(Optional.of(question));
+        ResponseRepository responseRepository = mock(ResponseRepository.class);
+        when(responseRepository.findByPollQuestionId(pollQuestionId)).thenReturn(stored);
+        WriteBehindService writeBehindService = mock(WriteBehindService.class);
+        TimeSeriesRollups rollups = new TimeSeriesRollups(mock(RollupRepository.class),
+            mock(ExecutorService.class), 360, 1440, 10000);
+        @SuppressWarnings("unchecked")
+        ObjectProvider<ClusterNode> noCluster = mock(ObjectProvider.class);
+
+        rebuildService = new VoteTallyService(pollQuestionRepository, responseRepository,
+            writeBehindService, new VoteCounterBuffer(pollQuestionRepository, noCluster), rollups, noCluster,
+            new SimpleMeterRegistry(), VoteTallyService.MODE_RESPONSES, 1000, 60, 100000);
+        counterService = new VoteTallyService(pollQuestionRepository, responseRepository,
+            writeBehindService, new VoteCounterBuffer(pollQuestionRepository, noCluster), rollups, noCluster,
+            new SimpleMeterRegistry(), VoteTallyService.MODE_COUNTERS, 1000, 60, 100000);
+        counterService.getTally(pollQuestionId);
+    }
+
+    @Benchmark
+    public VoteTally rebuildTally() {
+        rebuildService.evict(pollQuestionId);
+        return rebuildService.getTally(pollQuestionId);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Response recordVote() {
+        return counterService.recordVote(pollQuestionId, ThreadLocalRandom.current().nextInt(OPTIONS));
+    }
+}
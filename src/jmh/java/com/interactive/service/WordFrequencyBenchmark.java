@@ -0,0 +1,68 @@
+package com.interactive.service;
+
+import com.interactive.model.WordCloud;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Merging a batch of submitted words into a word cloud, comparing the plain
+ * {@link WordCloud#getWordFrequencies()} map with the bounded
+ * {@link SpaceSavingCounter} used by the word cloud engine.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WordFrequencyBenchmark {
+    private static final int BATCH = 1000;
+
+    @Param({"100", "10000"})
+    public int vocabulary;
+
+    private String[] words;
+
+    @Setup
+    public void setUp() {
+        // Zipf-like skew: a few words dominate, as in a real audience.
+        Random random = new Random(42);
+        words = new String[BATCH];
+        for (int i = 0; i < BATCH; i++) {
+            int rank = (int) Math.floor(Math.pow(vocabulary, random.nextDouble()));
+            words[i] = "word" + rank;
+        }
+    }
+
+    @Benchmark
+    public Map<String, Integer> mergeIntoWordCloud() {
+        WordCloud wordCloud = new WordCloud();
+        Map<String, Integer> frequencies = wordCloud.getWordFrequencies();
+        for (String word : words) {
+            frequencies.merge(word, 1, Integer::sum);
+        }
+        return frequencies;
+    }
+
+    @Benchmark
+    public Map<String, Long> mergeIntoSpaceSaving() {
+        SpaceSavingCounter counter = new SpaceSavingCounter(1000);
+        for (String word : words) {
+            counter.add(word, 1);
+        }
+        return counter.top(100);
+    }
+}
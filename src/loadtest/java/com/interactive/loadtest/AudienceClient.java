@@ -0,0 +1,131 @@
+package com.interactive.loadtest;
+
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * One audience member: joins by access code, waits on the socket for the
+ * question to open, then votes and submits words over REST like the
+ * audience page does.
+ */
+class AudienceClient implements Runnable {
+    private final Scenario scenario;
+    private final LoadTarget target;
+    private final WebSocketStompClient stompClient;
+    private final LiveSessionFixture session;
+    private final LatencyRecorder recorder;
+    private final LongAdder broadcastsReceived;
+    private final CountDownLatch connected;
+    private final long startDelayMillis;
+    private final long deadlineNanos;
+    private final String clientId = UUID.randomUUID().toString();
+
+    AudienceClient(Scenario scenario, LoadTarget target, WebSocketStompClient stompClient,
+                   LiveSessionFixture session, LatencyRecorder recorder, LongAdder broadcastsReceived,
+                   CountDownLatch connected, long startDelayMillis, long deadlineNanos) {
+        this.scenario = scenario;
+        this.target = target;
+        this.stompClient = stompClient;
+        this.session = session;
+        this.recorder = recorder;
+        this.broadcastsReceived = broadcastsReceived;
+        this.connected = connected;
+        this.startDelayMillis = startDelayMillis;
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    @Override
+    public void run() {
+        StompSession stompSession = null;
+        boolean counted = false;
+        try {
+            Thread.sleep(startDelayMillis);
+            recorder.time("GET /join/{accessCode}", () -> target.get("/join/" + session.accessCode(), clientId));
+            stompSession = recorder.time("STOMP connect", () -> stompClient
+                .connectAsync(target.webSocketUrl(), new StompSessionHandlerAdapter() { })
+                .get(30, TimeUnit.SECONDS));
+
+            CountDownLatch questionOpened = new CountDownLatch(1);
+            stompSession.subscribe(session.topic("active-question"), handler(() -> {
+                recorder.record("STOMP active-question", System.nanoTime() - session.activatedAtNanos());
+                questionOpened.countDown();
+            }));
+            if (scenario.isSubscribeResults()) {
+                stompSession.subscribe(session.topic("responses"), handler(broadcastsReceived::increment));
+                stompSession.subscribe(session.topic("wordcloud"), handler(broadcastsReceived::increment));
+            }
+            connected.countDown();
+            counted = true;
+
+            if (!questionOpened.await(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                recorder.error("STOMP active-question");
+                return;
+            }
+            for (int i = 0; i < scenario.getVotesPerClient() && System.nanoTime() < deadlineNanos; i++) {
+                think();
+                int option = ThreadLocalRandom.current().nextInt(scenario.getOptions().size());
+                call("POST /questions/{id}/votes", "/" + session.presentationId()
+                    + "/questions/" + session.pollQuestionId() + "/votes?option=" + option
+                    + "&voterId=" + clientId + "&clientSeq=" + (i + 1));
+            }
+            for (int i = 0; i < scenario.getWordsPerClient() && System.nanoTime() < deadlineNanos; i++) {
+                think();
+                String word = scenario.getWords().get(ThreadLocalRandom.current().nextInt(scenario.getWords().size()));
+                call("POST /wordclouds/{id}/words", "/" + session.presentationId()
+                    + "/wordclouds/" + session.wordCloudId() + "/words?word="
+                    + URLEncoder.encode(word, StandardCharsets.UTF_8));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // Already counted against the endpoint that failed.
+        } finally {
+            if (!counted) {
+                connected.countDown();
+            }
+            if (stompSession != null && stompSession.isConnected()) {
+                stompSession.disconnect();
+            }
+        }
+    }
+
+    private void call(String endpoint, String path) {
+        try {
+            recorder.time(endpoint, () -> target.post(path, clientId));
+        } catch (Exception e) {
+            // Counted as an error; keep going so one failure doesn't end the session.
+        }
+    }
+
+    private void think() throws InterruptedException {
+        if (scenario.getThinkTimeMs() > 0) {
+            Thread.sleep(ThreadLocalRandom.current().nextInt(scenario.getThinkTimeMs() + 1));
+        }
+    }
+
+    private static StompFrameHandler handler(Runnable onFrame) {
+        return new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return byte[].class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                onFrame.run();
+            }
+        };
+    }
+}
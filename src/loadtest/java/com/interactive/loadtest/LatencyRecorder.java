@@ -0,0 +1,84 @@
+package com.interactive.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint latency histograms and error counts, safe to record into from
+ * any number of client threads.
+ */
+class LatencyRecorder {
+    private static final long MAX_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private final ConcurrentMap<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    <T> T time(String endpoint, Callable<T> call) throws Exception {
+        long start = System.nanoTime();
+        try {
+            T result = call.call();
+            record(endpoint, System.nanoTime() - start);
+            return result;
+        } catch (Exception e) {
+            error(endpoint);
+            throw e;
+        }
+    }
+
+    void record(String endpoint, long nanos) {
+        endpoint(endpoint).histogram.recordValue(Math.min(Math.max(nanos, 1), MAX_TRACKABLE_NANOS));
+    }
+
+    void error(String endpoint) {
+        endpoint(endpoint).errors.increment();
+    }
+
+    long p99Millis(String endpoint) {
+        Endpoint recorded = endpoints.get(endpoint);
+        return recorded == null ? 0 : TimeUnit.NANOSECONDS.toMillis(recorded.histogram.getValueAtPercentile(99));
+    }
+
+    /** One row per endpoint, sorted by name, with latencies in milliseconds. */
+    List<Map<String, Object>> summarize(double elapsedSeconds) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        endpoints.entrySet().stream()
+            .sorted(Map.Entry.comparingByKey())
+            .forEach(entry -> {
+                Histogram histogram = entry.getValue().histogram.copy();
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("endpoint", entry.getKey());
+                row.put("count", histogram.getTotalCount());
+                row.put("errors", entry.getValue().errors.sum());
+                row.put("throughputPerSecond", Math.round(histogram.getTotalCount() / elapsedSeconds));
+                row.put("p50Ms", millis(histogram.getValueAtPercentile(50)));
+                row.put("p90Ms", millis(histogram.getValueAtPercentile(90)));
+                row.put("p99Ms", millis(histogram.getValueAtPercentile(99)));
+                row.put("p999Ms", millis(histogram.getValueAtPercentile(99.9)));
+                row.put("maxMs", millis(histogram.getMaxValue()));
+                rows.add(row);
+            });
+        return rows;
+    }
+
+    private Endpoint endpoint(String name) {
+        return endpoints.computeIfAbsent(name, key -> new Endpoint());
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+
+    private static final class Endpoint {
+        private final Histogram histogram = new ConcurrentHistogram(MAX_TRACKABLE_NANOS, 3);
+        private final LongAdder errors = new LongAdder();
+    }
+}
@@ -0,0 +1,50 @@
+package com.interactive.loadtest;
+
+import java.util.UUID;
+
+/**
+ * One seeded presentation with its poll question and word cloud, plus the
+ * moment its question was opened so clients can measure broadcast delivery.
+ */
+class LiveSessionFixture {
+    private final UUID presentationId;
+    private final String accessCode;
+    private final UUID pollQuestionId;
+    private final UUID wordCloudId;
+    private volatile long activatedAtNanos;
+
+    LiveSessionFixture(UUID presentationId, String accessCode, UUID pollQuestionId, UUID wordCloudId) {
+        this.presentationId = presentationId;
+        this.accessCode = accessCode;
+        this.pollQuestionId = pollQuestionId;
+        this.wordCloudId = wordCloudId;
+    }
+
+    UUID presentationId() {
+        return presentationId;
+    }
+
+    String accessCode() {
+        return accessCode;
+    }
+
+    UUID pollQuestionId() {
+        return pollQuestionId;
+    }
+
+    UUID wordCloudId() {
+        return wordCloudId;
+    }
+
+    long activatedAtNanos() {
+        return activatedAtNanos;
+    }
+
+    void markActivated() {
+        activatedAtNanos = System.nanoTime();
+    }
+
+    String topic(String name) {
+        return "/topic/presentation/" + presentationId + "/" + name;
+    }
+}
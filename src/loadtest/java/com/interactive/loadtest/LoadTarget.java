@@ -0,0 +1,62 @@
+package com.interactive.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * The node under test: the presentations REST resource and the STOMP
+ * endpoint, with one shared HTTP client for every simulated user.
+ */
+class LoadTarget {
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final String CLIENT_ID_HEADER = "X-Client-Id";
+
+    private final HttpClient http;
+    private final String presentationsUrl;
+    private final String webSocketUrl;
+
+    LoadTarget(String host, int port, String contextPath) {
+        this.http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+        this.presentationsUrl = "http://" + host + ":" + port + contextPath + "/api/presentations";
+        // SockJS endpoints also accept a raw WebSocket on the /websocket transport.
+        this.webSocketUrl = "ws://" + host + ":" + port + contextPath + "/ws/websocket";
+    }
+
+    String webSocketUrl() {
+        return webSocketUrl;
+    }
+
+    String get(String path) throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(URI.create(presentationsUrl + path)).GET());
+    }
+
+    // Every simulated client shares one address, so each identifies itself
+    // the way a browser behind NAT would for per-client rate limits.
+    String get(String path, String clientId) throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(URI.create(presentationsUrl + path))
+            .header(CLIENT_ID_HEADER, clientId)
+            .GET());
+    }
+
+    String post(String path, String clientId) throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(URI.create(presentationsUrl + path))
+            .header(CLIENT_ID_HEADER, clientId)
+            .POST(HttpRequest.BodyPublishers.noBody()));
+    }
+
+    private String send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        HttpResponse<String> response = http.send(request.timeout(REQUEST_TIMEOUT).build(),
+            HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 400) {
+            throw new IOException("HTTP " + response.statusCode() + " from " + response.uri());
+        }
+        return response.body();
+    }
+}
@@ -0,0 +1,188 @@
+package com.interactive.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.interactive.InteractivePresentationApplication;
+import com.interactive.model.PollQuestion;
+import com.interactive.model.Presentation;
+import com.interactive.model.WordCloud;
+import com.interactive.repository.PollQuestionRepository;
+import com.interactive.repository.WordCloudRepository;
+import com.interactive.service.LiveSessionService;
+import com.interactive.service.PresentationService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Starts the application on the embedded {@code local} store and drives it
+ * with a simulated audience and presenters described by a {@link Scenario}.
+ *
+ * <p>Usage: {@code LoadTestRunner [scenario]}, where the scenario is a JSON
+ * file path or the name of one under {@code scenarios/} on the classpath.
+ * Exits non-zero when p99 vote latency is over the scenario's SLO.
+ */
+public class LoadTestRunner {
+    private static final String VOTE_ENDPOINT = "POST /questions/{id}/votes";
+
+    private final Scenario scenario;
+    private final ConfigurableApplicationContext context;
+    private final ObjectMapper objectMapper;
+    private final LatencyRecorder recorder = new LatencyRecorder();
+    private final LongAdder broadcastsReceived = new LongAdder();
+
+    LoadTestRunner(Scenario scenario, ConfigurableApplicationContext context) {
+        this.scenario = scenario;
+        this.context = context;
+        this.objectMapper = context.getBean(ObjectMapper.class).copy().enable(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Scenario scenario = loadScenario(args.length > 0 ? args[0] : "smoke");
+        Path storeDirectory = Files.createTempDirectory("loadtest-store");
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(InteractivePresentationApplication.class)
+            .profiles("local")
+            .properties(
+                "server.port=0",
+                "spring.threads.virtual.enabled=true",
+                "spring.devtools.restart.enabled=false",
+                "local-store.directory=" + storeDirectory,
+                "logging.level.com.interactive=WARN",
+                "logging.level.org.springframework=WARN")
+            .run();
+        boolean passed;
+        try {
+            passed = new LoadTestRunner(scenario, context).run();
+        } finally {
+            context.close();
+        }
+        System.exit(passed ? 0 : 1);
+    }
+
+    boolean run() throws Exception {
+        String port = context.getEnvironment().getProperty("local.server.port");
+        String contextPath = context.getEnvironment().getProperty("server.servlet.context-path", "");
+        LoadTarget target = new LoadTarget("localhost", Integer.parseInt(port), contextPath);
+        List<LiveSessionFixture> sessions = seed();
+
+        WebSocketStompClient stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        CountDownLatch connected = new CountDownLatch(scenario.getAudience());
+        long rampUpMillis = TimeUnit.SECONDS.toMillis(scenario.getRampUpSeconds());
+        long deadlineNanos = System.nanoTime()
+            + TimeUnit.SECONDS.toNanos(scenario.getRampUpSeconds() + scenario.getDurationSeconds());
+
+        System.out.printf("Scenario '%s': %d audience, %d presenters across %d presentations%n",
+            scenario.getName(), scenario.getAudience(), scenario.getPresenters(), sessions.size());
+        long start = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < scenario.getAudience(); i++) {
+                long startDelay = scenario.getAudience() > 1 ? rampUpMillis * i / (scenario.getAudience() - 1) : 0;
+                clients.submit(new AudienceClient(scenario, target, stompClient, sessions.get(i % sessions.size()),
+                    recorder, broadcastsReceived, connected, startDelay, deadlineNanos));
+            }
+            for (int i = 0; i < scenario.getPresenters(); i++) {
+                clients.submit(new PresenterClient(scenario, target, sessions.get(i % sessions.size()),
+                    recorder, deadlineNanos));
+            }
+
+            // Open the question once everyone is listening, as a presenter would.
+            if (!connected.await(rampUpMillis + TimeUnit.SECONDS.toMillis(30), TimeUnit.MILLISECONDS)) {
+                System.out.printf("Only %d of %d audience clients connected before the question opened%n",
+                    scenario.getAudience() - connected.getCount(), scenario.getAudience());
+            }
+            LiveSessionService liveSessionService = context.getBean(LiveSessionService.class);
+            for (LiveSessionFixture session : sessions) {
+                session.markActivated();
+                liveSessionService.activate(session.presentationId(), session.pollQuestionId());
+            }
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        return report(elapsedSeconds);
+    }
+
+    private List<LiveSessionFixture> seed() {
+        PresentationService presentationService = context.getBean(PresentationService.class);
+        PollQuestionRepository pollQuestionRepository = context.getBean(PollQuestionRepository.class);
+        WordCloudRepository wordCloudRepository = context.getBean(WordCloudRepository.class);
+        List<LiveSessionFixture> sessions = new ArrayList<>();
+        for (int i = 0; i < scenario.getPresentations(); i++) {
+            Presentation presentation = presentationService
+                .createPresentation("Load test " + (i + 1), scenario.getName()).join();
+
+            PollQuestion question = new PollQuestion();
+            question.setPresentationId(presentation.getId());
+            question.setQuestion("Load test question " + (i + 1));
+            question.setOptions(new ArrayList<>(scenario.getOptions()));
+            pollQuestionRepository.save(question);
+
+            WordCloud wordCloud = new WordCloud();
+            wordCloud.setPresentationId(presentation.getId());
+            wordCloud.setPrompt("One word for this session");
+            wordCloudRepository.save(wordCloud);
+
+            sessions.add(new LiveSessionFixture(presentation.getId(), presentation.getAccessCode(),
+                question.getId(), wordCloud.getId()));
+        }
+        return sessions;
+    }
+
+    private boolean report(double elapsedSeconds) throws IOException {
+        List<Map<String, Object>> endpoints = recorder.summarize(elapsedSeconds);
+        long voteP99 = recorder.p99Millis(VOTE_ENDPOINT);
+        boolean passed = voteP99 <= scenario.getVoteP99SloMs();
+
+        System.out.printf("%n%-32s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+            "endpoint", "count", "errors", "ops/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Map<String, Object> row : endpoints) {
+            System.out.printf("%-32s %9d %7d %9d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                row.get("endpoint"), row.get("count"), row.get("errors"), row.get("throughputPerSecond"),
+                row.get("p50Ms"), row.get("p90Ms"), row.get("p99Ms"), row.get("p999Ms"), row.get("maxMs"));
+        }
+        System.out.printf("%nBroadcast frames received: %d%n", broadcastsReceived.sum());
+        System.out.printf("Vote p99 %d ms against SLO %d ms: %s%n",
+            voteP99, scenario.getVoteP99SloMs(), passed ? "PASS" : "FAIL");
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("scenario", scenario);
+        result.put("elapsedSeconds", elapsedSeconds);
+        result.put("broadcastsReceived", broadcastsReceived.sum());
+        result.put("voteP99Ms", voteP99);
+        result.put("passed", passed);
+        result.put("endpoints", endpoints);
+        Path output = Path.of(System.getProperty("loadtest.result", "target/loadtest-" + scenario.getName() + ".json"));
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        objectMapper.writeValue(output.toFile(), result);
+        System.out.printf("Results written to %s%n", output);
+        return passed;
+    }
+
+    private static Scenario loadScenario(String nameOrPath) throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        Path path = Path.of(nameOrPath);
+        if (Files.isRegularFile(path)) {
+            return mapper.readValue(path.toFile(), Scenario.class);
+        }
+        String resource = "scenarios/" + (nameOrPath.endsWith(".json") ? nameOrPath : nameOrPath + ".json");
+        try (InputStream in = LoadTestRunner.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalArgumentException("Unknown scenario: " + nameOrPath);
+            }
+            return mapper.readValue(in, Scenario.class);
+        }
+    }
+}
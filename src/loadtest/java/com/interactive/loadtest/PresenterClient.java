@@ -0,0 +1,45 @@
+package com.interactive.loadtest;
+
+/**
+ * A presenter dashboard polling its presentation and the live poll results
+ * until the run ends.
+ */
+class PresenterClient implements Runnable {
+    private final Scenario scenario;
+    private final LoadTarget target;
+    private final LiveSessionFixture session;
+    private final LatencyRecorder recorder;
+    private final long deadlineNanos;
+
+    PresenterClient(Scenario scenario, LoadTarget target, LiveSessionFixture session,
+                    LatencyRecorder recorder, long deadlineNanos) {
+        this.scenario = scenario;
+        this.target = target;
+        this.session = session;
+        this.recorder = recorder;
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    @Override
+    public void run() {
+        String presentationPath = "/" + session.presentationId();
+        String resultsPath = presentationPath + "/questions/" + session.pollQuestionId() + "/results";
+        try {
+            while (System.nanoTime() < deadlineNanos && !Thread.currentThread().isInterrupted()) {
+                poll("GET /{id}", presentationPath);
+                poll("GET /questions/{id}/results", resultsPath);
+                Thread.sleep(scenario.getPresenterPollIntervalMs());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void poll(String endpoint, String path) {
+        try {
+            recorder.time(endpoint, () -> target.get(path));
+        } catch (Exception e) {
+            // Counted as an error by the recorder.
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.interactive.loadtest;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * A load-test run, read from a JSON file. Every field has a default so a
+ * scenario only needs to state what differs from a small smoke run.
+ */
+@Data
+public class Scenario {
+    private String name = "smoke";
+    /** Presentations to create; audience and presenters are spread across them. */
+    private int presentations = 1;
+    private int audience = 100;
+    private int presenters = 1;
+    /** Audience members join evenly over this window before the question opens. */
+    private int rampUpSeconds = 5;
+    /** Upper bound on the whole run once the question has been activated. */
+    private int durationSeconds = 60;
+    private int votesPerClient = 1;
+    private int wordsPerClient = 1;
+    private int thinkTimeMs = 250;
+    private int presenterPollIntervalMs = 1000;
+    /** Subscribe audience clients to the live result broadcasts as the frontend does. */
+    private boolean subscribeResults = true;
+    /** The run fails when p99 vote latency exceeds this. */
+    private int voteP99SloMs = 200;
+    private List<String> options = List.of("Yes", "No", "Maybe", "Later");
+    private List<String> words = List.of("fast", "clear", "fun", "long", "useful", "confusing", "great");
+}
@@ -0,0 +1,85 @@
+package com.interactive.admission;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Concurrency limit that sizes itself with AIMD: each call that completes
+ * under {@code latencyThreshold} grows the limit by {@code 1/limit} (about one
+ * permit per round trip of a full window), and each slow or failed call
+ * multiplies it by {@code backoff}. Callers that cannot get a permit within
+ * their wait are rejected rather than queued.
+ */
+public class AdaptiveConcurrencyLimit {
+    private final PermitPool permits;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoff;
+    private double limit;
+    private int applied;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit,
+                                    long latencyThresholdMillis, double backoff) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(latencyThresholdMillis);
+        this.backoff = backoff;
+        this.applied = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+        this.limit = applied;
+        this.permits = new PermitPool(applied);
+    }
+
+    public boolean tryAcquire(long timeout, TimeUnit unit) {
+        try {
+            return permits.tryAcquire(timeout, unit);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /** Releases a permit taken by {@link #tryAcquire} and feeds the call's outcome back into the limit. */
+    public void release(long latencyNanos, boolean failed) {
+        permits.release();
+        adjust(failed || latencyNanos > latencyThresholdNanos);
+    }
+
+    public synchronized int limit() {
+        return applied;
+    }
+
+    public int inFlight() {
+        return Math.max(0, limit() - permits.availablePermits());
+    }
+
+    private synchronized void adjust(boolean congested) {
+        if (congested) {
+            limit = Math.max(minLimit, limit * backoff);
+        } else if (limit < maxLimit) {
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        } else {
+            return;
+        }
+        int target = (int) limit;
+        if (target > applied) {
+            permits.release(target - applied);
+        } else if (target < applied) {
+            // Permits already handed out stay valid; the pool just runs a
+            // deficit until enough of them come back.
+            permits.reducePermits(applied - target);
+        }
+        applied = target;
+    }
+
+    private static final class PermitPool extends Semaphore {
+        PermitPool(int permits) {
+            super(permits);
+        }
+
+        @Override
+        protected void reducePermits(int reduction) {
+            super.reducePermits(reduction);
+        }
+    }
+}
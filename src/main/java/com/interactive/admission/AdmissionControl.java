@@ -0,0 +1,105 @@
+package com.interactive.admission;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Per-client and per-presentation rate limits for audience traffic. On REST
+ * a client is its remote address, which has its own budget; browsers behind
+ * one NAT can send an {@code X-Client-Id} header to get separate client
+ * buckets, but all of them still draw on their address's budget, so
+ * rotating the header gains nothing. On STOMP a client is its session. A
+ * binary frame is charged one token per vote it carries.
+ */
+@Component
+public class AdmissionControl {
+    private final boolean enabled;
+    private final TokenBuckets clientVotes;
+    private final TokenBuckets addressVotes;
+    private final TokenBuckets presentationVotes;
+    private final TokenBuckets clientJoins;
+    private final TokenBuckets addressJoins;
+    private final TokenBuckets accessCodeJoins;
+
+    @Autowired
+    public AdmissionControl(@Value("${admission.enabled:true}") boolean enabled,
+                            @Value("${admission.client-stripes:65536}") int clientStripes,
+                            @Value("${admission.presentation-stripes:4096}") int presentationStripes,
+                            @Value("${admission.vote.client-rate:5}") double clientVoteRate,
+                            @Value("${admission.vote.client-burst:10}") int clientVoteBurst,
+                            @Value("${admission.vote.address-rate:200}") double addressVoteRate,
+                            @Value("${admission.vote.address-burst:400}") int addressVoteBurst,
+                            @Value("${admission.vote.presentation-rate:20000}") double presentationVoteRate,
+                            @Value("${admission.vote.presentation-burst:40000}") int presentationVoteBurst,
+                            @Value("${admission.join.client-rate:1}") double clientJoinRate,
+                            @Value("${admission.join.client-burst:5}") int clientJoinBurst,
+                            @Value("${admission.join.address-rate:50}") double addressJoinRate,
+                            @Value("${admission.join.address-burst:200}") int addressJoinBurst,
+                            @Value("${admission.join.presentation-rate:500}") double presentationJoinRate,
+                            @Value("${admission.join.presentation-burst:2000}") int presentationJoinBurst) {
+        this.enabled = enabled;
+        this.clientVotes = new TokenBuckets(clientStripes, clientVoteRate, clientVoteBurst);
+        this.addressVotes = new TokenBuckets(clientStripes, addressVoteRate, addressVoteBurst);
+        this.presentationVotes = new TokenBuckets(presentationStripes, presentationVoteRate, presentationVoteBurst);
+        this.clientJoins = new TokenBuckets(clientStripes, clientJoinRate, clientJoinBurst);
+        this.addressJoins = new TokenBuckets(clientStripes, addressJoinRate, addressJoinBurst);
+        this.accessCodeJoins = new TokenBuckets(presentationStripes, presentationJoinRate, presentationJoinBurst);
+    }
+
+    /** Admits one vote or word submission, or throws {@link AdmissionRejectedException}. */
+    public void admitVote(UUID presentationId, String client) {
+        admitClientVote(client);
+        admitPresentationVote(presentationId);
+    }
+
+    /**
+     * Charges {@code address} and its client for one REST vote or word
+     * submission. The presentation is charged separately through
+     * {@link #admitPresentationVote} once the question has been looked up,
+     * so the id a client puts in the path picks no bucket.
+     */
+    public void admitClientVote(String address, String clientId) {
+        check(addressVotes, address, 1, "Too many submissions from this address");
+        admitClientVote(clientKey(address, clientId));
+    }
+
+    public void admitClientVote(String client) {
+        admitClientVotes(client, 1);
+    }
+
+    public void admitClientVotes(String client, int votes) {
+        check(clientVotes, client, votes, "Too many submissions from this client");
+    }
+
+    public void admitPresentationVote(UUID presentationId) {
+        admitPresentationVotes(presentationId, 1);
+    }
+
+    public void admitPresentationVotes(UUID presentationId, int votes) {
+        check(presentationVotes, presentationId, votes, "Too many submissions for this presentation");
+    }
+
+    public void admitJoin(String accessCode, String address, String clientId) {
+        check(addressJoins, address, 1, "Too many join attempts from this address");
+        check(clientJoins, clientKey(address, clientId), 1, "Too many join attempts from this client");
+        check(accessCodeJoins, accessCode, 1, "Too many join attempts for this presentation");
+    }
+
+    private static String clientKey(String address, String clientId) {
+        return clientId != null && !clientId.isBlank() ? address + '/' + clientId : address;
+    }
+
+    private void check(TokenBuckets buckets, Object key, int permits, String message) {
+        if (!enabled || key == null) {
+            return;
+        }
+        long waitNanos = buckets.tryAcquire(key, permits);
+        if (waitNanos > 0) {
+            throw new AdmissionRejectedException(message, Duration.ofNanos(waitNanos));
+        }
+    }
+}
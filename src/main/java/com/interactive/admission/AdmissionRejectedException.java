@@ -0,0 +1,20 @@
+package com.interactive.admission;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a request is shed instead of queued. Mapped to
+ * {@code 429 Too Many Requests} with a {@code Retry-After} header.
+ */
+public class AdmissionRejectedException extends RuntimeException {
+    private final Duration retryAfter;
+
+    public AdmissionRejectedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
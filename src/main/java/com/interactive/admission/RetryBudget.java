@@ -0,0 +1,49 @@
+package com.interactive.admission;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps extra attempts (retries or hedged requests) at a fraction of normal
+ * traffic. Each original request deposits {@code ratio} of a token and each
+ * extra attempt spends a whole one, so when the backend is failing the
+ * extra load it sees stays near {@code ratio} rather than multiplying by the
+ * number of attempts. The balance is capped at {@code maxTokens} and starts
+ * full, so a quiet node can still retry its first few failures.
+ */
+public class RetryBudget {
+    private static final long SCALE = 1000;
+
+    private final long deposit;
+    private final long capacity;
+    private final AtomicLong balance;
+
+    public RetryBudget(double ratio, int maxTokens) {
+        this.deposit = Math.max(0, Math.round(ratio * SCALE));
+        this.capacity = Math.max(1, maxTokens) * SCALE;
+        this.balance = new AtomicLong(capacity);
+    }
+
+    /** Credits the budget for one original request. */
+    public void deposit() {
+        if (deposit > 0 && balance.get() < capacity) {
+            balance.accumulateAndGet(deposit, (current, amount) -> Math.min(capacity, current + amount));
+        }
+    }
+
+    /** Spends one token; false when the budget is exhausted. */
+    public boolean tryWithdraw() {
+        while (true) {
+            long current = balance.get();
+            if (current < SCALE) {
+                return false;
+            }
+            if (balance.compareAndSet(current, current - SCALE)) {
+                return true;
+            }
+        }
+    }
+
+    public double available() {
+        return balance.get() / (double) SCALE;
+    }
+}
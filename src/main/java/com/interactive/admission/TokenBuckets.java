@@ -0,0 +1,68 @@
+package com.interactive.admission;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed array of token buckets addressed by key hash. Each bucket is a
+ * single long holding its theoretical arrival time (the generic cell rate
+ * algorithm), so a decision is one read and one CAS with no locks and no
+ * allocation, and memory does not grow with the number of keys. Keys that
+ * hash to the same stripe share a bucket, which only ever errs on the strict
+ * side.
+ */
+public class TokenBuckets {
+    private final AtomicLongArray arrivals;
+    private final int mask;
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final long origin = System.nanoTime();
+
+    /**
+     * @param stripes         number of buckets, rounded up to a power of two
+     * @param permitsPerSecond sustained rate per bucket; zero or less disables the limit
+     * @param burst           requests a bucket admits back to back when full
+     */
+    public TokenBuckets(int stripes, double permitsPerSecond, int burst) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.arrivals = new AtomicLongArray(size);
+        this.mask = size - 1;
+        this.intervalNanos = permitsPerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond) : 0;
+        this.toleranceNanos = intervalNanos * (Math.max(1, burst) - 1L);
+    }
+
+    /** Takes a token for {@code key}; returns 0 when admitted, else the nanos until one is free. */
+    public long tryAcquire(Object key) {
+        return tryAcquire(key, 1);
+    }
+
+    /**
+     * Takes {@code permits} tokens for {@code key} at once, or none; returns 0
+     * when admitted, else the nanos until that many are free. More permits
+     * than the burst are never admitted.
+     */
+    public long tryAcquire(Object key, int permits) {
+        if (intervalNanos == 0 || permits <= 0) {
+            return 0;
+        }
+        int stripe = spread(key.hashCode()) & mask;
+        long now = System.nanoTime() - origin;
+        long cost = intervalNanos * permits;
+        while (true) {
+            long current = arrivals.get(stripe);
+            long arrival = Math.max(current, now);
+            long wait = arrival + cost - intervalNanos - now - toleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (arrivals.compareAndSet(stripe, current, arrival + cost)) {
+                return 0;
+            }
+        }
+    }
+
+    private static int spread(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
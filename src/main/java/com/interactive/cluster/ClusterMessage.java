@@ -0,0 +1,7 @@
+package com.interactive.cluster;
+
+import java.util.List;
+
+/** Counter slots published by one replica. */
+public record ClusterMessage(String replicaId, List<CounterState> states) {
+}
@@ -0,0 +1,338 @@
+package com.interactive.cluster;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * This node's view of the cluster's live counts. Votes and word counts a
+ * node accepts go into its own slot of a {@link PNCounter} per option or
+ * word; {@link #publish()} sends the slots that changed to the other nodes,
+ * and slots received from them are merged and handed to the listeners as
+ * deltas. No node coordinates with another to count, so any node can take
+ * a vote for any presentation.
+ *
+ * <p>Each node also writes what it counted to Astra, and reports through
+ * {@link #persisted} how much of its slot has been written. A node that
+ * loads a tally from Astra {@link #attach attaches} to its subject: it adds
+ * the part of every slot it knows of that is not persisted yet, and from
+ * then on the listener deltas are slot growth, or for a slot first seen
+ * after that, its unpersisted part. Nothing merged while a subject is not
+ * attached is lost, and a node that restarts and hears every slot again
+ * in a full sync does not count persisted votes twice. Astra does not say
+ * which replica wrote what, so votes written between the load's read and
+ * the writer's next message can be counted twice, or missed when the load
+ * had not heard of them yet; totals can be off by the votes written in
+ * that window until the tally is loaded again.
+ *
+ * <p>Slots belong to a replica id made of the node id and a per-start
+ * suffix, so a restarted node starts new slots instead of counting up from
+ * zero in slots the others already hold at a higher value. For the same
+ * reason a subject evicted by {@link #evictIdle} gets a new slot if it is
+ * counted into again.
+ */
+public class ClusterNode {
+    private static final Logger logger = LoggerFactory.getLogger(ClusterNode.class);
+    public static final String VOTES = "votes";
+    public static final String WORDS = "words";
+
+    private final String nodeId;
+    private final String replicaId;
+    private final HashRing ring;
+    private final ClusterTransport transport;
+    private final int maxKeysPerSubject;
+    private final AtomicLong slots = new AtomicLong();
+    private final ConcurrentMap<UUID, Subject> subjects = new ConcurrentHashMap<>();
+    private final Set<UUID> changed = ConcurrentHashMap.newKeySet();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    /** Receives counts other nodes accepted, as the change since the last merge. */
+    @FunctionalInterface
+    public interface Listener {
+        void counted(UUID presentationId, UUID subjectId, String kind, String key, long delta);
+    }
+
+    // Merges and attaches hold the subject's lock, so an attach sees each
+    // delta either in its seed or as a later listener call, never both.
+    private static final class Subject {
+        private final UUID presentationId;
+        private final String kind;
+        private final String slot;
+        private final ConcurrentMap<String, PNCounter> counters = new ConcurrentHashMap<>();
+        private volatile long touched = System.nanoTime();
+        private int attached;
+
+        private Subject(UUID presentationId, String kind, String slot) {
+            this.presentationId = presentationId;
+            this.kind = kind;
+            this.slot = slot;
+        }
+    }
+
+    public ClusterNode(String nodeId, HashRing ring, ClusterTransport transport, int maxKeysPerSubject) {
+        if (!ring.nodes().contains(nodeId)) {
+            throw new IllegalArgumentException("Node " + nodeId + " is not on the ring " + ring.nodes());
+        }
+        this.nodeId = nodeId;
+        this.replicaId = nodeId + "@" + UUID.randomUUID().toString().substring(0, 8);
+        this.ring = ring;
+        this.transport = transport;
+        this.maxKeysPerSubject = maxKeysPerSubject;
+        transport.subscribe(this::receive);
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    public String ownerOf(UUID presentationId) {
+        return ring.ownerOf(presentationId);
+    }
+
+    public boolean owns(UUID presentationId) {
+        return nodeId.equals(ring.ownerOf(presentationId));
+    }
+
+    public List<String> nodes() {
+        return ring.nodes();
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Counts {@code delta} into this node's slot. Returns false when the
+     * subject already has {@code maxKeysPerSubject} keys and {@code key} is
+     * new, so a word cloud flooded with distinct words cannot grow without
+     * bound; the node still counts the word locally.
+     */
+    public boolean add(UUID presentationId, UUID subjectId, String kind, String key, long delta) {
+        while (true) {
+            Subject subject = subject(presentationId, subjectId, kind);
+            PNCounter counter = subject.counters.get(key);
+            if (counter == null) {
+                if (subject.counters.size() >= maxKeysPerSubject) {
+                    return false;
+                }
+                counter = subject.counters.computeIfAbsent(key, k -> new PNCounter());
+            }
+            counter.add(subject.slot, delta);
+            subject.touched = System.nanoTime();
+            changed.add(subjectId);
+            // An evicted subject is never published again, so count into its successor.
+            if (subjects.get(subjectId) == subject) {
+                return true;
+            }
+        }
+    }
+
+    /** Records that {@code delta} of this node's count for {@code key} has been written to Astra. */
+    public void persisted(UUID subjectId, String key, long delta) {
+        Subject subject = subjects.get(subjectId);
+        PNCounter counter = subject != null ? subject.counters.get(key) : null;
+        if (counter == null || delta == 0) {
+            return;
+        }
+        counter.persisted(subject.slot, delta);
+        changed.add(subjectId);
+    }
+
+    /** This node's own count of each key of a subject, for a later {@link #persistedUpTo}. */
+    public Map<String, Long> ownCounts(UUID subjectId) {
+        Map<String, Long> counts = new HashMap<>();
+        Subject subject = subjects.get(subjectId);
+        if (subject != null) {
+            subject.counters.forEach((key, counter) ->
+                counts.put(key, counter.increments(subject.slot) - counter.decrements(subject.slot)));
+        }
+        return counts;
+    }
+
+    /**
+     * Records that Astra holds at least {@code counts} of this node's own
+     * counts, as taken by {@link #ownCounts} before they were written. For
+     * subjects only ever counted up, such as word clouds.
+     */
+    public void persistedUpTo(UUID subjectId, Map<String, Long> counts) {
+        Subject subject = subjects.get(subjectId);
+        if (subject == null) {
+            return;
+        }
+        counts.forEach((key, count) -> {
+            PNCounter counter = subject.counters.get(key);
+            if (counter != null) {
+                counter.persistedUpTo(subject.slot, count);
+            }
+        });
+        changed.add(subjectId);
+    }
+
+    /** Cluster-wide value of each key of a subject. */
+    public Map<String, Long> counts(UUID subjectId) {
+        Map<String, Long> counts = new HashMap<>();
+        Subject subject = subjects.get(subjectId);
+        if (subject != null) {
+            subject.counters.forEach((key, counter) -> counts.put(key, counter.value()));
+        }
+        return counts;
+    }
+
+    /**
+     * Starts applying listener deltas for a subject whose totals were just
+     * read from Astra. {@code seed} gets the counts of each key that no
+     * node has persisted yet, which the stored totals therefore miss, and
+     * runs before any delta merged after it reaches the listeners. Every
+     * attach is paired with a {@link #detach} once the caller drops its
+     * totals.
+     */
+    public <T> T attach(UUID presentationId, UUID subjectId, String kind, Function<Map<String, Long>, T> seed) {
+        Subject subject = subject(presentationId, subjectId, kind);
+        synchronized (subject) {
+            if (subjects.get(subjectId) != subject) {
+                return attach(presentationId, subjectId, kind, seed);
+            }
+            subject.attached++;
+            subject.touched = System.nanoTime();
+            Map<String, Long> unpersisted = new HashMap<>();
+            subject.counters.forEach((key, counter) -> {
+                long count = counter.unpersisted();
+                if (count != 0) {
+                    unpersisted.put(key, count);
+                }
+            });
+            return seed.apply(unpersisted);
+        }
+    }
+
+    public void detach(UUID subjectId) {
+        Subject subject = subjects.get(subjectId);
+        if (subject == null) {
+            return;
+        }
+        synchronized (subject) {
+            subject.attached = Math.max(0, subject.attached - 1);
+            subject.touched = System.nanoTime();
+        }
+    }
+
+    /**
+     * Forgets subjects nothing is attached to that have not been counted
+     * into or merged for {@code idle}, once their last change has been
+     * published. Returns the number forgotten.
+     */
+    public int evictIdle(Duration idle) {
+        long now = System.nanoTime();
+        int evicted = 0;
+        for (Map.Entry<UUID, Subject> entry : subjects.entrySet()) {
+            Subject subject = entry.getValue();
+            synchronized (subject) {
+                if (subject.attached == 0 && now - subject.touched >= idle.toNanos()
+                        && !changed.contains(entry.getKey()) && subjects.remove(entry.getKey(), subject)) {
+                    evicted++;
+                }
+            }
+        }
+        return evicted;
+    }
+
+    /** Sends this node's slots of every subject counted into since the last call. */
+    public void publish() {
+        List<CounterState> states = new ArrayList<>();
+        for (UUID subjectId : changed) {
+            // Removed before reading, so a count that lands meanwhile marks it again.
+            changed.remove(subjectId);
+            collect(subjectId, subjects.get(subjectId), states);
+        }
+        send(states);
+    }
+
+    /** Sends all of this node's slots, repairing whatever the transport lost. */
+    public void publishAll() {
+        List<CounterState> states = new ArrayList<>();
+        subjects.forEach((subjectId, subject) -> collect(subjectId, subject, states));
+        send(states);
+    }
+
+    private void collect(UUID subjectId, Subject subject, List<CounterState> states) {
+        if (subject == null) {
+            return;
+        }
+        subject.counters.forEach((key, counter) -> {
+            long increments = counter.increments(subject.slot);
+            long decrements = counter.decrements(subject.slot);
+            if (increments != 0 || decrements != 0) {
+                states.add(new CounterState(subject.presentationId, subjectId, subject.kind, key, subject.slot,
+                    increments, decrements,
+                    counter.persistedIncrements(subject.slot), counter.persistedDecrements(subject.slot)));
+            }
+        });
+    }
+
+    private void send(List<CounterState> states) {
+        if (states.isEmpty()) {
+            return;
+        }
+        try {
+            transport.publish(new ClusterMessage(replicaId, states));
+        } catch (Exception e) {
+            // The slots are absolute, so the next full sync resends them.
+            logger.warn("Error publishing {} counter states: {}", states.size(), e.getMessage());
+        }
+    }
+
+    void receive(ClusterMessage message) {
+        if (replicaId.equals(message.replicaId())) {
+            return;
+        }
+        for (CounterState state : message.states()) {
+            while (!merge(message.replicaId(), state)) {
+                // The subject was evicted meanwhile; merge into its successor.
+            }
+        }
+    }
+
+    private boolean merge(String replicaId, CounterState state) {
+        Subject subject = subject(state.presentationId(), state.subjectId(), state.kind());
+        synchronized (subject) {
+            if (subjects.get(state.subjectId()) != subject) {
+                return false;
+            }
+            long delta = subject.counters.computeIfAbsent(state.key(), k -> new PNCounter())
+                .merge(state.slot(), state.increments(), state.decrements(),
+                    state.persistedIncrements(), state.persistedDecrements());
+            if (delta == 0) {
+                return true;
+            }
+            subject.touched = System.nanoTime();
+            for (Listener listener : listeners) {
+                try {
+                    listener.counted(state.presentationId(), state.subjectId(), state.kind(), state.key(), delta);
+                } catch (Exception e) {
+                    logger.error("Error applying counts from {}: {}", replicaId, e.getMessage());
+                }
+            }
+            return true;
+        }
+    }
+
+    private Subject subject(UUID presentationId, UUID subjectId, String kind) {
+        Subject subject = subjects.get(subjectId);
+        return subject != null
+            ? subject
+            : subjects.computeIfAbsent(subjectId,
+                id -> new Subject(presentationId, kind, replicaId + "#" + slots.incrementAndGet()));
+    }
+}
@@ -0,0 +1,15 @@
+package com.interactive.cluster;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries counter state between nodes. Messages hold absolute slot values
+ * and merging is idempotent, so a transport may drop, duplicate or reorder
+ * messages; anything lost is repaired by the next full sync.
+ */
+public interface ClusterTransport {
+    void publish(ClusterMessage message);
+
+    /** Registers a receiver; a node also receives its own messages and ignores them. */
+    void subscribe(Consumer<ClusterMessage> receiver);
+}
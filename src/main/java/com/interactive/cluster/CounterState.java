@@ -0,0 +1,14 @@
+package com.interactive.cluster;
+
+import java.util.UUID;
+
+/**
+ * One replica's slot of one counter: the votes for an option of a poll
+ * question, or the count of a word in a word cloud. {@code slot} names the
+ * slot, and the persisted fields say how much of it the replica has written
+ * to storage.
+ */
+public record CounterState(UUID presentationId, UUID subjectId, String kind, String key, String slot,
+                           long increments, long decrements,
+                           long persistedIncrements, long persistedDecrements) {
+}
@@ -0,0 +1,46 @@
+package com.interactive.cluster;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Grow-only counter. Every replica increments only its own slot, and merging
+ * keeps the larger value of each slot, so replicas that have seen the same
+ * updates agree on the total whatever order the updates arrived in.
+ */
+public final class GCounter {
+    private final ConcurrentMap<String, Long> slots = new ConcurrentHashMap<>();
+
+    public void increment(String replica, long delta) {
+        if (delta < 0) {
+            throw new IllegalArgumentException("A grow-only counter cannot be decremented");
+        }
+        slots.merge(replica, delta, Long::sum);
+    }
+
+    /** Merges one replica's slot and returns how much it grew. */
+    public long merge(String replica, long value) {
+        long[] before = new long[1];
+        slots.compute(replica, (key, current) -> {
+            before[0] = current != null ? current : 0;
+            return Math.max(before[0], value);
+        });
+        return Math.max(0, value - before[0]);
+    }
+
+    public boolean contains(String replica) {
+        return slots.containsKey(replica);
+    }
+
+    public long get(String replica) {
+        return slots.getOrDefault(replica, 0L);
+    }
+
+    public long value() {
+        long value = 0;
+        for (long slot : slots.values()) {
+            value += slot;
+        }
+        return value;
+    }
+}
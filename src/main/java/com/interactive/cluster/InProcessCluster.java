@@ -0,0 +1,62 @@
+package com.interactive.cluster;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Several {@link ClusterNode}s sharing one ring and a {@link LoopbackTransport},
+ * for exercising cluster mode on one machine. Nothing is published on a
+ * timer; call {@link #gossip()} to exchange what the nodes have counted,
+ * or {@link #fullSync()} to have every node resend all of its slots.
+ */
+public class InProcessCluster {
+    private final HashRing ring;
+    private final LoopbackTransport transport;
+    private final int maxKeysPerSubject;
+    private final List<ClusterNode> nodes;
+
+    public InProcessCluster(int size, int virtualNodes, int maxKeysPerSubject) {
+        List<String> ids = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ids.add("node-" + i);
+        }
+        this.ring = new HashRing(ids, virtualNodes);
+        this.transport = new LoopbackTransport();
+        this.maxKeysPerSubject = maxKeysPerSubject;
+        this.nodes = new ArrayList<>(size);
+        for (String id : ids) {
+            nodes.add(new ClusterNode(id, ring, transport, maxKeysPerSubject));
+        }
+    }
+
+    public List<ClusterNode> nodes() {
+        return List.copyOf(nodes);
+    }
+
+    public ClusterNode node(int index) {
+        return nodes.get(index);
+    }
+
+    /**
+     * Replaces a node with a fresh one of the same id, as if it had
+     * restarted with nothing in memory. The old node still receives
+     * messages but is no longer published from.
+     */
+    public ClusterNode restart(int index) {
+        ClusterNode restarted = new ClusterNode(nodes.get(index).nodeId(), ring, transport, maxKeysPerSubject);
+        nodes.set(index, restarted);
+        return restarted;
+    }
+
+    public void gossip() {
+        for (ClusterNode node : nodes) {
+            node.publish();
+        }
+    }
+
+    public void fullSync() {
+        for (ClusterNode node : nodes) {
+            node.publishAll();
+        }
+    }
+}
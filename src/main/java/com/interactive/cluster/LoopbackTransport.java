@@ -0,0 +1,26 @@
+package com.interactive.cluster;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Delivers every message to every subscriber in this JVM, on the publishing
+ * thread. Connects in-process nodes, e.g. several {@link ClusterNode}s in a
+ * test or a single node running in cluster mode.
+ */
+public class LoopbackTransport implements ClusterTransport {
+    private final List<Consumer<ClusterMessage>> receivers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(ClusterMessage message) {
+        for (Consumer<ClusterMessage> receiver : receivers) {
+            receiver.accept(message);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<ClusterMessage> receiver) {
+        receivers.add(receiver);
+    }
+}
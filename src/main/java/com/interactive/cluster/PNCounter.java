@@ -0,0 +1,79 @@
+package com.interactive.cluster;
+
+/**
+ * Counter that can go down as well as up, built from two {@link GCounter}s:
+ * its value is the increments minus the decrements. Used for vote tallies,
+ * where a changed ballot takes one vote away from its old option.
+ *
+ * <p>Each replica also reports how much of its slot it has persisted, as a
+ * second pair of grow-only counters, so a node loading a total from storage
+ * can tell which part of a slot the stored total already includes.
+ */
+public final class PNCounter {
+    private final GCounter increments = new GCounter();
+    private final GCounter decrements = new GCounter();
+    private final GCounter persistedIncrements = new GCounter();
+    private final GCounter persistedDecrements = new GCounter();
+
+    public void add(String replica, long delta) {
+        if (delta >= 0) {
+            increments.increment(replica, delta);
+        } else {
+            decrements.increment(replica, -delta);
+        }
+    }
+
+    /** Records that {@code delta} of the replica's own slot has been written to storage. */
+    public void persisted(String replica, long delta) {
+        if (delta >= 0) {
+            persistedIncrements.increment(replica, delta);
+        } else {
+            persistedDecrements.increment(replica, -delta);
+        }
+    }
+
+    /** Raises the replica's persisted increments to {@code incremented} if they are lower. */
+    public void persistedUpTo(String replica, long incremented) {
+        persistedIncrements.merge(replica, incremented);
+    }
+
+    /**
+     * Merges one replica's slot and persisted marks and returns the change in
+     * value a reader seeded from storage has not seen yet: the growth of the
+     * slot, or for a replica seen here for the first time, the part of its
+     * slot it has not persisted.
+     */
+    public long merge(String replica, long incremented, long decremented,
+                      long persistedIncremented, long persistedDecremented) {
+        boolean seen = increments.contains(replica);
+        long grown = increments.merge(replica, incremented) - decrements.merge(replica, decremented);
+        long persisted = persistedIncrements.merge(replica, persistedIncremented)
+            - persistedDecrements.merge(replica, persistedDecremented);
+        return seen ? grown : grown - persisted;
+    }
+
+    public long increments(String replica) {
+        return increments.get(replica);
+    }
+
+    public long decrements(String replica) {
+        return decrements.get(replica);
+    }
+
+    public long persistedIncrements(String replica) {
+        return persistedIncrements.get(replica);
+    }
+
+    public long persistedDecrements(String replica) {
+        return persistedDecrements.get(replica);
+    }
+
+    public long value() {
+        return increments.value() - decrements.value();
+    }
+
+    /** The part of the value that no replica has reported persisted. */
+    public long unpersisted() {
+        return value() - persistedIncrements.value() + persistedDecrements.value();
+    }
+}
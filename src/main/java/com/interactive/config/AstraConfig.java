@@ -1,13 +1,36 @@
 package com.interactive.config;
 
 import com.datastax.astra.client.DataAPIClient;
+import com.datastax.astra.client.core.http.HttpClientOptions;
+import com.datastax.astra.client.core.options.DataAPIClientOptions;
+import com.datastax.astra.client.core.options.TimeoutOptions;
 import com.datastax.astra.client.databases.Database;
+import com.interactive.admission.AdaptiveConcurrencyLimit;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 
+import java.net.http.HttpClient;
+
+/**
+ * The one Data API client every Astra repository shares. Timeouts bound each
+ * HTTP request and each paginated method, so a slow Astra call cannot hold
+ * a request thread indefinitely. The client's own retries are turned off:
+ * {@code AstraOperations} retries reads within a budget and never retries
+ * writes.
+ */
 @Configuration
+@Profile("!local")
 public class AstraConfig {
+    private static final Logger logger = LoggerFactory.getLogger(AstraConfig.class);
+    // Read once by the JDK HTTP client when its first connection pool is created.
+    private static final String POOL_SIZE_PROPERTY = "jdk.httpclient.connectionPoolSize";
+    private static final String KEEPALIVE_PROPERTY = "jdk.httpclient.keepalive.timeout";
 
     @Value("${astra.token}")
     private String astraToken;
@@ -18,13 +41,64 @@ public class AstraConfig {
     @Value("${astra.keyspace}")
     private String keyspace;
 
+    @Value("${astra.http.pool-size:64}")
+    private int poolSize;
+
+    @Value("${astra.http.keepalive-seconds:60}")
+    private int keepAliveSeconds;
+
+    @Value("${astra.http.version:HTTP_2}")
+    private HttpClient.Version httpVersion;
+
+    @Value("${astra.timeout.connect-ms:2000}")
+    private long connectTimeoutMillis;
+
+    @Value("${astra.timeout.request-ms:5000}")
+    private long requestTimeoutMillis;
+
+    @Value("${astra.timeout.method-ms:30000}")
+    private long methodTimeoutMillis;
+
+    @Value("${astra.timeout.collection-admin-ms:60000}")
+    private long collectionAdminTimeoutMillis;
+
     @Bean
-    public DataAPIClient dataApiClient() {
-        return new DataAPIClient(astraToken);
+    public DataAPIClient dataApiClient(MeterRegistry registry) {
+        // JVM flags win; the properties only fill in what was not set.
+        if (System.getProperty(POOL_SIZE_PROPERTY) == null) {
+            System.setProperty(POOL_SIZE_PROPERTY, Integer.toString(poolSize));
+        }
+        if (System.getProperty(KEEPALIVE_PROPERTY) == null) {
+            System.setProperty(KEEPALIVE_PROPERTY, Integer.toString(keepAliveSeconds));
+        }
+        Gauge.builder("astra.http.pool.max", () -> Integer.getInteger(POOL_SIZE_PROPERTY, 0)).register(registry);
+        logger.info("Data API client: {} pool of {} connections, request timeout {}ms",
+            httpVersion, System.getProperty(POOL_SIZE_PROPERTY), requestTimeoutMillis);
+
+        DataAPIClientOptions options = new DataAPIClientOptions()
+            .httpClientOptions(new HttpClientOptions()
+                .httpVersion(httpVersion)
+                .retryCount(0))
+            .timeoutOptions(new TimeoutOptions()
+                .connectTimeoutMillis(connectTimeoutMillis)
+                .requestTimeoutMillis(requestTimeoutMillis)
+                .generalMethodTimeoutMillis(methodTimeoutMillis)
+                .collectionAdminTimeoutMillis(collectionAdminTimeoutMillis));
+        return new DataAPIClient(astraToken, options);
     }
 
     @Bean
     public Database database(DataAPIClient client) {
         return client.getDatabase(astraApiEndpoint, keyspace);
     }
-} 
\ No newline at end of file
+
+    @Bean
+    public AdaptiveConcurrencyLimit astraConcurrencyLimit(
+            @Value("${astra.limiter.initial:32}") int initialLimit,
+            @Value("${astra.limiter.min:4}") int minLimit,
+            @Value("${astra.limiter.max:256}") int maxLimit,
+            @Value("${astra.limiter.latency-threshold-ms:500}") long latencyThresholdMillis,
+            @Value("${astra.limiter.backoff:0.9}") double backoff) {
+        return new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit, latencyThresholdMillis, backoff);
+    }
+}
@@ -0,0 +1,35 @@
+package com.interactive.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class AsyncConfig {
+    private static final Logger logger = LoggerFactory.getLogger(AsyncConfig.class);
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${astra.io-threads:64}")
+    private int ioThreads;
+
+    /**
+     * Executor for blocking Data API calls made by the async repositories.
+     * With virtual threads enabled every call gets its own virtual thread, so
+     * in-flight requests are bounded by Astra rather than by a pool size.
+     */
+    @Bean(name = "astraExecutor", destroyMethod = "shutdown")
+    public ExecutorService astraExecutor() {
+        if (virtualThreads) {
+            logger.info("Running Astra I/O on virtual threads");
+            return Executors.newVirtualThreadPerTaskExecutor();
+        }
+        return Executors.newFixedThreadPool(ioThreads);
+    }
+}
@@ -0,0 +1,45 @@
+package com.interactive.config;
+
+import com.interactive.cluster.ClusterNode;
+import com.interactive.cluster.ClusterTransport;
+import com.interactive.cluster.HashRing;
+import com.interactive.cluster.LoopbackTransport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Cluster mode, enabled with {@code cluster.enabled=true}. Every node lists
+ * the same {@code cluster.nodes} and names itself with {@code cluster.node-id}.
+ * Counts travel over the {@link ClusterTransport} bean; register one to
+ * connect separate processes. Without one, a {@link LoopbackTransport}
+ * reaches only nodes in this JVM.
+ */
+@Configuration
+@ConditionalOnProperty(name = "cluster.enabled", havingValue = "true")
+public class ClusterConfig {
+    private static final Logger logger = LoggerFactory.getLogger(ClusterConfig.class);
+
+    @Bean
+    public HashRing hashRing(@Value("${cluster.nodes}") List<String> nodes,
+                             @Value("${cluster.virtual-nodes:128}") int virtualNodes) {
+        return new HashRing(nodes, virtualNodes);
+    }
+
+    @Bean
+    public ClusterNode clusterNode(HashRing hashRing,
+                                   ObjectProvider<ClusterTransport> transport,
+                                   @Value("${cluster.node-id}") String nodeId,
+                                   @Value("${cluster.max-keys-per-subject:10000}") int maxKeysPerSubject) {
+        ClusterTransport clusterTransport = transport.getIfAvailable(LoopbackTransport::new);
+        logger.info("Cluster node {} of {} over {}", nodeId, hashRing.nodes(),
+            clusterTransport.getClass().getSimpleName());
+        return new ClusterNode(nodeId, hashRing, clusterTransport, maxKeysPerSubject);
+    }
+}
@@ -0,0 +1,51 @@
+package com.interactive.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.resource.HttpResource;
+import org.springframework.web.servlet.resource.ResourceTransformerChain;
+import org.springframework.web.servlet.resource.ResourceTransformerSupport;
+import org.springframework.web.servlet.resource.TransformedResource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Rewrites relative {@code src} and {@code href} attributes in static HTML to
+ * their fingerprinted URLs, the HTML counterpart of Spring's
+ * {@code CssLinkResourceTransformer}. Absolute and external links are left
+ * alone.
+ */
+class HtmlLinkResourceTransformer extends ResourceTransformerSupport {
+    private static final Pattern LINK = Pattern.compile("\\b(src|href)=\"([^\"/:#?][^\":#?]*)\"");
+
+    @Override
+    public Resource transform(HttpServletRequest request, Resource resource, ResourceTransformerChain chain)
+            throws IOException {
+        resource = chain.transform(request, resource);
+        String filename = resource.getFilename();
+        if (filename == null || !filename.endsWith(".html") || isEncoded(resource)) {
+            return resource;
+        }
+        String content = new String(resource.getContentAsByteArray(), StandardCharsets.UTF_8);
+        Matcher matcher = LINK.matcher(content);
+        StringBuilder rewritten = new StringBuilder(content.length() + 256);
+        while (matcher.find()) {
+            String resolved = resolveUrlPath(matcher.group(2), request, resource, chain);
+            String replacement = resolved != null
+                ? matcher.group(1) + "=\"" + resolved + "\""
+                : matcher.group();
+            matcher.appendReplacement(rewritten, Matcher.quoteReplacement(replacement));
+        }
+        matcher.appendTail(rewritten);
+        return new TransformedResource(resource, rewritten.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static boolean isEncoded(Resource resource) {
+        return resource instanceof HttpResource httpResource
+            && httpResource.getResponseHeaders().containsKey(HttpHeaders.CONTENT_ENCODING);
+    }
+}
@@ -0,0 +1,119 @@
+package com.interactive.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.resource.HttpResource;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+import org.springframework.web.servlet.resource.VersionStrategy;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URL;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Content-hash versioning whose versioned URLs are served as immutable. A
+ * fingerprinted URL can never point at different bytes, so browsers may keep
+ * it for a year without revalidating; plain URLs keep the handler's
+ * revalidating cache headers.
+ */
+class ImmutableVersionResourceResolver extends VersionResourceResolver {
+    private static final String IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365))
+        .cachePublic()
+        .immutable()
+        .getHeaderValue();
+
+    @Override
+    protected Resource resolveResourceInternal(HttpServletRequest request, String requestPath,
+                                               List<? extends Resource> locations, ResourceResolverChain chain) {
+        Resource resolved = super.resolveResourceInternal(request, requestPath, locations, chain);
+        VersionStrategy strategy = getStrategyForPath(requestPath);
+        if (resolved instanceof HttpResource httpResource && strategy != null
+                && strategy.extractVersion(requestPath) != null) {
+            return new ImmutableResource(resolved, httpResource);
+        }
+        return resolved;
+    }
+
+    // Passes everything through to the versioned resource and adds the
+    // Cache-Control header, which the handler applies after its own.
+    private static final class ImmutableResource extends AbstractResource implements HttpResource {
+        private final Resource resource;
+        private final HttpResource httpResource;
+
+        ImmutableResource(Resource resource, HttpResource httpResource) {
+            this.resource = resource;
+            this.httpResource = httpResource;
+        }
+
+        @Override
+        public HttpHeaders getResponseHeaders() {
+            HttpHeaders headers = new HttpHeaders();
+            headers.putAll(httpResource.getResponseHeaders());
+            headers.setCacheControl(IMMUTABLE);
+            return headers;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return resource.getInputStream();
+        }
+
+        @Override
+        public boolean exists() {
+            return resource.exists();
+        }
+
+        @Override
+        public boolean isReadable() {
+            return resource.isReadable();
+        }
+
+        @Override
+        public URL getURL() throws IOException {
+            return resource.getURL();
+        }
+
+        @Override
+        public URI getURI() throws IOException {
+            return resource.getURI();
+        }
+
+        @Override
+        public File getFile() throws IOException {
+            return resource.getFile();
+        }
+
+        @Override
+        public long contentLength() throws IOException {
+            return resource.contentLength();
+        }
+
+        @Override
+        public long lastModified() throws IOException {
+            return resource.lastModified();
+        }
+
+        @Override
+        public Resource createRelative(String relativePath) throws IOException {
+            return resource.createRelative(relativePath);
+        }
+
+        @Override
+        public String getFilename() {
+            return resource.getFilename();
+        }
+
+        @Override
+        public String getDescription() {
+            return resource.getDescription();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.interactive.config;
+
+import com.interactive.repository.impl.CachingPresentationRepository;
+import com.interactive.service.TimeSeriesRollups;
+import com.interactive.service.VoteCounterBuffer;
+import com.interactive.service.WebSocketSessionTracker;
+import com.interactive.service.WriteBehindService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Gauges for the in-memory state between a request and Astra, scraped from
+ * {@code /api/actuator/prometheus}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder liveSessionMetrics(WriteBehindService writeBehindService,
+                                          VoteCounterBuffer voteCounterBuffer,
+                                          TimeSeriesRollups timeSeriesRollups,
+                                          WebSocketSessionTracker webSocketSessionTracker) {
+        return registry -> {
+            Gauge.builder("writebehind.queue.depth", writeBehindService, WriteBehindService::responseQueueDepth)
+                .tag("queue", "responses")
+                .register(registry);
+            Gauge.builder("writebehind.queue.depth", writeBehindService, WriteBehindService::wordSubmissionQueueDepth)
+                .tag("queue", "word-submissions")
+                .register(registry);
+            // Documents given up on after their batch exhausted its write attempts.
+            FunctionCounter.builder("writebehind.dropped", writeBehindService, WriteBehindService::responsesDropped)
+                .tag("queue", "responses")
+                .register(registry);
+            FunctionCounter.builder("writebehind.dropped", writeBehindService,
+                    WriteBehindService::wordSubmissionsDropped)
+                .tag("queue", "word-submissions")
+                .register(registry);
+            // Counter-mode votes whose $inc failed after it may have been sent.
+            FunctionCounter.builder("votes.counter.unconfirmed", voteCounterBuffer,
+                    VoteCounterBuffer::unconfirmedVotes)
+                .register(registry);
+            // Rollup windows whose $inc failed after it may have been sent, or found the retry queue full.
+            FunctionCounter.builder("rollups.dropped", timeSeriesRollups, TimeSeriesRollups::droppedWindows)
+                .register(registry);
+            // Votes accepted and counted but not yet persisted, in either persistence mode.
+            Gauge.builder("votes.in.flight", () ->
+                    writeBehindService.responseQueueDepth() + voteCounterBuffer.pendingVotes())
+                .register(registry);
+            Gauge.builder("websocket.sessions.active", webSocketSessionTracker, WebSocketSessionTracker::activeSessions)
+                .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder presentationCacheMetrics(CachingPresentationRepository cache) {
+        return registry -> {
+            FunctionCounter.builder("presentation.cache.requests", cache, c -> c.stats().hitCount())
+                .tag("result", "hit")
+                .register(registry);
+            FunctionCounter.builder("presentation.cache.requests", cache, c -> c.stats().missCount())
+                .tag("result", "miss")
+                .register(registry);
+            Gauge.builder("presentation.cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .register(registry);
+        };
+    }
+}
@@ -0,0 +1,30 @@
+package com.interactive.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.CssLinkResourceTransformer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+
+/**
+ * Serves {@code static/} with content-hash fingerprinted URLs and the
+ * {@code .br}/{@code .gz} variants produced at build time. HTML and other
+ * unversioned URLs are revalidated on every load; fingerprinted ones are
+ * cached for a year.
+ */
+@Configuration
+public class StaticResourceConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        registry.addResourceHandler("/**")
+            .addResourceLocations("classpath:/static/")
+            .setCacheControl(CacheControl.noCache())
+            .resourceChain(true)
+            .addResolver(new EncodedResourceResolver())
+            .addResolver(new ImmutableVersionResourceResolver().addContentVersionStrategy("/**"))
+            .addTransformer(new CssLinkResourceTransformer())
+            .addTransformer(new HtmlLinkResourceTransformer());
+    }
+}
@@ -0,0 +1,69 @@
+package com.interactive.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
+import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
+import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
+import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+
+@Configuration
+@EnableWebSocketMessageBroker
+public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
+
+    @Value("${websocket.allowed-origins:http://localhost:5173}")
+    private String[] allowedOrigins;
+
+    @Value("${websocket.send-buffer-size-limit:262144}")
+    private int sendBufferSizeLimit;
+
+    @Value("${websocket.send-time-limit-ms:5000}")
+    private int sendTimeLimit;
+
+    @Value("${websocket.message-size-limit:8192}")
+    private int messageSizeLimit;
+
+    @Value("${websocket.outbound-threads:8}")
+    private int outboundThreads;
+
+    @Value("${websocket.binary-protocol.enabled:true}")
+    private boolean binaryProtocolEnabled;
+
+    @Override
+    public void registerStompEndpoints(StompEndpointRegistry registry) {
+        registry.addEndpoint("/ws")
+            .setAllowedOriginPatterns(allowedOrigins)
+            .withSockJS();
+        if (binaryProtocolEnabled) {
+            // Native WebSocket only: SockJS carries text frames and would
+            // corrupt binary STOMP bodies.
+            registry.addEndpoint("/ws-binary")
+                .setAllowedOriginPatterns(allowedOrigins);
+        }
+    }
+
+    @Override
+    public void configureMessageBroker(MessageBrokerRegistry registry) {
+        registry.enableSimpleBroker("/topic");
+        registry.setApplicationDestinationPrefixes("/app");
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        // A session whose unsent backlog exceeds these limits is closed rather
+        // than allowed to hold up broadcasts to everyone else.
+        registration
+            .setSendBufferSizeLimit(sendBufferSizeLimit)
+            .setSendTimeLimit(sendTimeLimit)
+            .setMessageSizeLimit(messageSizeLimit);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor()
+            .corePoolSize(outboundThreads)
+            .maxPoolSize(outboundThreads);
+    }
+}
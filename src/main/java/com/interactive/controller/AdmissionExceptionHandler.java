@@ -0,0 +1,42 @@
+package com.interactive.controller;
+
+import com.interactive.admission.AdmissionRejectedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.time.Duration;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Turns shed load into {@code 429 Too Many Requests} with a
+ * {@code Retry-After} hint, so clients back off instead of retrying at once.
+ */
+@RestControllerAdvice
+public class AdmissionExceptionHandler {
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionExceptionHandler.class);
+
+    @ExceptionHandler(AdmissionRejectedException.class)
+    public ResponseEntity<Void> handleRejected(AdmissionRejectedException e) {
+        logger.debug("Rejected request: {}", e.getMessage());
+        return tooManyRequests(e.getRetryAfter());
+    }
+
+    // The write-behind queue stayed full for its whole offer timeout.
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Void> handleQueueFull(RejectedExecutionException e) {
+        logger.debug("Rejected request: {}", e.getMessage());
+        return tooManyRequests(Duration.ofSeconds(1));
+    }
+
+    private static ResponseEntity<Void> tooManyRequests(Duration retryAfter) {
+        long seconds = Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, Long.toString(seconds))
+            .build();
+    }
+}
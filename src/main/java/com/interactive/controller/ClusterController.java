@@ -0,0 +1,49 @@
+package com.interactive.controller;
+
+import com.interactive.cluster.ClusterNode;
+import com.interactive.model.PresentationOwner;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Tells clients and load balancers which node owns a presentation, so a
+ * presentation's presenter and audience can be routed to the same node.
+ * Any node still accepts votes for any presentation.
+ */
+@RestController
+@RequestMapping("/api/cluster")
+@ConditionalOnProperty(name = "cluster.enabled", havingValue = "true")
+public class ClusterController {
+    static final String OWNER_HEADER = "X-Cluster-Owner";
+
+    private final ClusterNode clusterNode;
+
+    @Autowired
+    public ClusterController(ClusterNode clusterNode) {
+        this.clusterNode = clusterNode;
+    }
+
+    @GetMapping("/nodes")
+    public ResponseEntity<List<String>> getNodes() {
+        return ResponseEntity.ok(clusterNode.nodes());
+    }
+
+    @GetMapping("/owner/{presentationId}")
+    public ResponseEntity<PresentationOwner> getOwner(@PathVariable UUID presentationId) {
+        PresentationOwner owner = new PresentationOwner();
+        owner.setPresentationId(presentationId);
+        owner.setOwner(clusterNode.ownerOf(presentationId));
+        owner.setLocal(clusterNode.owns(presentationId));
+        return ResponseEntity.ok()
+            .header(OWNER_HEADER, owner.getOwner())
+            .body(owner);
+    }
+}
@@ -11,7 +11,7 @@ public class HealthController {
     
     @GetMapping("/health")
     public String health() {
-        logger.info("Received health check request");
+        logger.debug("Received health check request");
         return "OK";
     }
 } 
\ No newline at end of file
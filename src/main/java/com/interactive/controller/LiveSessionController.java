@@ -0,0 +1,72 @@
+package com.interactive.controller;
+
+import com.interactive.admission.AdmissionControl;
+import com.interactive.admission.AdmissionRejectedException;
+import com.interactive.model.ActivateQuestionMessage;
+import com.interactive.model.VoteMessage;
+import com.interactive.model.WordMessage;
+import com.interactive.service.LiveSessionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.MessageExceptionHandler;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Controller;
+
+import java.util.UUID;
+
+@Controller
+public class LiveSessionController {
+    private static final Logger logger = LoggerFactory.getLogger(LiveSessionController.class);
+
+    private static final String SESSION_ID = "simpSessionId";
+
+    private final LiveSessionService liveSessionService;
+    private final AdmissionControl admissionControl;
+
+    @Autowired
+    public LiveSessionController(LiveSessionService liveSessionService, AdmissionControl admissionControl) {
+        this.liveSessionService = liveSessionService;
+        this.admissionControl = admissionControl;
+    }
+
+    @MessageMapping("/presentation/{presentationId}/response")
+    public void submitResponse(@DestinationVariable UUID presentationId, @Payload VoteMessage message,
+                               @Header(SESSION_ID) String sessionId) {
+        admissionControl.admitVote(presentationId, sessionId);
+        liveSessionService.submitResponse(presentationId, message);
+    }
+
+    // Binary votes name their presentation inside the frame, so one
+    // destination serves every room.
+    @MessageMapping("/binary/votes")
+    public void submitBinaryVotes(@Payload byte[] frame, @Header(SESSION_ID) String sessionId) {
+        liveSessionService.submitBinaryVotes(frame, sessionId);
+    }
+
+    @MessageMapping("/presentation/{presentationId}/wordcloud")
+    public void submitWord(@DestinationVariable UUID presentationId, @Payload WordMessage message,
+                           @Header(SESSION_ID) String sessionId) {
+        admissionControl.admitVote(presentationId, sessionId);
+        liveSessionService.submitWord(presentationId, message);
+    }
+
+    @MessageMapping("/presentation/{presentationId}/activate")
+    public void activate(@DestinationVariable UUID presentationId, @Payload ActivateQuestionMessage message) {
+        liveSessionService.activate(presentationId, message.getQuestionId());
+    }
+
+    // Shed messages are expected under load; logging each one would add to it.
+    @MessageExceptionHandler
+    public void handleRejected(AdmissionRejectedException e) {
+        logger.debug("Rejected live session message: {}", e.getMessage());
+    }
+
+    @MessageExceptionHandler
+    public void handleException(Exception e) {
+        logger.warn("Rejected live session message: {}", e.getMessage());
+    }
+}
@@ -1,62 +1,383 @@
 package com.interactive.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interactive.admission.AdmissionControl;
+import com.interactive.model.PagedResult;
+import com.interactive.model.PollQuestion;
 import com.interactive.model.Presentation;
+import com.interactive.model.TimelinePoint;
+import com.interactive.model.WordCloud;
+import com.interactive.service.ExportService;
 import com.interactive.service.PresentationService;
+import com.interactive.service.QuestionService;
+import com.interactive.service.ResultBroadcaster;
+import com.interactive.service.SnapshotService;
+import com.interactive.service.TimeSeriesRollups;
+import com.interactive.service.VoteTallyService;
+import com.interactive.service.WordCloudService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/presentations")
 public class PresentationController {
+    private static final int MAX_PAGE_LIMIT = 500;
+    static final String VERSION_HEADER = "X-Snapshot-Version";
+    static final String CLIENT_ID_HEADER = "X-Client-Id";
+
     private final PresentationService presentationService;
+    private final QuestionService questionService;
+    private final VoteTallyService voteTallyService;
+    private final WordCloudService wordCloudService;
+    private final ResultBroadcaster resultBroadcaster;
+    private final SnapshotService snapshotService;
+    private final TimeSeriesRollups timeSeriesRollups;
+    private final ExportService exportService;
+    private final AdmissionControl admissionControl;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public PresentationController(PresentationService presentationService) {
+    public PresentationController(PresentationService presentationService,
+                                  QuestionService questionService,
+                                  VoteTallyService voteTallyService,
+                                  WordCloudService wordCloudService,
+                                  ResultBroadcaster resultBroadcaster,
+                                  SnapshotService snapshotService,
+                                  TimeSeriesRollups timeSeriesRollups,
+                                  ExportService exportService,
+                                  AdmissionControl admissionControl,
+                                  ObjectMapper objectMapper) {
         this.presentationService = presentationService;
+        this.questionService = questionService;
+        this.voteTallyService = voteTallyService;
+        this.wordCloudService = wordCloudService;
+        this.resultBroadcaster = resultBroadcaster;
+        this.snapshotService = snapshotService;
+        this.timeSeriesRollups = timeSeriesRollups;
+        this.exportService = exportService;
+        this.admissionControl = admissionControl;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
-    public ResponseEntity<List<Presentation>> getAllPresentations() {
-        return ResponseEntity.ok(presentationService.getAllPresentations());
+    public ResponseEntity<StreamingResponseBody> getAllPresentations() {
+        return streamJson(presentationService::streamAllPresentations);
+    }
+
+    @GetMapping(params = "limit")
+    public CompletableFuture<ResponseEntity<PagedResult<Presentation>>> getAllPresentations(
+            @RequestParam(required = false) String pageState,
+            @RequestParam int limit) {
+        return presentationService.getAllPresentations(pageState, clampLimit(limit)).thenApply(ResponseEntity::ok);
     }
 
     @PostMapping
-    public ResponseEntity<Presentation> createPresentation(
+    public CompletableFuture<ResponseEntity<Presentation>> createPresentation(
             @RequestParam String title,
             @RequestParam String description) {
-        return ResponseEntity.ok(presentationService.createPresentation(title, description));
+        return presentationService.createPresentation(title, description).thenApply(ResponseEntity::ok);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Presentation> updatePresentation(
+    public CompletableFuture<ResponseEntity<Presentation>> updatePresentation(
             @PathVariable UUID id,
             @RequestParam String title) {
-        return ResponseEntity.ok(presentationService.updatePresentation(id, title));
+        return presentationService.updatePresentation(id, title).thenApply(ResponseEntity::ok);
     }
 
     @PostMapping("/{id}/end")
-    public ResponseEntity<Void> endPresentation(@PathVariable UUID id) {
-        presentationService.endPresentation(id);
-        return ResponseEntity.ok().build();
+    public CompletableFuture<ResponseEntity<Void>> endPresentation(@PathVariable UUID id) {
+        return presentationService.endPresentation(id).thenApply(ignored -> ResponseEntity.ok().build());
+    }
+
+    @PostMapping("/{id}/open")
+    public CompletableFuture<ResponseEntity<Presentation>> openPresentation(@PathVariable UUID id) {
+        return presentationService.openPresentation(id).thenApply(ResponseEntity::ok);
+    }
+
+    @PutMapping("/{id}/slide")
+    public CompletableFuture<ResponseEntity<Presentation>> advanceSlide(
+            @PathVariable UUID id,
+            @RequestParam int index) {
+        if (index < 0) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+        }
+        return presentationService.advanceSlide(id, index).thenApply(ResponseEntity::ok);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Presentation> getPresentation(@PathVariable UUID id) {
-        return ResponseEntity.ok(presentationService.getPresentation(id));
+    public CompletableFuture<ResponseEntity<byte[]>> getPresentation(
+            @PathVariable UUID id,
+            @RequestParam(required = false) Long sinceVersion,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return versioned(id, sinceVersion, ifNoneMatch, () -> presentationService.getPresentation(id));
+    }
+
+    @GetMapping("/join/{accessCode}")
+    public CompletableFuture<ResponseEntity<Presentation>> joinPresentation(@PathVariable String accessCode,
+                                                                           HttpServletRequest request) {
+        admissionControl.admitJoin(accessCode, request.getRemoteAddr(), request.getHeader(CLIENT_ID_HEADER));
+        return presentationService.joinByAccessCode(accessCode).thenApply(ResponseEntity::ok);
     }
 
     @GetMapping("/active")
-    public ResponseEntity<List<Presentation>> getActivePresentations() {
-        return ResponseEntity.ok(presentationService.getActivePresentations());
+    public ResponseEntity<StreamingResponseBody> getActivePresentations() {
+        return streamJson(presentationService::streamActivePresentations);
+    }
+
+    @GetMapping(value = "/active", params = "limit")
+    public CompletableFuture<ResponseEntity<PagedResult<Presentation>>> getActivePresentations(
+            @RequestParam(required = false) String pageState,
+            @RequestParam int limit) {
+        return presentationService.getActivePresentations(pageState, clampLimit(limit)).thenApply(ResponseEntity::ok);
     }
 
     @GetMapping("/presenter/{presenterId}")
-    public ResponseEntity<List<Presentation>> getPresentationsByPresenter(
+    public ResponseEntity<StreamingResponseBody> getPresentationsByPresenter(
             @PathVariable String presenterId) {
-        return ResponseEntity.ok(presentationService.getPresentationsByPresenter(presenterId));
+        return streamJson(consumer -> presentationService.streamPresentationsByPresenter(presenterId, consumer));
+    }
+
+    @GetMapping(value = "/presenter/{presenterId}", params = "limit")
+    public CompletableFuture<ResponseEntity<PagedResult<Presentation>>> getPresentationsByPresenter(
+            @PathVariable String presenterId,
+            @RequestParam(required = false) String pageState,
+            @RequestParam int limit) {
+        return presentationService.getPresentationsByPresenter(presenterId, pageState, clampLimit(limit))
+            .thenApply(ResponseEntity::ok);
+    }
+
+    @PutMapping("/{id}/questions/{questionId}")
+    public CompletableFuture<ResponseEntity<PollQuestion>> updateQuestion(
+            @PathVariable UUID id,
+            @PathVariable UUID questionId,
+            @RequestParam(required = false) String question,
+            @RequestParam(required = false) List<String> options) {
+        return questionService.updateQuestion(questionId, question, options).thenApply(ResponseEntity::ok);
+    }
+
+    @PutMapping("/{id}/questions/{questionId}/active")
+    public CompletableFuture<ResponseEntity<PollQuestion>> setQuestionActive(
+            @PathVariable UUID id,
+            @PathVariable UUID questionId,
+            @RequestParam boolean active) {
+        return questionService.setQuestionActive(questionId, active).thenApply(ResponseEntity::ok);
+    }
+
+    @PutMapping("/{id}/wordclouds/{wordCloudId}")
+    public CompletableFuture<ResponseEntity<WordCloud>> updateWordCloud(
+            @PathVariable UUID id,
+            @PathVariable UUID wordCloudId,
+            @RequestParam(required = false) String prompt) {
+        return questionService.updateWordCloud(wordCloudId, prompt).thenApply(ResponseEntity::ok);
+    }
+
+    @PutMapping("/{id}/wordclouds/{wordCloudId}/active")
+    public CompletableFuture<ResponseEntity<WordCloud>> setWordCloudActive(
+            @PathVariable UUID id,
+            @PathVariable UUID wordCloudId,
+            @RequestParam boolean active) {
+        return questionService.setWordCloudActive(wordCloudId, active).thenApply(ResponseEntity::ok);
+    }
+
+    @PostMapping("/{id}/questions/{questionId}/votes")
+    public ResponseEntity<Void> vote(
+            @PathVariable UUID id,
+            @PathVariable UUID questionId,
+            @RequestParam int option,
+            @RequestParam(required = false) String voterId,
+            @RequestParam(required = false) Long clientSeq,
+            @RequestParam(defaultValue = "false") boolean durable,
+            HttpServletRequest request) {
+        if (!VoteTallyService.isValidClientSeq(clientSeq)) {
+            return ResponseEntity.badRequest().build();
+        }
+        admitClientVote(request);
+        // Checked before counting, so a vote cannot land in, or be broadcast
+        // to, a room other than the question's own.
+        UUID presentationId = voteTallyService.presentationOf(questionId);
+        if (!id.equals(presentationId)) {
+            return ResponseEntity.notFound().build();
+        }
+        admissionControl.admitPresentationVote(presentationId);
+        // A repeated (voterId, clientSeq) is accepted again but changes nothing.
+        if (voteTallyService.recordVote(questionId, option, voterId, clientSeq, durable) != null) {
+            resultBroadcaster.markDirty(id, questionId);
+        }
+        return ResponseEntity.accepted().build();
+    }
+
+    @GetMapping("/{id}/questions/{questionId}/results")
+    public CompletableFuture<ResponseEntity<byte[]>> getResults(
+            @PathVariable UUID id,
+            @PathVariable UUID questionId,
+            @RequestParam(required = false) Long sinceVersion,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return versioned(questionId, sinceVersion, ifNoneMatch,
+            () -> CompletableFuture.completedFuture(voteTallyService.getResults(questionId)));
+    }
+
+    @GetMapping("/{id}/questions/{questionId}/timeline")
+    public CompletableFuture<ResponseEntity<List<TimelinePoint>>> getQuestionTimeline(
+            @PathVariable UUID id,
+            @PathVariable UUID questionId,
+            @RequestParam(defaultValue = "10s") String tier,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to) {
+        return timeline(questionId, tier, from, to);
+    }
+
+    @GetMapping("/{id}/wordclouds/{wordCloudId}")
+    public ResponseEntity<WordCloud> getWordCloud(
+            @PathVariable UUID id,
+            @PathVariable UUID wordCloudId) {
+        return ResponseEntity.ok(wordCloudService.getWordCloud(wordCloudId));
+    }
+
+    @PostMapping("/{id}/wordclouds/{wordCloudId}/words")
+    public ResponseEntity<Void> submitWord(
+            @PathVariable UUID id,
+            @PathVariable UUID wordCloudId,
+            @RequestParam String word,
+            @RequestParam(defaultValue = "false") boolean durable,
+            HttpServletRequest request) {
+        admitClientVote(request);
+        UUID presentationId = wordCloudService.presentationOf(wordCloudId);
+        if (!id.equals(presentationId)) {
+            return ResponseEntity.notFound().build();
+        }
+        admissionControl.admitPresentationVote(presentationId);
+        wordCloudService.submitWord(wordCloudId, word, durable);
+        return ResponseEntity.accepted().build();
+    }
+
+    @GetMapping("/{id}/wordclouds/{wordCloudId}/timeline")
+    public CompletableFuture<ResponseEntity<List<TimelinePoint>>> getWordCloudTimeline(
+            @PathVariable UUID id,
+            @PathVariable UUID wordCloudId,
+            @RequestParam(defaultValue = "10s") String tier,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to) {
+        return timeline(wordCloudId, tier, from, to);
+    }
+
+    // Written on the request thread rather than as a StreamingResponseBody, so
+    // a large export is not cut off by spring.mvc.async.request-timeout.
+    @GetMapping("/{id}/export")
+    public void export(
+            @PathVariable UUID id,
+            @RequestParam(defaultValue = "csv") String format,
+            HttpServletResponse response) throws IOException {
+        ExportService.Format exportFormat = ExportService.Format.of(format);
+        if (exportFormat == null) {
+            response.sendError(HttpStatus.BAD_REQUEST.value());
+            return;
+        }
+        // Admitted before any header is set, so a rejection is a plain 429.
+        try (ExportService.Permit permit = exportService.admit()) {
+            response.setContentType(exportFormat.contentType());
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("presentation-" + id + exportFormat.extension())
+                .build()
+                .toString());
+            exportService.export(id, exportFormat, response.getOutputStream());
+        }
+    }
+
+    private CompletableFuture<ResponseEntity<List<TimelinePoint>>> timeline(UUID subjectId, String tierName,
+                                                                           Instant from, Instant to) {
+        Optional<TimeSeriesRollups.Tier> tier = TimeSeriesRollups.tier(tierName);
+        if (tier.isEmpty()) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+        }
+        return timeSeriesRollups.timeline(subjectId, tier.get(), from, to).thenApply(ResponseEntity::ok);
+    }
+
+    // Serves a snapshot with a weak ETag, answering 304 when the client
+    // already holds it. With sinceVersion the request is parked until the
+    // version moves or the long-poll times out.
+    private CompletableFuture<ResponseEntity<byte[]>> versioned(UUID id, Long sinceVersion, String ifNoneMatch,
+                                                                Supplier<? extends CompletableFuture<?>> loader) {
+        CompletableFuture<Boolean> ready = sinceVersion == null
+            ? CompletableFuture.completedFuture(true)
+            : snapshotService.awaitChange(id, sinceVersion);
+        return ready.thenCompose(changed -> snapshotService.snapshot(id, loader)).thenApply(snapshot -> {
+            boolean notModified = matches(ifNoneMatch, snapshot.etag());
+            ResponseEntity.BodyBuilder response = ResponseEntity
+                .status(notModified ? HttpStatus.NOT_MODIFIED : HttpStatus.OK)
+                .eTag(snapshot.etag())
+                .header(VERSION_HEADER, Long.toString(snapshot.version()))
+                .header(HttpHeaders.CACHE_CONTROL, "no-cache");
+            return notModified
+                ? response.build()
+                : response.contentType(MediaType.APPLICATION_JSON).body(snapshot.body());
+        });
+    }
+
+    // Weak comparison, as If-None-Match calls for: W/ prefixes are ignored.
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaque = opaqueTag(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || opaqueTag(tag).equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String opaqueTag(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+
+    // The client id header only splits its address's budget between the
+    // browsers behind one NAT; it is never trusted on its own.
+    private void admitClientVote(HttpServletRequest request) {
+        admissionControl.admitClientVote(request.getRemoteAddr(), request.getHeader(CLIENT_ID_HEADER));
+    }
+
+    private int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_LIMIT));
+    }
+
+    // Writes each presentation to the response as it comes off the Data API
+    // cursor, so memory use does not depend on the number of results.
+    private ResponseEntity<StreamingResponseBody> streamJson(Consumer<Consumer<Presentation>> source) {
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+                generator.writeStartArray();
+                source.accept(presentation -> {
+                    try {
+                        generator.writeObject(presentation);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
-} 
\ No newline at end of file
+}
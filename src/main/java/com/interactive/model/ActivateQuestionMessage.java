@@ -0,0 +1,9 @@
+package com.interactive.model;
+
+import lombok.Data;
+import java.util.UUID;
+
+@Data
+public class ActivateQuestionMessage {
+    private UUID questionId;
+}
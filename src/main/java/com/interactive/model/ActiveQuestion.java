@@ -0,0 +1,21 @@
+package com.interactive.model;
+
+import lombok.Data;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+public class ActiveQuestion {
+    public static final String MULTIPLE_CHOICE = "MULTIPLE_CHOICE";
+    public static final String OPEN_ENDED = "OPEN_ENDED";
+
+    private UUID id;
+    private String question;
+    private String type;
+    private List<String> options = new ArrayList<>();
+    // References for the binary audience protocol; see BinaryProtocol.
+    private Integer presentationRef;
+    private Integer questionRef;
+    private Integer protocolEpoch;
+}
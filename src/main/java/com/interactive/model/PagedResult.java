@@ -0,0 +1,15 @@
+package com.interactive.model;
+
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class PagedResult<T> {
+    private List<T> items;
+    private String nextPageState;
+
+    public PagedResult(List<T> items, String nextPageState) {
+        this.items = items;
+        this.nextPageState = nextPageState;
+    }
+}
@@ -27,6 +27,7 @@ public class Presentation {
     private String presenterId;
     private Set<UUID> pollQuestionIds = new HashSet<>();
     private Set<UUID> wordCloudIds = new HashSet<>();
+    private int currentSlideIndex;
 
     public Presentation() {
         this.createdAt = LocalDateTime.now();
@@ -0,0 +1,12 @@
+package com.interactive.model;
+
+import lombok.Data;
+import java.util.UUID;
+
+@Data
+public class PresentationOwner {
+    private UUID presentationId;
+    private String owner;
+    // True when the node that answered is the owner.
+    private boolean local;
+}
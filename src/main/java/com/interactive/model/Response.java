@@ -9,6 +9,9 @@ public class Response {
     private UUID id;
     private UUID pollQuestionId;
     private int selectedOption;
+    // Optional client identity; votes from the same voter replace each other.
+    private String voterId;
+    private Long clientSeq;
     private LocalDateTime createdAt;
 
     public Response() {
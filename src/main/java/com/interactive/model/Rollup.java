@@ -0,0 +1,30 @@
+package com.interactive.model;
+
+import lombok.Data;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Counts for one subject (a poll question's votes or a word cloud's
+ * submissions) over a fixed window, one slot per {@code step} seconds.
+ * Points are keyed by slot and then by option; empty slots are left out.
+ */
+@Data
+public class Rollup {
+    public static final String VOTES = "votes";
+    public static final String WORDS = "words";
+
+    private String id;
+    private UUID subjectId;
+    private String kind;
+    private String tier;
+    // Epoch seconds at which the window starts.
+    private long start;
+    private int step;
+    private Map<String, Map<String, Long>> points = new HashMap<>();
+
+    public static String id(UUID subjectId, String tier, long start) {
+        return subjectId + ":" + tier + ":" + start;
+    }
+}
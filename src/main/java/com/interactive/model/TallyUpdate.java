@@ -0,0 +1,12 @@
+package com.interactive.model;
+
+import lombok.Data;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+public class TallyUpdate {
+    private UUID questionId;
+    private List<String> options;
+    private List<Integer> votes;
+}
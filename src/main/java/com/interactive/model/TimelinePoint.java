@@ -0,0 +1,17 @@
+package com.interactive.model;
+
+import lombok.Data;
+import java.time.Instant;
+import java.util.List;
+
+@Data
+public class TimelinePoint {
+    private Instant time;
+    // Indexed by option; word clouds have a single series.
+    private List<Long> counts;
+
+    public TimelinePoint(Instant time, List<Long> counts) {
+        this.time = time;
+        this.counts = counts;
+    }
+}
@@ -0,0 +1,12 @@
+package com.interactive.model;
+
+import lombok.Data;
+import java.util.UUID;
+
+@Data
+public class VoteMessage {
+    private UUID questionId;
+    private String response;
+    private String voterId;
+    private Long clientSeq;
+}
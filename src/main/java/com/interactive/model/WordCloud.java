@@ -1,6 +1,7 @@
 package com.interactive.model;
 
 import lombok.Data;
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
@@ -8,14 +9,16 @@ import java.util.UUID;
 @Data
 public class WordCloud {
     private UUID id;
-    private String title;
-    private Map<String, Integer> wordCounts;
+    private String prompt;
+    private Map<String, Integer> wordFrequencies;
     private UUID presentationId;
     private boolean isActive;
+    private LocalDateTime createdAt;
 
     public WordCloud() {
         this.id = UUID.randomUUID();
-        this.wordCounts = new HashMap<>();
+        this.wordFrequencies = new HashMap<>();
         this.isActive = true;
+        this.createdAt = LocalDateTime.now();
     }
-} 
\ No newline at end of file
+}
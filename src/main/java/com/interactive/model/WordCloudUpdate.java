@@ -0,0 +1,13 @@
+package com.interactive.model;
+
+import lombok.Data;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+public class WordCloudUpdate {
+    private UUID id;
+    private Map<String, Long> wordFrequencies;
+    private List<String> removed;
+}
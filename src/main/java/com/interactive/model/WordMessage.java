@@ -0,0 +1,10 @@
+package com.interactive.model;
+
+import lombok.Data;
+import java.util.UUID;
+
+@Data
+public class WordMessage {
+    private UUID wordCloudId;
+    private String word;
+}
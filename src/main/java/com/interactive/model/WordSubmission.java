@@ -0,0 +1,18 @@
+package com.interactive.model;
+
+import lombok.Data;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+public class WordSubmission {
+    private UUID id;
+    private UUID wordCloudId;
+    private String word;
+    private LocalDateTime createdAt;
+
+    public WordSubmission() {
+        this.id = UUID.randomUUID();
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,21 @@
+package com.interactive.repository;
+
+import com.interactive.model.PollQuestion;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+@Repository
+public interface AsyncPollQuestionRepository {
+    CompletableFuture<PollQuestion> save(PollQuestion pollQuestion);
+    CompletableFuture<Optional<PollQuestion>> updateFields(UUID id, Map<String, Object> fields);
+    CompletableFuture<Optional<PollQuestion>> updateActive(UUID id, boolean active);
+    CompletableFuture<Void> incrementVotes(UUID id, Map<Integer, Long> deltas);
+    CompletableFuture<Optional<PollQuestion>> findById(UUID id);
+    CompletableFuture<List<PollQuestion>> findByPresentationId(UUID presentationId);
+    CompletableFuture<Void> deleteById(UUID id);
+}
@@ -0,0 +1,27 @@
+package com.interactive.repository;
+
+import com.interactive.model.PagedResult;
+import com.interactive.model.Presentation;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+@Repository
+public interface AsyncPresentationRepository {
+    CompletableFuture<Presentation> save(Presentation presentation);
+    CompletableFuture<Presentation> updateFields(UUID id, Map<String, Object> fields);
+    CompletableFuture<Presentation> updateActive(UUID id, boolean active, LocalDateTime endedAt);
+    CompletableFuture<Presentation> findById(UUID id);
+    CompletableFuture<Presentation> findByAccessCode(String accessCode);
+    CompletableFuture<Void> deleteById(UUID id);
+    CompletableFuture<List<Presentation>> findAll();
+    CompletableFuture<List<Presentation>> findByActive(boolean active);
+    CompletableFuture<List<Presentation>> findByPresenterId(String presenterId);
+    CompletableFuture<PagedResult<Presentation>> findAll(String pageState, int limit);
+    CompletableFuture<PagedResult<Presentation>> findByActive(boolean active, String pageState, int limit);
+    CompletableFuture<PagedResult<Presentation>> findByPresenterId(String presenterId, String pageState, int limit);
+}
@@ -0,0 +1,20 @@
+package com.interactive.repository;
+
+import com.interactive.model.Response;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+@Repository
+public interface AsyncResponseRepository {
+    CompletableFuture<Response> save(Response response);
+    CompletableFuture<Void> saveAll(List<Response> responses);
+    CompletableFuture<Optional<Response>> updateFields(UUID id, Map<String, Object> fields);
+    CompletableFuture<Optional<Response>> findById(UUID id);
+    CompletableFuture<List<Response>> findByPollQuestionId(UUID pollQuestionId);
+    CompletableFuture<Void> deleteById(UUID id);
+}
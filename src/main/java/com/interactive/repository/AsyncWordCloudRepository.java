@@ -0,0 +1,23 @@
+package com.interactive.repository;
+
+import com.interactive.model.WordCloud;
+import com.interactive.model.WordSubmission;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+@Repository
+public interface AsyncWordCloudRepository {
+    CompletableFuture<WordCloud> save(WordCloud wordCloud);
+    CompletableFuture<Optional<WordCloud>> updateFields(UUID id, Map<String, Object> fields);
+    CompletableFuture<Optional<WordCloud>> updateActive(UUID id, boolean active);
+    CompletableFuture<Void> incrementWordFrequencies(UUID id, Map<String, Long> deltas);
+    CompletableFuture<Optional<WordCloud>> findById(UUID id);
+    CompletableFuture<List<WordCloud>> findByPresentationId(UUID presentationId);
+    CompletableFuture<Void> deleteById(UUID id);
+    CompletableFuture<Void> saveSubmissions(List<WordSubmission> submissions);
+}
@@ -3,12 +3,16 @@ package com.interactive.repository;
 import com.interactive.model.PollQuestion;
 import org.springframework.stereotype.Repository;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface PollQuestionRepository {
     PollQuestion save(PollQuestion pollQuestion);
+    Optional<PollQuestion> updateFields(UUID id, Map<String, Object> fields);
+    Optional<PollQuestion> updateActive(UUID id, boolean active);
+    void incrementVotes(UUID id, Map<Integer, Long> deltas);
     Optional<PollQuestion> findById(UUID id);
     List<PollQuestion> findByPresentationId(UUID presentationId);
     void deleteById(UUID id);
@@ -1,17 +1,30 @@
 package com.interactive.repository;
 
+import com.interactive.model.PagedResult;
 import com.interactive.model.Presentation;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Repository
 public interface PresentationRepository {
     Presentation save(Presentation presentation);
+    Presentation updateFields(UUID id, Map<String, Object> fields);
+    Presentation updateActive(UUID id, boolean active, LocalDateTime endedAt);
     Presentation findById(UUID id);
+    Presentation findByAccessCode(String accessCode);
     void deleteById(UUID id);
     List<Presentation> findAll();
     List<Presentation> findByActive(boolean active);
     List<Presentation> findByPresenterId(String presenterId);
+    PagedResult<Presentation> findAll(String pageState, int limit);
+    PagedResult<Presentation> findByActive(boolean active, String pageState, int limit);
+    PagedResult<Presentation> findByPresenterId(String presenterId, String pageState, int limit);
+    void streamAll(Consumer<Presentation> consumer);
+    void streamByActive(boolean active, Consumer<Presentation> consumer);
+    void streamByPresenterId(String presenterId, Consumer<Presentation> consumer);
 } 
\ No newline at end of file
@@ -1,15 +1,20 @@
 package com.interactive.repository;
 
+import com.interactive.model.PagedResult;
 import com.interactive.model.Response;
 import org.springframework.stereotype.Repository;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface ResponseRepository {
     Response save(Response response);
+    void saveAll(List<Response> responses);
+    Optional<Response> updateFields(UUID id, Map<String, Object> fields);
     Optional<Response> findById(UUID id);
     List<Response> findByPollQuestionId(UUID pollQuestionId);
+    PagedResult<Response> findPageByPollQuestionId(UUID pollQuestionId, String pageState, int limit);
     void deleteById(UUID id);
 } 
\ No newline at end of file
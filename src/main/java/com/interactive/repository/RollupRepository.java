@@ -0,0 +1,14 @@
+package com.interactive.repository;
+
+import com.interactive.model.Rollup;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface RollupRepository {
+    /** Adds the rollup's points to the stored window, creating it if needed. */
+    void increment(Rollup deltas);
+    /** Windows of {@code tier} starting between {@code from} and {@code to}, in epoch seconds. */
+    List<Rollup> findBySubject(UUID subjectId, String tier, long from, long to);
+}
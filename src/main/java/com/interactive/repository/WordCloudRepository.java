@@ -1,15 +1,23 @@
 package com.interactive.repository;
 
+import com.interactive.model.PagedResult;
 import com.interactive.model.WordCloud;
+import com.interactive.model.WordSubmission;
 import org.springframework.stereotype.Repository;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface WordCloudRepository {
     WordCloud save(WordCloud wordCloud);
+    Optional<WordCloud> updateFields(UUID id, Map<String, Object> fields);
+    Optional<WordCloud> updateActive(UUID id, boolean active);
+    void incrementWordFrequencies(UUID id, Map<String, Long> deltas);
     Optional<WordCloud> findById(UUID id);
     List<WordCloud> findByPresentationId(UUID presentationId);
     void deleteById(UUID id);
+    void saveSubmissions(List<WordSubmission> submissions);
+    PagedResult<WordSubmission> findSubmissionPage(UUID wordCloudId, String pageState, int limit);
 } 
\ No newline at end of file
@@ -0,0 +1,88 @@
+package com.interactive.repository.impl;
+
+import com.datastax.astra.client.databases.Database;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Checks that the collections the repositories use exist, off the startup
+ * path. Repositories hold lazy collection handles, so boot makes no Data API
+ * calls; this check runs in the background once the context has started and
+ * reports through the {@code astraCollections} health indicator, which the
+ * readiness group includes. Missing collections are created when
+ * {@code astra.collections.create-missing} is set.
+ */
+@Component
+@Profile("!local")
+public class AstraCollectionsHealthIndicator implements HealthIndicator {
+    private static final Logger logger = LoggerFactory.getLogger(AstraCollectionsHealthIndicator.class);
+
+    private final Database database;
+    private final ExecutorService executor;
+    private final String[] collections;
+    private final boolean createMissing;
+    // Out of service rather than unknown, which would not hold readiness down.
+    private volatile Health health = Health.outOfService().withDetail("state", "verifying").build();
+
+    @Autowired
+    public AstraCollectionsHealthIndicator(Database database,
+                                           @Qualifier("astraExecutor") ExecutorService executor,
+                                           @Value("${astra.collections.expected:presentations,poll_questions,"
+                                               + "responses,word_clouds,word_submissions,rollups}") String[] collections,
+                                           @Value("${astra.collections.create-missing:false}") boolean createMissing) {
+        this.database = database;
+        this.executor = executor;
+        this.collections = collections;
+        this.createMissing = createMissing;
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void verifyAsync() {
+        CompletableFuture.runAsync(this::verify, executor).exceptionally(e -> {
+            logger.error("Error verifying Astra collections: {}", e.getMessage());
+            health = Health.down().withDetail("error", String.valueOf(e.getMessage())).build();
+            return null;
+        });
+    }
+
+    @Override
+    public Health health() {
+        return health;
+    }
+
+    private void verify() {
+        List<String> missing = new ArrayList<>();
+        for (String collection : collections) {
+            if (database.collectionExists(collection)) {
+                continue;
+            }
+            if (createMissing) {
+                logger.info("Creating missing Astra collection {}", collection);
+                database.createCollection(collection);
+            } else {
+                missing.add(collection);
+            }
+        }
+        if (missing.isEmpty()) {
+            logger.info("Verified {} Astra collections", collections.length);
+            health = Health.up().withDetail("collections", collections.length).build();
+        } else {
+            logger.error("Missing Astra collections: {}", missing);
+            health = Health.down().withDetail("missing", missing).build();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.interactive.repository.impl;
+
+import com.datastax.astra.client.collections.definition.documents.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maps synthetic documents through the Astra repositories' document mappers
+ * before the node reports ready, alongside {@code StartupWarmup}. No Data
+ * API calls are made.
+ */
+@Component
+@Profile("!local")
+public class AstraMappingWarmup implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(AstraMappingWarmup.class);
+
+    private final AstraPollQuestionRepository pollQuestionRepository;
+    private final AstraPresentationRepository presentationRepository;
+    private final AstraResponseRepository responseRepository;
+    private final boolean enabled;
+    private final int iterations;
+    private final long maxDurationNanos;
+
+    @Autowired
+    public AstraMappingWarmup(AstraPollQuestionRepository pollQuestionRepository,
+                              AstraPresentationRepository presentationRepository,
+                              AstraResponseRepository responseRepository,
+                              @Value("${warmup.enabled:true}") boolean enabled,
+                              @Value("${warmup.iterations:20000}") int iterations,
+                              @Value("${warmup.max-duration-ms:5000}") long maxDurationMs) {
+        this.pollQuestionRepository = pollQuestionRepository;
+        this.presentationRepository = presentationRepository;
+        this.responseRepository = responseRepository;
+        this.enabled = enabled;
+        this.iterations = iterations;
+        this.maxDurationNanos = TimeUnit.MILLISECONDS.toNanos(maxDurationMs);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        String createdAt = LocalDateTime.now().toString();
+        String pollQuestionId = UUID.randomUUID().toString();
+        Document pollQuestion = new Document()
+            .append("_id", pollQuestionId)
+            .append("presentationId", UUID.randomUUID().toString())
+            .append("question", "Warm-up question")
+            .append("options", List.of("Alpha", "Beta", "Gamma", "Delta"))
+            .append("votes", Map.of("0", 12, "1", 4, "2", 30, "3", 1))
+            .append("active", true)
+            .append("createdAt", createdAt);
+        Document response = new Document()
+            .append("_id", UUID.randomUUID().toString())
+            .append("pollQuestionId", pollQuestionId)
+            .append("selectedOption", 2)
+            .append("createdAt", createdAt);
+        Document presentation = new Document()
+            .append("_id", UUID.randomUUID().toString())
+            .append("title", "Warm-up presentation")
+            .append("description", "Synthetic")
+            .append("accessCode", "000000")
+            .append("presenterId", "warmup")
+            .append("active", true)
+            .append("createdAt", createdAt)
+            .append("currentSlideIndex", 0);
+
+        int done = 0;
+        for (; done < iterations && System.nanoTime() - start < maxDurationNanos; done++) {
+            pollQuestionRepository.documentToPollQuestion(pollQuestion);
+            responseRepository.documentToResponse(response);
+            presentationRepository.documentToPresentation(presentation);
+        }
+        logger.info("Document mapping warm-up ran {} iterations in {} ms", done,
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+}
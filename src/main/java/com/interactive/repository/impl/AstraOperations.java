@@ -0,0 +1,387 @@
+package com.interactive.repository.impl;
+
+import com.datastax.astra.client.collections.definition.documents.Document;
+import com.datastax.astra.client.exceptions.DataAPIErrorDescriptor;
+import com.datastax.astra.client.exceptions.DataAPIHttpException;
+import com.datastax.astra.client.exceptions.DataAPIResponseException;
+import com.datastax.astra.client.exceptions.DataAPITimeoutException;
+import com.interactive.admission.AdaptiveConcurrencyLimit;
+import com.interactive.admission.AdmissionRejectedException;
+import com.interactive.admission.RetryBudget;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Single path for every Data API call made by the Astra repositories, so each
+ * one is timed and counted the same way. Meters are tagged by collection and
+ * operation:
+ * <ul>
+ *   <li>{@code astra.requests}: latency histogram, tagged with the outcome</li>
+ *   <li>{@code astra.documents}: documents written or returned per call</li>
+ *   <li>{@code astra.payload}: serialized document size, sampled</li>
+ * </ul>
+ *
+ * <p>Calls also pass through an {@link AdaptiveConcurrencyLimit}. A call that
+ * cannot get a permit within {@code astra.limiter.max-wait-ms} fails with
+ * {@link AdmissionRejectedException} instead of piling onto a Data API that
+ * is already slowing down.
+ *
+ * <p>Reads made through {@link #read} are idempotent, so they are retried on
+ * timeouts, transport errors and 429 or 5xx responses with jittered
+ * exponential backoff, and reads
+ * listed in {@code astra.hedge.operations} send a second, hedged request when
+ * the first has not answered within that operation's recent p95 latency.
+ * Retries and hedges each draw on a {@link RetryBudget}, so together they add
+ * at most a small fraction to the load on a struggling Data API. This class
+ * never retries writes, since it cannot tell whether a failed one was
+ * applied. {@code WriteBehindQueue} retries its {@code insertMany} batches
+ * itself, which is safe because documents carry their own ids and a retry
+ * rejected only for ids already stored counts as written (see
+ * {@link #alreadyInserted}).
+ * <ul>
+ *   <li>{@code astra.retries}: retry attempts, tagged {@code retried} or {@code budget_exhausted}</li>
+ *   <li>{@code astra.hedges}: hedged requests, tagged {@code sent}, {@code won} or {@code budget_exhausted}</li>
+ * </ul>
+ */
+@Component
+@Profile("!local")
+public class AstraOperations {
+    private static final long HEDGE_DELAY_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long HEDGE_MIN_SAMPLES = 100;
+    private static final String DOCUMENT_ALREADY_EXISTS = "DOCUMENT_ALREADY_EXISTS";
+    private static final Pattern HTTP_STATUS = Pattern.compile("(?<!\\d)[1-5]\\d\\d(?!\\d)");
+
+    private final MeterRegistry registry;
+    private final double payloadSampleRate;
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+    private final long maxWaitMillis;
+    private final Counter rejected;
+    private final int maxAttempts;
+    private final long retryBaseDelayMillis;
+    private final long retryMaxDelayMillis;
+    private final RetryBudget retryBudget;
+    private final Set<String> hedgedOperations;
+    private final long hedgeMinDelayNanos;
+    private final RetryBudget hedgeBudget;
+    private final ExecutorService hedgeExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ConcurrentMap<String, HedgeDelay> hedgeDelays = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, DistributionSummary> documents = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, DistributionSummary> payloads = new ConcurrentHashMap<>();
+
+    @Autowired
+    public AstraOperations(MeterRegistry registry,
+                           @Value("${astra.metrics.payload-sample-rate:0.05}") double payloadSampleRate,
+                           AdaptiveConcurrencyLimit concurrencyLimit,
+                           @Value("${astra.limiter.max-wait-ms:100}") long maxWaitMillis,
+                           @Value("${astra.retry.max-attempts:3}") int maxAttempts,
+                           @Value("${astra.retry.base-delay-ms:25}") long retryBaseDelayMillis,
+                           @Value("${astra.retry.max-delay-ms:500}") long retryMaxDelayMillis,
+                           @Value("${astra.retry.budget-ratio:0.1}") double retryBudgetRatio,
+                           @Value("${astra.hedge.operations:findOne}") String[] hedgedOperations,
+                           @Value("${astra.hedge.min-delay-ms:10}") long hedgeMinDelayMillis,
+                           @Value("${astra.hedge.budget-ratio:0.05}") double hedgeBudgetRatio) {
+        this.registry = registry;
+        this.payloadSampleRate = payloadSampleRate;
+        this.concurrencyLimit = concurrencyLimit;
+        this.maxWaitMillis = maxWaitMillis;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBaseDelayMillis = retryBaseDelayMillis;
+        this.retryMaxDelayMillis = retryMaxDelayMillis;
+        this.retryBudget = new RetryBudget(retryBudgetRatio, 10);
+        this.hedgedOperations = new HashSet<>(Arrays.asList(hedgedOperations));
+        this.hedgeMinDelayNanos = TimeUnit.MILLISECONDS.toNanos(hedgeMinDelayMillis);
+        this.hedgeBudget = new RetryBudget(hedgeBudgetRatio, 10);
+        this.rejected = Counter.builder("astra.limiter.rejected").register(registry);
+        Gauge.builder("astra.limiter.limit", concurrencyLimit, AdaptiveConcurrencyLimit::limit).register(registry);
+        Gauge.builder("astra.limiter.in.flight", concurrencyLimit, AdaptiveConcurrencyLimit::inFlight).register(registry);
+        Gauge.builder("astra.retry.budget", retryBudget, RetryBudget::available).register(registry);
+        Gauge.builder("astra.hedge.budget", hedgeBudget, RetryBudget::available).register(registry);
+    }
+
+    /**
+     * Runs an idempotent read, retrying transient failures within the retry
+     * budget and hedging it when the operation is configured for hedging.
+     */
+    public <T> T read(String collection, String operation, Supplier<T> call) {
+        retryBudget.deposit();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return hedgedOperations.contains(operation)
+                    ? hedged(collection, operation, call)
+                    : call(collection, operation, call);
+            } catch (RuntimeException e) {
+                if (attempt >= maxAttempts || !retryable(e)) {
+                    throw e;
+                }
+                if (!retryBudget.tryWithdraw()) {
+                    counter("astra.retries", collection, operation, "budget_exhausted").increment();
+                    throw e;
+                }
+                counter("astra.retries", collection, operation, "retried").increment();
+                backoff(attempt);
+            }
+        }
+    }
+
+    public <T> T call(String collection, String operation, Supplier<T> call) {
+        if (!concurrencyLimit.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS)) {
+            rejected.increment();
+            throw new AdmissionRejectedException("Astra concurrency limit reached", Duration.ofMillis(maxWaitMillis));
+        }
+        long start = System.nanoTime();
+        String outcome = "success";
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            outcome = "error";
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            concurrencyLimit.release(elapsed, "error".equals(outcome));
+            timer(collection, operation, outcome).record(elapsed, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void run(String collection, String operation, Runnable call) {
+        call(collection, operation, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hedgeExecutor.shutdownNow();
+    }
+
+    public void recordDocuments(String collection, String operation, int count) {
+        documents.computeIfAbsent(collection + ':' + operation, key -> DistributionSummary.builder("astra.documents")
+                .tag("collection", collection)
+                .tag("operation", operation)
+                .register(registry))
+            .record(count);
+    }
+
+    public void recordPayload(String collection, String operation, Document document) {
+        if (sampled()) {
+            payload(collection, operation).record(sizeOf(document));
+        }
+    }
+
+    public void recordPayload(String collection, String operation, List<Document> batch) {
+        if (sampled()) {
+            long bytes = 0;
+            for (Document document : batch) {
+                bytes += sizeOf(document);
+            }
+            payload(collection, operation).record(bytes);
+        }
+    }
+
+    // The first attempt runs on a virtual thread so the caller can stop
+    // waiting on it at the p95 mark; the first successful answer wins.
+    private <T> T hedged(String collection, String operation, Supplier<T> call) {
+        hedgeBudget.deposit();
+        CompletableFuture<T> primary = CompletableFuture.supplyAsync(() -> call(collection, operation, call), hedgeExecutor);
+        long delay = hedgeDelayNanos(collection, operation);
+        if (delay <= 0) {
+            return await(primary);
+        }
+        try {
+            return primary.get(delay, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // Fall through and hedge.
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            primary.cancel(true);
+            throw new RuntimeException("Interrupted waiting for Astra", e);
+        }
+        if (!hedgeBudget.tryWithdraw()) {
+            counter("astra.hedges", collection, operation, "budget_exhausted").increment();
+            return await(primary);
+        }
+        counter("astra.hedges", collection, operation, "sent").increment();
+        CompletableFuture<T> hedge = CompletableFuture.supplyAsync(() -> call(collection, operation, call), hedgeExecutor);
+        CompletableFuture<T> first = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        primary.whenComplete((value, error) -> settle(first, failures, value, error));
+        hedge.whenComplete((value, error) -> {
+            if (error == null && !first.isDone()) {
+                counter("astra.hedges", collection, operation, "won").increment();
+            }
+            settle(first, failures, value, error);
+        });
+        return await(first);
+    }
+
+    private static <T> void settle(CompletableFuture<T> first, AtomicInteger failures, T value, Throwable error) {
+        if (error == null) {
+            first.complete(value);
+        } else if (failures.incrementAndGet() == 2) {
+            first.completeExceptionally(error);
+        }
+    }
+
+    // Zero until the operation has enough successful samples for a p95.
+    private long hedgeDelayNanos(String collection, String operation) {
+        String key = collection + ':' + operation;
+        long now = System.nanoTime();
+        HedgeDelay cached = hedgeDelays.get(key);
+        if (cached != null && now - cached.computedAt() < HEDGE_DELAY_REFRESH_NANOS) {
+            return cached.nanos();
+        }
+        Timer timer = timer(collection, operation, "success");
+        long nanos = 0;
+        if (timer.count() >= HEDGE_MIN_SAMPLES) {
+            for (ValueAtPercentile value : timer.takeSnapshot().percentileValues()) {
+                if (value.percentile() == 0.95) {
+                    nanos = Math.max(hedgeMinDelayNanos, (long) value.value(TimeUnit.NANOSECONDS));
+                }
+            }
+        }
+        hedgeDelays.put(key, new HedgeDelay(nanos, now));
+        return nanos;
+    }
+
+    private void backoff(int attempt) {
+        long ceiling = Math.min(retryMaxDelayMillis, retryBaseDelayMillis << Math.min(attempt - 1, 20));
+        if (ceiling <= 0) {
+            return;
+        }
+        try {
+            // Full jitter: callers that failed together do not retry together.
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted backing off an Astra retry", e);
+        }
+    }
+
+    // Timeouts, I/O errors and HTTP 429 or 5xx responses are worth another
+    // try. Any other HTTP status is about the request itself and would fail
+    // the same way again, and our own admission rejections are not retried.
+    private static boolean retryable(Throwable e) {
+        if (e instanceof AdmissionRejectedException) {
+            return false;
+        }
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DataAPIHttpException http) {
+                int status = httpStatus(http);
+                return status == 429 || status >= 500;
+            }
+            if (cause instanceof DataAPITimeoutException || cause instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // The client reports the status code only in the message, so this takes
+    // the first three-digit number that is a valid status; -1 when there is none.
+    static int httpStatus(DataAPIHttpException e) {
+        Matcher matcher = HTTP_STATUS.matcher(String.valueOf(e.getMessage()));
+        return matcher.find() ? Integer.parseInt(matcher.group()) : -1;
+    }
+
+    /**
+     * True when an insert failed only because every rejected document's id is
+     * already stored, i.e. an earlier attempt at the same batch got through.
+     */
+    public static boolean alreadyInserted(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DataAPIResponseException response) {
+                List<DataAPIErrorDescriptor> errors = response.getApiErrors();
+                return errors != null && !errors.isEmpty()
+                    && errors.stream().allMatch(error -> DOCUMENT_ALREADY_EXISTS.equals(error.getErrorCode()));
+            }
+        }
+        return false;
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    private static RuntimeException unwrap(Throwable e) {
+        return e instanceof RuntimeException runtime ? runtime : new RuntimeException(e);
+    }
+
+    private Counter counter(String name, String collection, String operation, String result) {
+        return counters.computeIfAbsent(name + ':' + collection + ':' + operation + ':' + result,
+            key -> Counter.builder(name)
+                .tag("collection", collection)
+                .tag("operation", operation)
+                .tag("result", result)
+                .register(registry));
+    }
+
+    private Timer timer(String collection, String operation, String outcome) {
+        return timers.computeIfAbsent(collection + ':' + operation + ':' + outcome, key -> Timer.builder("astra.requests")
+            .tag("collection", collection)
+            .tag("operation", operation)
+            .tag("outcome", outcome)
+            .publishPercentileHistogram()
+            .publishPercentiles(0.95)
+            .register(registry));
+    }
+
+    private DistributionSummary payload(String collection, String operation) {
+        return payloads.computeIfAbsent(collection + ':' + operation, key -> DistributionSummary.builder("astra.payload")
+            .baseUnit("bytes")
+            .tag("collection", collection)
+            .tag("operation", operation)
+            .register(registry));
+    }
+
+    // Serializing a document again just to size it is not free, so only a
+    // fraction of calls pay for it.
+    private boolean sampled() {
+        return payloadSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < payloadSampleRate;
+    }
+
+    private static long sizeOf(Document document) {
+        return document.toJson().getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private record HedgeDelay(long nanos, long computedAt) {
+    }
+}
@@ -1,33 +1,48 @@
 package com.interactive.repository.impl;
 
 import com.datastax.astra.client.collections.Collection;
+import com.datastax.astra.client.collections.commands.Update;
+import com.datastax.astra.client.collections.commands.options.CollectionFindOneAndUpdateOptions;
+import com.datastax.astra.client.collections.commands.options.CollectionReplaceOneOptions;
 import com.datastax.astra.client.collections.definition.documents.Document;
 import com.datastax.astra.client.core.query.Filter;
 import com.datastax.astra.client.core.query.Filters;
 import com.datastax.astra.client.databases.Database;
+import com.interactive.admission.AdmissionRejectedException;
 import com.interactive.model.PollQuestion;
 import com.interactive.repository.PollQuestionRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.time.LocalDateTime;
 
 @Repository
+@Profile("!local")
 public class AstraPollQuestionRepository implements PollQuestionRepository {
     private static final Logger logger = LoggerFactory.getLogger(AstraPollQuestionRepository.class);
     private static final String COLLECTION_NAME = "poll_questions";
+    private static final Set<String> UPDATABLE_FIELDS = Set.of("question", "options", "active");
 
     private final Collection<Document> collection;
+    private final AstraOperations operations;
+    private final AstraSingleFlight singleFlight;
 
     @Autowired
-    public AstraPollQuestionRepository(Database database) {
+    public AstraPollQuestionRepository(Database database, AstraOperations operations, AstraSingleFlight singleFlight) {
         this.collection = database.getCollection(COLLECTION_NAME);
+        this.operations = operations;
+        this.singleFlight = singleFlight;
     }
 
     @Override
@@ -41,23 +56,90 @@ public class AstraPollQuestionRepository implements PollQuestionRepository {
                 .append("presentationId", pollQuestion.getPresentationId().toString())
                 .append("question", pollQuestion.getQuestion())
                 .append("options", pollQuestion.getOptions())
+                .append("votes", votesToDocument(pollQuestion))
                 .append("active", pollQuestion.isActive())
                 .append("createdAt", pollQuestion.getCreatedAt().toString());
-            
-            collection.insertOne(doc);
-            logger.info("Saved poll question with id: {}", pollQuestion.getId());
+
+            singleFlight.write(COLLECTION_NAME, () -> operations.run(COLLECTION_NAME, "replaceOne",
+                () -> collection.replaceOne(Filters.eq("_id", pollQuestion.getId().toString()), doc,
+                    new CollectionReplaceOneOptions().upsert(true))));
+            operations.recordPayload(COLLECTION_NAME, "replaceOne", doc);
+            logger.debug("Saved poll question with id: {}", pollQuestion.getId());
             return pollQuestion;
+        } catch (AdmissionRejectedException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error saving poll question: {}", e.getMessage());
             throw new RuntimeException("Failed to save poll question", e);
         }
     }
 
+    @Override
+    public Optional<PollQuestion> updateFields(UUID id, Map<String, Object> fields) {
+        try {
+            Filter filter = Filters.eq("_id", id.toString());
+            Update update = AstraUpdates.set(fields, UPDATABLE_FIELDS);
+            return singleFlight.write(COLLECTION_NAME, () -> operations.call(COLLECTION_NAME, "findOneAndUpdate",
+                    () -> collection.findOneAndUpdate(
+                        filter, update, new CollectionFindOneAndUpdateOptions().returnDocumentAfter())))
+                .map(this::documentToPollQuestion);
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (AdmissionRejectedException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error updating poll question: {}", e.getMessage());
+            throw new RuntimeException("Failed to update poll question", e);
+        }
+    }
+
+    @Override
+    public Optional<PollQuestion> updateActive(UUID id, boolean active) {
+        try {
+            // Matching on the opposite state makes the transition happen at most once.
+            Filter filter = Filters.and(Filters.eq("_id", id.toString()), Filters.eq("active", !active));
+            Update update = AstraUpdates.set(Map.of("active", active), UPDATABLE_FIELDS);
+            return singleFlight.write(COLLECTION_NAME, () -> operations.call(COLLECTION_NAME, "findOneAndUpdate",
+                    () -> collection.findOneAndUpdate(
+                        filter, update, new CollectionFindOneAndUpdateOptions().returnDocumentAfter())))
+                .map(this::documentToPollQuestion);
+        } catch (AdmissionRejectedException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error updating poll question state: {}", e.getMessage());
+            throw new RuntimeException("Failed to update poll question state", e);
+        }
+    }
+
+    @Override
+    public void incrementVotes(UUID id, Map<Integer, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        try {
+            Map<String, Long> fieldDeltas = new HashMap<>();
+            deltas.forEach((option, delta) -> fieldDeltas.put(String.valueOf(option), delta));
+            Update update = AstraUpdates.inc("votes", fieldDeltas);
+            singleFlight.write(COLLECTION_NAME, () -> operations.run(COLLECTION_NAME, "updateOne",
+                () -> collection.updateOne(Filters.eq("_id", id.toString()), update)));
+        } catch (AdmissionRejectedException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error incrementing votes for poll question: {}", e.getMessage());
+            throw new RuntimeException("Failed to increment votes", e);
+        }
+    }
+
     @Override
     public Optional<PollQuestion> findById(UUID id) {
         try {
             Filter filter = Filters.eq("_id", id.toString());
-            return collection.findOne(filter).map(this::documentToPollQuestion);
+            Optional<Document> doc = singleFlight.read(COLLECTION_NAME, "findById", id.toString(),
+                () -> operations.read(COLLECTION_NAME, "findOne", () -> collection.findOne(filter)));
+            operations.recordDocuments(COLLECTION_NAME, "findOne", doc.isPresent() ? 1 : 0);
+            return doc.map(this::documentToPollQuestion);
+        } catch (AdmissionRejectedException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error finding poll question: {}", e.getMessage());
             return Optional.empty();
@@ -68,11 +150,21 @@ public class AstraPollQuestionRepository implements PollQuestionRepository {
     public List<PollQuestion> findByPresentationId(UUID presentationId) {
         try {
             Filter filter = Filters.eq("presentationId", presentationId.toString());
-            List<PollQuestion> questions = new ArrayList<>();
-            collection.find(filter).forEach(doc -> 
-                questions.add(documentToPollQuestion(doc))
-            );
+            // Concurrent callers share the documents; each maps its own questions.
+            List<Document> docs = singleFlight.read(COLLECTION_NAME, "findByPresentationId", presentationId.toString(),
+                () -> operations.read(COLLECTION_NAME, "find", () -> {
+                    List<Document> found = new ArrayList<>();
+                    collection.find(filter).forEach(found::add);
+                    operations.recordDocuments(COLLECTION_NAME, "find", found.size());
+                    return found;
+                }));
+            List<PollQuestion> questions = new ArrayList<>(docs.size());
+            for (Document doc : docs) {
+                questions.add(documentToPollQuestion(doc));
+            }
             return questions;
+        } catch (AdmissionRejectedException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error finding poll questions by presentation: {}", e.getMessage());
             return new ArrayList<>();
@@ -83,22 +175,50 @@ public class AstraPollQuestionRepository implements PollQuestionRepository {
     public void deleteById(UUID id) {
         try {
             Filter filter = Filters.eq("_id", id.toString());
-            collection.deleteOne(filter);
-            logger.info("Deleted poll question with id: {}", id);
+            singleFlight.write(COLLECTION_NAME,
+                () -> operations.run(COLLECTION_NAME, "deleteOne", () -> collection.deleteOne(filter)));
+            logger.debug("Deleted poll question with id: {}", id);
+        } catch (AdmissionRejectedException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error deleting poll question: {}", e.getMessage());
             throw new RuntimeException("Failed to delete poll question", e);
         }
     }
 
-    private PollQuestion documentToPollQuestion(Document doc) {
+    PollQuestion documentToPollQuestion(Document doc) {
         PollQuestion question = new PollQuestion();
         question.setId(UUID.fromString(doc.getString("_id")));
         question.setPresentationId(UUID.fromString(doc.getString("presentationId")));
         question.setQuestion(doc.getString("question"));
         question.setOptions(doc.getList("options", String.class));
+        question.setVotes(documentToVotes(doc.get("votes"), question.getOptions().size()));
         question.setActive(doc.getBoolean("active"));
         question.setCreatedAt(LocalDateTime.parse(doc.getString("createdAt")));
         return question;
     }
+
+    // Votes are stored as an object keyed by option index so that a single
+    // vote can be applied with $inc on votes.<index>.
+    private Map<String, Integer> votesToDocument(PollQuestion pollQuestion) {
+        Map<String, Integer> votes = new HashMap<>();
+        List<Integer> counts = pollQuestion.getVotes();
+        for (int i = 0; i < pollQuestion.getOptions().size(); i++) {
+            votes.put(String.valueOf(i), counts != null && i < counts.size() ? counts.get(i) : 0);
+        }
+        return votes;
+    }
+
+    private List<Integer> documentToVotes(Object stored, int optionCount) {
+        List<Integer> votes = new ArrayList<>(Collections.nCopies(optionCount, 0));
+        if (stored instanceof Map<?, ?> map) {
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                int option = Integer.parseInt(entry.getKey().toString());
+                if (option >= 0 && option < optionCount && entry.getValue() instanceof Number count) {
+                    votes.set(option, count.intValue());
+                }
+            }
+        }
+        return votes;
+    }
 } 
\ No newline at end of file
@@ -1,33 +1,58 @@
 package com.interactive.repository.impl;
 
 import com.datastax.astra.client.collections.Collection;
+import com.datastax.astra.client.collections.commands.Update;
+import com.datastax.astra.client.collections.commands.options.CollectionFindOneAndUpdateOptions;
+import com.datastax.astra.client.collections.commands.options.CollectionFindOptions;
+import com.datastax.astra.client.collections.commands.options.CollectionReplaceOneOptions;
 import com.datastax.astra.client.collections.definition.documents.Document;
+import com.datastax.astra.client.core.paging.Page;
 import com.datastax.astra.client.core.query.Filter;
 import com.datastax.astra.client.core.query.Filters;
+import com.datastax.astra.client.core.query.Projection;
 import com.datastax.astra.client.databases.Database;
+import com.interactive.admission.AdmissionRejectedException;
+import com.interactive.model.PagedResult;
 import com.interactive.model.Presentation;
 import com.interactive.repository.PresentationRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Repository
+@Profile("!local")
+@Qualifier("presentationStore")
 public class AstraPresentationRepository implements PresentationRepository {
     private static final Logger logger = LoggerFactory.getLogger(AstraPresentationRepository.class);
     private static final String COLLECTION_NAME = "presentations";
+    private static final Projection[] LIST_PROJECTION = Projection.include(
+        "_id", "title", "description", "accessCode", "presenterId", "active", "createdAt", "endedAt",
+        "currentSlideIndex");
+    private static final Set<String> UPDATABLE_FIELDS = Set.of(
+        "title", "description", "accessCode", "presenterId", "active", "endedAt", "currentSlideIndex");
 
     private final Collection<Document> collection;
+    private final AstraOperations operations;
+    private final AstraSingleFlight singleFlight;
 
     @Autowired
-    public AstraPresentationRepository(Database database) {
+    public AstraPresentationRepository(Database database, AstraOperations operations, AstraSingleFlight singleFlight) {
         this.collection = database.getCollection(COLLECTION_NAME);
+        this.operations = operations;
+        this.singleFlight = singleFlight;
     }
 
     @Override
@@ -39,29 +64,85 @@ public class AstraPresentationRepository implements PresentationRepository {
             Document doc = new Document()
                 .append("_id", presentation.getId().toString())
                 .append("title", presentation.getTitle())
+                .append("description", presentation.getDescription())
+                .append("accessCode", presentation.getAccessCode())
                 .append("presenterId", presentation.getPresenterId())
                 .append("active", presentation.isActive())
-                .append("createdAt", presentation.getCreatedAt().toString());
+                .append("createdAt", presentation.getCreatedAt().toString())
+                .append("currentSlideIndex", presentation.getCurrentSlideIndex());
             
             if (presentation.getEndedAt() != null) {
                 doc.append("endedAt", presentation.getEndedAt().toString());
             }
             
-            collection.insertOne(doc);
-            logger.info("Saved presentation with id: {}", presentation.getId());
+            singleFlight.write(COLLECTION_NAME, () -> operations.run(COLLECTION_NAME, "replaceOne",
+                () -> collection.replaceOne(Filters.eq("_id", presentation.getId().toString()), doc,
+                    new CollectionReplaceOneOptions().upsert(true))));
+            operations.recordPayload(COLLECTION_NAME, "replaceOne", doc);
+            logger.debug("Saved presentation with id: {}", presentation.getId());
             return presentation;
+        } catch (AdmissionRejectedException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error saving presentation: {}", e.getMessage());
             throw new RuntimeException("Failed to save presentation", e);
         }
     }
 
+    @Override
+    public Presentation updateFields(UUID id, Map<String, Object> fields) {
+        try {
+            Filter filter = Filters.eq("_id", id.toString());
+            Update update = AstraUpdates.set(fields, UPDATABLE_FIELDS);
+            return singleFlight.write(COLLECTION_NAME, () -> operations.call(COLLECTION_NAME, "findOneAndUpdate",
+                    () -> collection.findOneAndUpdate(
+                        filter, update, new CollectionFindOneAndUpdateOptions().returnDocumentAfter())))
+                .map(this::documentToPresentation)
+                .orElse(null);
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (AdmissionRejectedException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error updating presentation: {}", e.getMessage());
+            throw new RuntimeException("Failed to update presentation", e);
+        }
+    }
+
+    @Override
+    public Presentation updateActive(UUID id, boolean active, LocalDateTime endedAt) {
+        try {
+            // Matching on the opposite state makes the transition happen at most once.
+            Filter filter = Filters.and(Filters.eq("_id", id.toString()), Filters.eq("active", !active));
+            Map<String, Object> fields = new HashMap<>();
+            fields.put("active", active);
+            if (endedAt != null) {
+                fields.put("endedAt", endedAt);
+            }
+            Update update = AstraUpdates.set(fields, UPDATABLE_FIELDS);
+            return singleFlight.write(COLLECTION_NAME, () -> operations.call(COLLECTION_NAME, "findOneAndUpdate",
+                    () -> collection.findOneAndUpdate(
+                        filter, update, new CollectionFindOneAndUpdateOptions().returnDocumentAfter())))
+                .map(this::documentToPresentation)
+                .orElse(null);
+        } catch (AdmissionRejectedException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error updating presentation state: {}", e.getMessage());
+            throw new RuntimeException("Failed to update presentation state", e);
+        }
+    }
+
     @Override
     public Presentation findById(UUID id) {
         try {
             Filter filter = Filters.eq("_id", id.toString());
-            Optional<Document> doc = collection.findOne(filter);
+            Optional<Document> doc = singleFlight.read(COLLECTION_NAME, "findById", id.toString(),
+                () -> operations.read(COLLECTION_NAME, "findOne", () -> collection.findOne(filter)));
+            operations.recordDocuments(COLLECTION_NAME, "findOne", doc.isPresent() ? 1 : 0);
             return doc.map(this::documentToPresentation).orElse(null);
+        } catch (AdmissionRejectedException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error finding presentation: {}", e.getMessage());
             return null;
@@ -69,57 +150,154 @@ public class AstraPresentationRepository implements PresentationRepository {
     }
 
     @Override
-    public List<Presentation> findByActive(boolean active) {
+    public Presentation findByAccessCode(String accessCode) {
         try {
-            Filter filter = Filters.eq("active", active);
-            List<Presentation> presentations = new ArrayList<>();
-            collection.find(filter).forEach(doc -> 
-                presentations.add(documentToPresentation(doc))
-            );
-            return presentations;
+            Filter filter = Filters.eq("accessCode", accessCode);
+            Optional<Document> doc = singleFlight.read(COLLECTION_NAME, "findByAccessCode", accessCode,
+                () -> operations.read(COLLECTION_NAME, "findOne", () -> collection.findOne(filter)));
+            operations.recordDocuments(COLLECTION_NAME, "findOne", doc.isPresent() ? 1 : 0);
+            return doc.map(this::documentToPresentation).orElse(null);
+        } catch (AdmissionRejectedException e) {
+            throw e;
         } catch (Exception e) {
-            logger.error("Error finding active presentations: {}", e.getMessage());
-            return new ArrayList<>();
+            logger.error("Error finding presentation by access code: {}", e.getMessage());
+            return null;
         }
     }
 
+    @Override
+    public List<Presentation> findAll() {
+        List<Presentation> presentations = new ArrayList<>();
+        streamAll(presentations::add);
+        return presentations;
+    }
+
+    @Override
+    public List<Presentation> findByActive(boolean active) {
+        List<Presentation> presentations = new ArrayList<>();
+        streamByActive(active, presentations::add);
+        return presentations;
+    }
+
     @Override
     public List<Presentation> findByPresenterId(String presenterId) {
-        try {
-            Filter filter = Filters.eq("presenterId", presenterId);
-            List<Presentation> presentations = new ArrayList<>();
-            collection.find(filter).forEach(doc -> 
-                presentations.add(documentToPresentation(doc))
-            );
-            return presentations;
-        } catch (Exception e) {
-            logger.error("Error finding presentations by presenter: {}", e.getMessage());
-            return new ArrayList<>();
-        }
+        List<Presentation> presentations = new ArrayList<>();
+        streamByPresenterId(presenterId, presentations::add);
+        return presentations;
+    }
+
+    @Override
+    public PagedResult<Presentation> findAll(String pageState, int limit) {
+        return findPage(new Filter(), pageState, limit);
+    }
+
+    @Override
+    public PagedResult<Presentation> findByActive(boolean active, String pageState, int limit) {
+        return findPage(Filters.eq("active", active), pageState, limit);
+    }
+
+    @Override
+    public PagedResult<Presentation> findByPresenterId(String presenterId, String pageState, int limit) {
+        return findPage(Filters.eq("presenterId", presenterId), pageState, limit);
+    }
+
+    @Override
+    public void streamAll(Consumer<Presentation> consumer) {
+        stream(new Filter(), consumer);
+    }
+
+    @Override
+    public void streamByActive(boolean active, Consumer<Presentation> consumer) {
+        stream(Filters.eq("active", active), consumer);
+    }
+
+    @Override
+    public void streamByPresenterId(String presenterId, Consumer<Presentation> consumer) {
+        stream(Filters.eq("presenterId", presenterId), consumer);
     }
 
     @Override
     public void deleteById(UUID id) {
         try {
             Filter filter = Filters.eq("_id", id.toString());
-            collection.deleteOne(filter);
-            logger.info("Deleted presentation with id: {}", id);
+            singleFlight.write(COLLECTION_NAME,
+                () -> operations.run(COLLECTION_NAME, "deleteOne", () -> collection.deleteOne(filter)));
+            logger.debug("Deleted presentation with id: {}", id);
+        } catch (AdmissionRejectedException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error deleting presentation: {}", e.getMessage());
             throw new RuntimeException("Failed to delete presentation", e);
         }
     }
 
-    private Presentation documentToPresentation(Document doc) {
+    // The Data API returns fixed-size pages, so whole pages are collected until
+    // at least `limit` presentations are available; the returned page
+    // state always points at the start of the next unread page.
+    private PagedResult<Presentation> findPage(Filter filter, String pageState, int limit) {
+        try {
+            List<Presentation> presentations = new ArrayList<>();
+            String nextPageState = pageState;
+            do {
+                CollectionFindOptions options = new CollectionFindOptions().projection(LIST_PROJECTION);
+                if (nextPageState != null) {
+                    options.pageState(nextPageState);
+                }
+                Page<Document> page = operations.read(COLLECTION_NAME, "findPage",
+                    () -> collection.findPage(filter, options));
+                operations.recordDocuments(COLLECTION_NAME, "findPage", page.getResults().size());
+                page.getResults().forEach(doc -> presentations.add(documentToPresentation(doc)));
+                nextPageState = page.getPageState().orElse(null);
+            } while (nextPageState != null && presentations.size() < limit);
+            return new PagedResult<>(presentations, nextPageState);
+        } catch (AdmissionRejectedException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error finding presentation page: {}", e.getMessage());
+            throw new RuntimeException("Failed to find presentations", e);
+        }
+    }
+
+    // Only each page fetch goes through operations, so a slow client draining
+    // the consumer neither holds a concurrency permit nor counts as Astra
+    // latency.
+    private void stream(Filter filter, Consumer<Presentation> consumer) {
+        try {
+            String pageState = null;
+            do {
+                CollectionFindOptions options = new CollectionFindOptions().projection(LIST_PROJECTION);
+                if (pageState != null) {
+                    options.pageState(pageState);
+                }
+                Page<Document> page = operations.read(COLLECTION_NAME, "find",
+                    () -> collection.findPage(filter, options));
+                operations.recordDocuments(COLLECTION_NAME, "find", page.getResults().size());
+                page.getResults().forEach(doc -> consumer.accept(documentToPresentation(doc)));
+                pageState = page.getPageState().orElse(null);
+            } while (pageState != null);
+        } catch (AdmissionRejectedException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error streaming presentations: {}", e.getMessage());
+            throw new RuntimeException("Failed to stream presentations", e);
+        }
+    }
+
+    Presentation documentToPresentation(Document doc) {
         Presentation presentation = new Presentation();
         presentation.setId(UUID.fromString(doc.getString("_id")));
         presentation.setTitle(doc.getString("title"));
+        presentation.setDescription(doc.getString("description"));
+        presentation.setAccessCode(doc.getString("accessCode"));
         presentation.setPresenterId(doc.getString("presenterId"));
         presentation.setActive(doc.getBoolean("active"));
         presentation.setCreatedAt(LocalDateTime.parse(doc.getString("createdAt")));
         if (doc.containsKey("endedAt")) {
             presentation.setEndedAt(LocalDateTime.parse(doc.getString("endedAt")));
         }
+        if (doc.containsKey("currentSlideIndex")) {
+            presentation.setCurrentSlideIndex(doc.getInteger("currentSlideIndex"));
+        }
         return presentation;
     }
 } 
\ No newline at end of file
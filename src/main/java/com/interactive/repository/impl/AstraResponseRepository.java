@@ -1,57 +1,117 @@
 package com.interactive.repository.impl;
 
 import com.datastax.astra.client.collections.Collection;
+import com.datastax.astra.client.collections.commands.Update;
+import com.datastax.astra.client.collections.commands.options.CollectionFindOneAndUpdateOptions;
+import com.datastax.astra.client.collections.commands.options.CollectionFindOptions;
 import com.datastax.astra.client.collections.definition.documents.Document;
+import com.datastax.astra.client.core.paging.Page;
 import com.datastax.astra.client.core.query.Filter;
 import com.datastax.astra.client.core.query.Filters;
 import com.datastax.astra.client.databases.Database;
+import com.interactive.admission.AdmissionRejectedException;
+import com.interactive.model.PagedResult;
 import com.interactive.model.Response;
 import com.interactive.repository.ResponseRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Repository
+@Profile("!local")
 public class AstraResponseRepository implements ResponseRepository {
     private static final Logger logger = LoggerFactory.getLogger(AstraResponseRepository.class);
     private static final String COLLECTION_NAME = "responses";
+    private static final Set<String> UPDATABLE_FIELDS = Set.of("selectedOption");
 
     private final Collection<Document> collection;
+    private final AstraOperations operations;
 
     @Autowired
-    public AstraResponseRepository(Database database) {
+    public AstraResponseRepository(Database database, AstraOperations operations) {
         this.collection = database.getCollection(COLLECTION_NAME);
+        this.operations = operations;
     }
 
     @Override
     public Response save(Response response) {
         try {
-            Document doc = new Document()
-                .append("_id", response.getId().toString())
-                .append("pollQuestionId", response.getPollQuestionId().toString())
-                .append("selectedOption", response.getSelectedOption())
-                .append("createdAt", response.getCreatedAt().toString());
-            
-            collection.insertOne(doc);
-            logger.info("Saved response with id: {}", response.getId());
+            Document doc = responseToDocument(response);
+            operations.run(COLLECTION_NAME, "insertOne", () -> collection.insertOne(doc));
+            operations.recordPayload(COLLECTION_NAME, "insertOne", doc);
+            logger.debug("Saved response with id: {}", response.getId());
             return response;
+        } catch (AdmissionRejectedException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error saving response: {}", e.getMessage());
             throw new RuntimeException("Failed to save response", e);
         }
     }
 
+    @Override
+    public void saveAll(List<Response> responses) {
+        if (responses.isEmpty()) {
+            return;
+        }
+        try {
+            List<Document> docs = new ArrayList<>(responses.size());
+            for (Response response : responses) {
+                docs.add(responseToDocument(response));
+            }
+            operations.run(COLLECTION_NAME, "insertMany", () -> collection.insertMany(docs));
+            operations.recordDocuments(COLLECTION_NAME, "insertMany", docs.size());
+            operations.recordPayload(COLLECTION_NAME, "insertMany", docs);
+            logger.debug("Saved batch of {} responses", docs.size());
+        } catch (AdmissionRejectedException e) {
+            throw e;
+        } catch (Exception e) {
+            if (AstraOperations.alreadyInserted(e)) {
+                // A retry of a batch whose first attempt was stored.
+                logger.debug("Batch of {} responses was already saved", responses.size());
+                return;
+            }
+            logger.error("Error saving response batch: {}", e.getMessage());
+            throw new RuntimeException("Failed to save responses", e);
+        }
+    }
+
+    @Override
+    public Optional<Response> updateFields(UUID id, Map<String, Object> fields) {
+        try {
+            Filter filter = Filters.eq("_id", id.toString());
+            Update update = AstraUpdates.set(fields, UPDATABLE_FIELDS);
+            return operations.call(COLLECTION_NAME, "findOneAndUpdate", () -> collection.findOneAndUpdate(
+                    filter, update, new CollectionFindOneAndUpdateOptions().returnDocumentAfter()))
+                .map(this::documentToResponse);
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (AdmissionRejectedException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error updating response: {}", e.getMessage());
+            throw new RuntimeException("Failed to update response", e);
+        }
+    }
+
     @Override
     public Optional<Response> findById(UUID id) {
         try {
             Filter filter = Filters.eq("_id", id.toString());
-            return collection.findOne(filter).map(this::documentToResponse);
+            Optional<Document> doc = operations.read(COLLECTION_NAME, "findOne", () -> collection.findOne(filter));
+            operations.recordDocuments(COLLECTION_NAME, "findOne", doc.isPresent() ? 1 : 0);
+            return doc.map(this::documentToResponse);
+        } catch (AdmissionRejectedException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error finding response: {}", e.getMessage());
             return Optional.empty();
@@ -63,34 +123,82 @@ public class AstraResponseRepository implements ResponseRepository {
         try {
             Filter filter = Filters.eq("pollQuestionId", pollQuestionId.toString());
             List<Response> responses = new ArrayList<>();
-            collection.find(filter).forEach(doc -> 
+            operations.run(COLLECTION_NAME, "find", () -> collection.find(filter).forEach(doc ->
                 responses.add(documentToResponse(doc))
-            );
+            ));
+            operations.recordDocuments(COLLECTION_NAME, "find", responses.size());
             return responses;
+        } catch (AdmissionRejectedException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error finding responses by poll question: {}", e.getMessage());
             return new ArrayList<>();
         }
     }
 
+    // Whole Data API pages are collected until at least `limit` responses are
+    // available, as in AstraPresentationRepository.
+    @Override
+    public PagedResult<Response> findPageByPollQuestionId(UUID pollQuestionId, String pageState, int limit) {
+        try {
+            Filter filter = Filters.eq("pollQuestionId", pollQuestionId.toString());
+            List<Response> responses = new ArrayList<>();
+            String nextPageState = pageState;
+            do {
+                CollectionFindOptions options = new CollectionFindOptions();
+                if (nextPageState != null) {
+                    options.pageState(nextPageState);
+                }
+                Page<Document> page = operations.read(COLLECTION_NAME, "findPage",
+                    () -> collection.findPage(filter, options));
+                operations.recordDocuments(COLLECTION_NAME, "findPage", page.getResults().size());
+                page.getResults().forEach(doc -> responses.add(documentToResponse(doc)));
+                nextPageState = page.getPageState().orElse(null);
+            } while (nextPageState != null && responses.size() < limit);
+            return new PagedResult<>(responses, nextPageState);
+        } catch (AdmissionRejectedException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error finding response page: {}", e.getMessage());
+            throw new RuntimeException("Failed to find responses", e);
+        }
+    }
+
     @Override
     public void deleteById(UUID id) {
         try {
             Filter filter = Filters.eq("_id", id.toString());
-            collection.deleteOne(filter);
-            logger.info("Deleted response with id: {}", id);
+            operations.run(COLLECTION_NAME, "deleteOne", () -> collection.deleteOne(filter));
+            logger.debug("Deleted response with id: {}", id);
+        } catch (AdmissionRejectedException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error deleting response: {}", e.getMessage());
             throw new RuntimeException("Failed to delete response", e);
         }
     }
 
-    private Response documentToResponse(Document doc) {
+    private Document responseToDocument(Response response) {
+        Document doc = new Document()
+            .append("_id", response.getId().toString())
+            .append("pollQuestionId", response.getPollQuestionId().toString())
+            .append("selectedOption", response.getSelectedOption())
+            .append("createdAt", response.getCreatedAt().toString());
+        if (response.getVoterId() != null) {
+            doc.append("voterId", response.getVoterId());
+            doc.append("clientSeq", response.getClientSeq());
+        }
+        return doc;
+    }
+
+    Response documentToResponse(Document doc) {
         Response response = new Response();
         response.setId(UUID.fromString(doc.getString("_id")));
         response.setPollQuestionId(UUID.fromString(doc.getString("pollQuestionId")));
         response.setSelectedOption(doc.getInteger("selectedOption"));
         response.setCreatedAt(java.time.LocalDateTime.parse(doc.getString("createdAt")));
+        response.setVoterId(doc.getString("voterId"));
+        response.setClientSeq(doc.getLong("clientSeq"));
         return response;
     }
 } 
\ No newline at end of file
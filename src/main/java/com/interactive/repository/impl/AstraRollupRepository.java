@@ -0,0 +1,114 @@
+package com.interactive.repository.impl;
+
+import com.datastax.astra.client.collections.Collection;
+import com.datastax.astra.client.collections.commands.Update;
+import com.datastax.astra.client.collections.commands.options.CollectionUpdateOneOptions;
+import com.datastax.astra.client.collections.definition.documents.Document;
+import com.datastax.astra.client.core.query.Filter;
+import com.datastax.astra.client.core.query.Filters;
+import com.datastax.astra.client.databases.Database;
+import com.interactive.admission.AdmissionRejectedException;
+import com.interactive.model.Rollup;
+import com.interactive.repository.RollupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Repository
+@Profile("!local")
+public class AstraRollupRepository implements RollupRepository {
+    private static final Logger logger = LoggerFactory.getLogger(AstraRollupRepository.class);
+    private static final String COLLECTION_NAME = "rollups";
+
+    private final Collection<Document> collection;
+    private final AstraOperations operations;
+
+    @Autowired
+    public AstraRollupRepository(Database database, AstraOperations operations) {
+        this.collection = database.getCollection(COLLECTION_NAME);
+        this.operations = operations;
+    }
+
+    @Override
+    public void increment(Rollup deltas) {
+        if (deltas.getPoints().isEmpty()) {
+            return;
+        }
+        try {
+            // One upsert per window: $inc on points.<slot>.<option>, with the
+            // window's metadata written only when the document is created.
+            // Nodes increment the same window independently.
+            Map<String, Long> fieldDeltas = new HashMap<>();
+            deltas.getPoints().forEach((slot, counts) ->
+                counts.forEach((option, delta) -> fieldDeltas.put(slot + "." + option, delta)));
+            Update update = AstraUpdates.inc("points", fieldDeltas).setOnInsert(Map.of(
+                "subjectId", deltas.getSubjectId().toString(),
+                "kind", deltas.getKind(),
+                "tier", deltas.getTier(),
+                "start", deltas.getStart(),
+                "step", deltas.getStep()));
+            operations.run(COLLECTION_NAME, "updateOne", () -> collection.updateOne(
+                Filters.eq("_id", deltas.getId()), update, new CollectionUpdateOneOptions().upsert(true)));
+        } catch (AdmissionRejectedException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error incrementing rollup: {}", e.getMessage());
+            throw new RuntimeException("Failed to increment rollup", e);
+        }
+    }
+
+    @Override
+    public List<Rollup> findBySubject(UUID subjectId, String tier, long from, long to) {
+        try {
+            Filter filter = Filters.and(
+                Filters.eq("subjectId", subjectId.toString()),
+                Filters.eq("tier", tier),
+                Filters.gte("start", from),
+                Filters.lte("start", to));
+            return operations.read(COLLECTION_NAME, "find", () -> {
+                List<Rollup> rollups = new ArrayList<>();
+                collection.find(filter).forEach(doc -> rollups.add(documentToRollup(doc)));
+                operations.recordDocuments(COLLECTION_NAME, "find", rollups.size());
+                return rollups;
+            });
+        } catch (AdmissionRejectedException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error finding rollups by subject: {}", e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    private Rollup documentToRollup(Document doc) {
+        Rollup rollup = new Rollup();
+        rollup.setId(doc.getString("_id"));
+        rollup.setSubjectId(UUID.fromString(doc.getString("subjectId")));
+        rollup.setKind(doc.getString("kind"));
+        rollup.setTier(doc.getString("tier"));
+        rollup.setStart(((Number) doc.get("start")).longValue());
+        rollup.setStep(((Number) doc.get("step")).intValue());
+        if (doc.get("points") instanceof Map<?, ?> points) {
+            for (Map.Entry<?, ?> slot : points.entrySet()) {
+                if (!(slot.getValue() instanceof Map<?, ?> counts)) {
+                    continue;
+                }
+                Map<String, Long> stored = new HashMap<>();
+                for (Map.Entry<?, ?> count : counts.entrySet()) {
+                    if (count.getValue() instanceof Number value) {
+                        stored.put(count.getKey().toString(), value.longValue());
+                    }
+                }
+                rollup.getPoints().put(slot.getKey().toString(), stored);
+            }
+        }
+        return rollup;
+    }
+}
@@ -0,0 +1,138 @@
+package com.interactive.repository.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent identical reads onto one Data API request. The first
+ * caller for a key makes the request; callers that arrive while it is in
+ * flight wait for its result instead of sending their own. Nothing is kept
+ * once the request completes, so this is not a cache.
+ *
+ * <p>Reads stay fresh: every write to a collection moves it to a new
+ * generation, and a read only joins a request from its own generation, so
+ * no caller gets a result that was fetched before a write it has observed.
+ * Followers wait at most {@code astra.single-flight.timeout-ms} before making
+ * their own request. Only the repository reads listed in
+ * {@code astra.single-flight.operations} are coalesced.
+ *
+ * <p>{@code astra.single.flight} counts calls per collection and operation,
+ * tagged {@code led}, {@code collapsed} or {@code timed_out}.
+ */
+@Component
+@Profile("!local")
+public class AstraSingleFlight {
+    private final MeterRegistry registry;
+    private final Set<String> operations;
+    private final long timeoutMillis;
+    private final ConcurrentMap<String, CompletableFuture<Object>> flights = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
+
+    @Autowired
+    public AstraSingleFlight(MeterRegistry registry,
+                             @Value("${astra.single-flight.operations:presentations.findById,"
+                                 + "presentations.findByAccessCode,poll_questions.findById,"
+                                 + "poll_questions.findByPresentationId}") String[] operations,
+                             @Value("${astra.single-flight.timeout-ms:1000}") long timeoutMillis) {
+        this.registry = registry;
+        this.operations = new HashSet<>(Arrays.asList(operations));
+        this.timeoutMillis = timeoutMillis;
+        Gauge.builder("astra.single.flight.in.flight", flights, ConcurrentMap::size).register(registry);
+    }
+
+    /**
+     * Returns the result of {@code read}, sharing it with every concurrent
+     * caller that passes the same collection, operation and key. The result
+     * is handed to all of them, so it should not be mutated.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T read(String collection, String operation, String key, Supplier<T> read) {
+        if (!operations.contains(collection + '.' + operation)) {
+            return read.get();
+        }
+        String flightKey = collection + ':' + generation(collection).get() + ':' + operation + ':' + key;
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> flight = flights.putIfAbsent(flightKey, mine);
+        if (flight == null) {
+            counter(collection, operation, "led").increment();
+            try {
+                T value = read.get();
+                mine.complete(value);
+                return value;
+            } catch (RuntimeException e) {
+                mine.completeExceptionally(e);
+                throw e;
+            } finally {
+                flights.remove(flightKey, mine);
+            }
+        }
+        try {
+            T value = (T) flight.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            counter(collection, operation, "collapsed").increment();
+            return value;
+        } catch (TimeoutException e) {
+            counter(collection, operation, "timed_out").increment();
+            return read.get();
+        } catch (ExecutionException e) {
+            counter(collection, operation, "collapsed").increment();
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted waiting for a coalesced read", e);
+        }
+    }
+
+    /** Runs a write and ends coalescing onto reads that started before it. */
+    public <T> T write(String collection, Supplier<T> write) {
+        try {
+            return write.get();
+        } finally {
+            invalidate(collection);
+        }
+    }
+
+    public void write(String collection, Runnable write) {
+        try {
+            write.run();
+        } finally {
+            invalidate(collection);
+        }
+    }
+
+    public void invalidate(String collection) {
+        generation(collection).incrementAndGet();
+    }
+
+    private AtomicLong generation(String collection) {
+        return generations.computeIfAbsent(collection, key -> new AtomicLong());
+    }
+
+    private Counter counter(String collection, String operation, String result) {
+        return counters.computeIfAbsent(collection + ':' + operation + ':' + result, key -> Counter.builder("astra.single.flight")
+            .tag("collection", collection)
+            .tag("operation", operation)
+            .tag("result", result)
+            .register(registry));
+    }
+}
@@ -0,0 +1,50 @@
+package com.interactive.repository.impl;
+
+import com.datastax.astra.client.collections.commands.Update;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Helpers for building Data API update operators from repository arguments.
+ */
+final class AstraUpdates {
+
+    private AstraUpdates() {
+    }
+
+    static Update set(Map<String, Object> fields, Set<String> updatableFields) {
+        Update update = new Update();
+        for (Map.Entry<String, Object> field : fields.entrySet()) {
+            if (!updatableFields.contains(field.getKey())) {
+                throw new IllegalArgumentException("Field cannot be updated: " + field.getKey());
+            }
+            update.set(field.getKey(), toStoredValue(field.getValue()));
+        }
+        return update;
+    }
+
+    static Update inc(String prefix, Map<String, Long> deltas) {
+        Update update = new Update();
+        for (Map.Entry<String, Long> delta : deltas.entrySet()) {
+            update.inc(prefix + "." + delta.getKey(), delta.getValue().doubleValue());
+        }
+        return update;
+    }
+
+    // Dates and ids are stored as strings, matching what save() writes.
+    static Object toStoredValue(Object value) {
+        if (value instanceof LocalDateTime || value instanceof UUID) {
+            return value.toString();
+        }
+        return value;
+    }
+
+    // Field paths use '.' as a separator and reserve a leading '$', so neither
+    // may appear in a key taken from user input.
+    static String fieldSafe(String key) {
+        return key.replace(".", "").replace("$", "");
+    }
+}
@@ -1,32 +1,52 @@
 package com.interactive.repository.impl;
 
 import com.datastax.astra.client.collections.Collection;
+import com.datastax.astra.client.collections.commands.Update;
+import com.datastax.astra.client.collections.commands.options.CollectionFindOneAndUpdateOptions;
+import com.datastax.astra.client.collections.commands.options.CollectionFindOptions;
+import com.datastax.astra.client.collections.commands.options.CollectionReplaceOneOptions;
 import com.datastax.astra.client.collections.definition.documents.Document;
+import com.datastax.astra.client.core.paging.Page;
 import com.datastax.astra.client.core.query.Filter;
 import com.datastax.astra.client.core.query.Filters;
 import com.datastax.astra.client.databases.Database;
+import com.interactive.admission.AdmissionRejectedException;
+import com.interactive.model.PagedResult;
 import com.interactive.model.WordCloud;
+import com.interactive.model.WordSubmission;
 import com.interactive.repository.WordCloudRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Repository
+@Profile("!local")
 public class AstraWordCloudRepository implements WordCloudRepository {
     private static final Logger logger = LoggerFactory.getLogger(AstraWordCloudRepository.class);
     private static final String COLLECTION_NAME = "word_clouds";
+    private static final String SUBMISSIONS_COLLECTION_NAME = "word_submissions";
+    private static final Set<String> UPDATABLE_FIELDS = Set.of("prompt", "wordFrequencies", "active");
 
     private final Collection<Document> collection;
+    private final Collection<Document> submissionsCollection;
+    private final AstraOperations operations;
 
     @Autowired
-    public AstraWordCloudRepository(Database database) {
+    public AstraWordCloudRepository(Database database, AstraOperations operations) {
         this.collection = database.getCollection(COLLECTION_NAME);
+        this.submissionsCollection = database.getCollection(SUBMISSIONS_COLLECTION_NAME);
+        this.operations = operations;
     }
 
     @Override
@@ -37,22 +57,91 @@ public class AstraWordCloudRepository implements WordCloudRepository {
                 .append("presentationId", wordCloud.getPresentationId().toString())
                 .append("prompt", wordCloud.getPrompt())
                 .append("wordFrequencies", wordCloud.getWordFrequencies())
-                .append("active", wordCloud.isActive());
+                .append("active", wordCloud.isActive())
+                .append("createdAt", wordCloud.getCreatedAt().toString());
             
-            collection.insertOne(doc);
-            logger.info("Saved word cloud with id: {}", wordCloud.getId());
+            operations.run(COLLECTION_NAME, "replaceOne", () -> collection.replaceOne(
+                Filters.eq("_id", wordCloud.getId().toString()), doc,
+                new CollectionReplaceOneOptions().upsert(true)));
+            operations.recordPayload(COLLECTION_NAME, "replaceOne", doc);
+            logger.debug("Saved word cloud with id: {}", wordCloud.getId());
             return wordCloud;
+        } catch (AdmissionRejectedException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error saving word cloud: {}", e.getMessage());
             throw new RuntimeException("Failed to save word cloud", e);
         }
     }
 
+    @Override
+    public Optional<WordCloud> updateFields(UUID id, Map<String, Object> fields) {
+        try {
+            Filter filter = Filters.eq("_id", id.toString());
+            Update update = AstraUpdates.set(fields, UPDATABLE_FIELDS);
+            return operations.call(COLLECTION_NAME, "findOneAndUpdate", () -> collection.findOneAndUpdate(
+                    filter, update, new CollectionFindOneAndUpdateOptions().returnDocumentAfter()))
+                .map(this::documentToWordCloud);
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (AdmissionRejectedException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error updating word cloud: {}", e.getMessage());
+            throw new RuntimeException("Failed to update word cloud", e);
+        }
+    }
+
+    @Override
+    public Optional<WordCloud> updateActive(UUID id, boolean active) {
+        try {
+            // Matching on the opposite state makes the transition happen at most once.
+            Filter filter = Filters.and(Filters.eq("_id", id.toString()), Filters.eq("active", !active));
+            Update update = AstraUpdates.set(Map.of("active", active), UPDATABLE_FIELDS);
+            return operations.call(COLLECTION_NAME, "findOneAndUpdate", () -> collection.findOneAndUpdate(
+                    filter, update, new CollectionFindOneAndUpdateOptions().returnDocumentAfter()))
+                .map(this::documentToWordCloud);
+        } catch (AdmissionRejectedException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error updating word cloud state: {}", e.getMessage());
+            throw new RuntimeException("Failed to update word cloud state", e);
+        }
+    }
+
+    @Override
+    public void incrementWordFrequencies(UUID id, Map<String, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        try {
+            Map<String, Long> fieldDeltas = new HashMap<>();
+            deltas.forEach((word, delta) -> {
+                String key = AstraUpdates.fieldSafe(word);
+                if (!key.isEmpty()) {
+                    fieldDeltas.merge(key, delta, Long::sum);
+                }
+            });
+            Update update = AstraUpdates.inc("wordFrequencies", fieldDeltas);
+            operations.run(COLLECTION_NAME, "updateOne",
+                () -> collection.updateOne(Filters.eq("_id", id.toString()), update));
+        } catch (AdmissionRejectedException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error incrementing word frequencies: {}", e.getMessage());
+            throw new RuntimeException("Failed to increment word frequencies", e);
+        }
+    }
+
     @Override
     public Optional<WordCloud> findById(UUID id) {
         try {
             Filter filter = Filters.eq("_id", id.toString());
-            return collection.findOne(filter).map(this::documentToWordCloud);
+            Optional<Document> doc = operations.read(COLLECTION_NAME, "findOne", () -> collection.findOne(filter));
+            operations.recordDocuments(COLLECTION_NAME, "findOne", doc.isPresent() ? 1 : 0);
+            return doc.map(this::documentToWordCloud);
+        } catch (AdmissionRejectedException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error finding word cloud: {}", e.getMessage());
             return Optional.empty();
@@ -64,10 +153,13 @@ public class AstraWordCloudRepository implements WordCloudRepository {
         try {
             Filter filter = Filters.eq("presentationId", presentationId.toString());
             List<WordCloud> wordClouds = new ArrayList<>();
-            collection.find(filter).forEach(doc -> 
+            operations.run(COLLECTION_NAME, "find", () -> collection.find(filter).forEach(doc ->
                 wordClouds.add(documentToWordCloud(doc))
-            );
+            ));
+            operations.recordDocuments(COLLECTION_NAME, "find", wordClouds.size());
             return wordClouds;
+        } catch (AdmissionRejectedException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error finding word clouds by presentation: {}", e.getMessage());
             return new ArrayList<>();
@@ -78,14 +170,82 @@ public class AstraWordCloudRepository implements WordCloudRepository {
     public void deleteById(UUID id) {
         try {
             Filter filter = Filters.eq("_id", id.toString());
-            collection.deleteOne(filter);
-            logger.info("Deleted word cloud with id: {}", id);
+            operations.run(COLLECTION_NAME, "deleteOne", () -> collection.deleteOne(filter));
+            logger.debug("Deleted word cloud with id: {}", id);
+        } catch (AdmissionRejectedException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error deleting word cloud: {}", e.getMessage());
             throw new RuntimeException("Failed to delete word cloud", e);
         }
     }
 
+    @Override
+    public void saveSubmissions(List<WordSubmission> submissions) {
+        if (submissions.isEmpty()) {
+            return;
+        }
+        try {
+            List<Document> docs = new ArrayList<>(submissions.size());
+            for (WordSubmission submission : submissions) {
+                docs.add(new Document()
+                    .append("_id", submission.getId().toString())
+                    .append("wordCloudId", submission.getWordCloudId().toString())
+                    .append("word", submission.getWord())
+                    .append("createdAt", submission.getCreatedAt().toString()));
+            }
+            operations.run(SUBMISSIONS_COLLECTION_NAME, "insertMany", () -> submissionsCollection.insertMany(docs));
+            operations.recordDocuments(SUBMISSIONS_COLLECTION_NAME, "insertMany", docs.size());
+            operations.recordPayload(SUBMISSIONS_COLLECTION_NAME, "insertMany", docs);
+            logger.debug("Saved batch of {} word submissions", docs.size());
+        } catch (AdmissionRejectedException e) {
+            throw e;
+        } catch (Exception e) {
+            if (AstraOperations.alreadyInserted(e)) {
+                // A retry of a batch whose first attempt was stored.
+                logger.debug("Batch of {} word submissions was already saved", submissions.size());
+                return;
+            }
+            logger.error("Error saving word submissions: {}", e.getMessage());
+            throw new RuntimeException("Failed to save word submissions", e);
+        }
+    }
+
+    @Override
+    public PagedResult<WordSubmission> findSubmissionPage(UUID wordCloudId, String pageState, int limit) {
+        try {
+            Filter filter = Filters.eq("wordCloudId", wordCloudId.toString());
+            List<WordSubmission> submissions = new ArrayList<>();
+            String nextPageState = pageState;
+            do {
+                CollectionFindOptions options = new CollectionFindOptions();
+                if (nextPageState != null) {
+                    options.pageState(nextPageState);
+                }
+                Page<Document> page = operations.read(SUBMISSIONS_COLLECTION_NAME, "findPage",
+                    () -> submissionsCollection.findPage(filter, options));
+                operations.recordDocuments(SUBMISSIONS_COLLECTION_NAME, "findPage", page.getResults().size());
+                page.getResults().forEach(doc -> submissions.add(documentToSubmission(doc)));
+                nextPageState = page.getPageState().orElse(null);
+            } while (nextPageState != null && submissions.size() < limit);
+            return new PagedResult<>(submissions, nextPageState);
+        } catch (AdmissionRejectedException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error finding word submission page: {}", e.getMessage());
+            throw new RuntimeException("Failed to find word submissions", e);
+        }
+    }
+
+    private WordSubmission documentToSubmission(Document doc) {
+        WordSubmission submission = new WordSubmission();
+        submission.setId(UUID.fromString(doc.getString("_id")));
+        submission.setWordCloudId(UUID.fromString(doc.getString("wordCloudId")));
+        submission.setWord(doc.getString("word"));
+        submission.setCreatedAt(LocalDateTime.parse(doc.getString("createdAt")));
+        return submission;
+    }
+
     private WordCloud documentToWordCloud(Document doc) {
         WordCloud wordCloud = new WordCloud();
         wordCloud.setId(UUID.fromString(doc.getString("_id")));
@@ -93,6 +253,8 @@ public class AstraWordCloudRepository implements WordCloudRepository {
         wordCloud.setPrompt(doc.getString("prompt"));
         wordCloud.setWordFrequencies(doc.getMap("wordFrequencies", String.class, Integer.class));
         wordCloud.setActive(doc.getBoolean("active"));
+        // Clouds saved before createdAt was stored sort ahead of everything else.
+        wordCloud.setCreatedAt(doc.containsKey("createdAt") ? LocalDateTime.parse(doc.getString("createdAt")) : null);
         return wordCloud;
     }
 } 
\ No newline at end of file
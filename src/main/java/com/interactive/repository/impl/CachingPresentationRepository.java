@@ -0,0 +1,199 @@
+package com.interactive.repository.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.interactive.model.PagedResult;
+import com.interactive.model.Presentation;
+import com.interactive.repository.PresentationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache in front of the presentation store (Astra, or the embedded
+ * store under the {@code local} profile). Single presentation lookups by id or
+ * access code are served from memory once warm; list queries always go to the
+ * underlying store.
+ */
+@Repository
+@Primary
+public class CachingPresentationRepository implements PresentationRepository {
+    private final PresentationRepository delegate;
+    private final Cache<UUID, Presentation> presentations;
+    private final Cache<String, UUID> accessCodes;
+
+    @Autowired
+    public CachingPresentationRepository(@Qualifier("presentationStore") PresentationRepository delegate,
+                                         @Value("${presentation-cache.max-size:10000}") long maxSize,
+                                         @Value("${presentation-cache.ttl-seconds:30}") long ttlSeconds) {
+        this.delegate = delegate;
+        this.presentations = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .recordStats()
+            .build();
+        this.accessCodes = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .build();
+    }
+
+    @Override
+    public Presentation save(Presentation presentation) {
+        try {
+            return delegate.save(presentation);
+        } finally {
+            invalidate(presentation.getId());
+        }
+    }
+
+    @Override
+    public Presentation updateFields(UUID id, Map<String, Object> fields) {
+        return refresh(id, () -> delegate.updateFields(id, fields));
+    }
+
+    @Override
+    public Presentation updateActive(UUID id, boolean active, LocalDateTime endedAt) {
+        return refresh(id, () -> delegate.updateActive(id, active, endedAt));
+    }
+
+    // Concurrent misses for one id or access code wait on a single load. The
+    // loaders only record what they read; the other cache is filled once the
+    // load is done, so neither cache is written from inside the other's.
+    @Override
+    public Presentation findById(UUID id) {
+        Presentation[] loaded = new Presentation[1];
+        Presentation presentation = presentations.get(id, key -> loaded[0] = delegate.findById(key));
+        if (loaded[0] != null && loaded[0].getAccessCode() != null) {
+            accessCodes.put(loaded[0].getAccessCode(), id);
+        }
+        return presentation;
+    }
+
+    @Override
+    public Presentation findByAccessCode(String accessCode) {
+        Presentation[] loaded = new Presentation[1];
+        UUID id = accessCodes.get(accessCode, code -> {
+            loaded[0] = delegate.findByAccessCode(code);
+            return loaded[0] != null ? loaded[0].getId() : null;
+        });
+        if (loaded[0] != null) {
+            presentations.put(loaded[0].getId(), loaded[0]);
+            return loaded[0];
+        }
+        if (id == null) {
+            return null;
+        }
+        Presentation cached = findById(id);
+        if (cached != null && accessCode.equals(cached.getAccessCode())) {
+            return cached;
+        }
+        // The code now belongs to another presentation, or none.
+        accessCodes.invalidate(accessCode);
+        Presentation current = delegate.findByAccessCode(accessCode);
+        if (current != null) {
+            remember(current);
+        }
+        return current;
+    }
+
+    @Override
+    public void deleteById(UUID id) {
+        try {
+            delegate.deleteById(id);
+        } finally {
+            invalidate(id);
+        }
+    }
+
+    @Override
+    public List<Presentation> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Presentation> findByActive(boolean active) {
+        return delegate.findByActive(active);
+    }
+
+    @Override
+    public List<Presentation> findByPresenterId(String presenterId) {
+        return delegate.findByPresenterId(presenterId);
+    }
+
+    @Override
+    public PagedResult<Presentation> findAll(String pageState, int limit) {
+        return delegate.findAll(pageState, limit);
+    }
+
+    @Override
+    public PagedResult<Presentation> findByActive(boolean active, String pageState, int limit) {
+        return delegate.findByActive(active, pageState, limit);
+    }
+
+    @Override
+    public PagedResult<Presentation> findByPresenterId(String presenterId, String pageState, int limit) {
+        return delegate.findByPresenterId(presenterId, pageState, limit);
+    }
+
+    @Override
+    public void streamAll(Consumer<Presentation> consumer) {
+        delegate.streamAll(consumer);
+    }
+
+    @Override
+    public void streamByActive(boolean active, Consumer<Presentation> consumer) {
+        delegate.streamByActive(active, consumer);
+    }
+
+    @Override
+    public void streamByPresenterId(String presenterId, Consumer<Presentation> consumer) {
+        delegate.streamByPresenterId(presenterId, consumer);
+    }
+
+    public void invalidate(UUID id) {
+        if (id == null) {
+            return;
+        }
+        Presentation cached = presentations.getIfPresent(id);
+        if (cached != null && cached.getAccessCode() != null) {
+            accessCodes.invalidate(cached.getAccessCode());
+        }
+        presentations.invalidate(id);
+    }
+
+    public CacheStats stats() {
+        return presentations.stats();
+    }
+
+    private Presentation refresh(UUID id, Supplier<Presentation> update) {
+        Presentation updated;
+        try {
+            updated = update.get();
+        } finally {
+            invalidate(id);
+        }
+        if (updated != null) {
+            remember(updated);
+        }
+        return updated;
+    }
+
+    private void remember(Presentation presentation) {
+        presentations.put(presentation.getId(), presentation);
+        if (presentation.getAccessCode() != null) {
+            accessCodes.put(presentation.getAccessCode(), presentation.getId());
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.interactive.repository.impl;
+
+import com.interactive.model.PollQuestion;
+import com.interactive.repository.AsyncPollQuestionRepository;
+import com.interactive.repository.PollQuestionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+@Repository
+public class ExecutorAsyncPollQuestionRepository implements AsyncPollQuestionRepository {
+    private final PollQuestionRepository delegate;
+    private final ExecutorService executor;
+
+    @Autowired
+    public ExecutorAsyncPollQuestionRepository(PollQuestionRepository delegate,
+            @Qualifier("astraExecutor") ExecutorService executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletableFuture<PollQuestion> save(PollQuestion pollQuestion) {
+        return CompletableFuture.supplyAsync(() -> delegate.save(pollQuestion), executor);
+    }
+
+    @Override
+    public CompletableFuture<Optional<PollQuestion>> updateFields(UUID id, Map<String, Object> fields) {
+        return CompletableFuture.supplyAsync(() -> delegate.updateFields(id, fields), executor);
+    }
+
+    @Override
+    public CompletableFuture<Optional<PollQuestion>> updateActive(UUID id, boolean active) {
+        return CompletableFuture.supplyAsync(() -> delegate.updateActive(id, active), executor);
+    }
+
+    @Override
+    public CompletableFuture<Void> incrementVotes(UUID id, Map<Integer, Long> deltas) {
+        return CompletableFuture.runAsync(() -> delegate.incrementVotes(id, deltas), executor);
+    }
+
+    @Override
+    public CompletableFuture<Optional<PollQuestion>> findById(UUID id) {
+        return CompletableFuture.supplyAsync(() -> delegate.findById(id), executor);
+    }
+
+    @Override
+    public CompletableFuture<List<PollQuestion>> findByPresentationId(UUID presentationId) {
+        return CompletableFuture.supplyAsync(() -> delegate.findByPresentationId(presentationId), executor);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteById(UUID id) {
+        return CompletableFuture.runAsync(() -> delegate.deleteById(id), executor);
+    }
+}
@@ -0,0 +1,89 @@
+package com.interactive.repository.impl;
+
+import com.interactive.model.PagedResult;
+import com.interactive.model.Presentation;
+import com.interactive.repository.AsyncPresentationRepository;
+import com.interactive.repository.PresentationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+@Repository
+public class ExecutorAsyncPresentationRepository implements AsyncPresentationRepository {
+    private final PresentationRepository delegate;
+    private final ExecutorService executor;
+
+    @Autowired
+    public ExecutorAsyncPresentationRepository(PresentationRepository delegate,
+            @Qualifier("astraExecutor") ExecutorService executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletableFuture<Presentation> save(Presentation presentation) {
+        return CompletableFuture.supplyAsync(() -> delegate.save(presentation), executor);
+    }
+
+    @Override
+    public CompletableFuture<Presentation> updateFields(UUID id, Map<String, Object> fields) {
+        return CompletableFuture.supplyAsync(() -> delegate.updateFields(id, fields), executor);
+    }
+
+    @Override
+    public CompletableFuture<Presentation> updateActive(UUID id, boolean active, LocalDateTime endedAt) {
+        return CompletableFuture.supplyAsync(() -> delegate.updateActive(id, active, endedAt), executor);
+    }
+
+    @Override
+    public CompletableFuture<Presentation> findById(UUID id) {
+        return CompletableFuture.supplyAsync(() -> delegate.findById(id), executor);
+    }
+
+    @Override
+    public CompletableFuture<Presentation> findByAccessCode(String accessCode) {
+        return CompletableFuture.supplyAsync(() -> delegate.findByAccessCode(accessCode), executor);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteById(UUID id) {
+        return CompletableFuture.runAsync(() -> delegate.deleteById(id), executor);
+    }
+
+    @Override
+    public CompletableFuture<List<Presentation>> findAll() {
+        return CompletableFuture.supplyAsync(() -> delegate.findAll(), executor);
+    }
+
+    @Override
+    public CompletableFuture<List<Presentation>> findByActive(boolean active) {
+        return CompletableFuture.supplyAsync(() -> delegate.findByActive(active), executor);
+    }
+
+    @Override
+    public CompletableFuture<List<Presentation>> findByPresenterId(String presenterId) {
+        return CompletableFuture.supplyAsync(() -> delegate.findByPresenterId(presenterId), executor);
+    }
+
+    @Override
+    public CompletableFuture<PagedResult<Presentation>> findAll(String pageState, int limit) {
+        return CompletableFuture.supplyAsync(() -> delegate.findAll(pageState, limit), executor);
+    }
+
+    @Override
+    public CompletableFuture<PagedResult<Presentation>> findByActive(boolean active, String pageState, int limit) {
+        return CompletableFuture.supplyAsync(() -> delegate.findByActive(active, pageState, limit), executor);
+    }
+
+    @Override
+    public CompletableFuture<PagedResult<Presentation>> findByPresenterId(String presenterId, String pageState, int limit) {
+        return CompletableFuture.supplyAsync(() -> delegate.findByPresenterId(presenterId, pageState, limit), executor);
+    }
+}
@@ -0,0 +1,58 @@
+package com.interactive.repository.impl;
+
+import com.interactive.model.Response;
+import com.interactive.repository.AsyncResponseRepository;
+import com.interactive.repository.ResponseRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+@Repository
+public class ExecutorAsyncResponseRepository implements AsyncResponseRepository {
+    private final ResponseRepository delegate;
+    private final ExecutorService executor;
+
+    @Autowired
+    public ExecutorAsyncResponseRepository(ResponseRepository delegate,
+            @Qualifier("astraExecutor") ExecutorService executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletableFuture<Response> save(Response response) {
+        return CompletableFuture.supplyAsync(() -> delegate.save(response), executor);
+    }
+
+    @Override
+    public CompletableFuture<Void> saveAll(List<Response> responses) {
+        return CompletableFuture.runAsync(() -> delegate.saveAll(responses), executor);
+    }
+
+    @Override
+    public CompletableFuture<Optional<Response>> updateFields(UUID id, Map<String, Object> fields) {
+        return CompletableFuture.supplyAsync(() -> delegate.updateFields(id, fields), executor);
+    }
+
+    @Override
+    public CompletableFuture<Optional<Response>> findById(UUID id) {
+        return CompletableFuture.supplyAsync(() -> delegate.findById(id), executor);
+    }
+
+    @Override
+    public CompletableFuture<List<Response>> findByPollQuestionId(UUID pollQuestionId) {
+        return CompletableFuture.supplyAsync(() -> delegate.findByPollQuestionId(pollQuestionId), executor);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteById(UUID id) {
+        return CompletableFuture.runAsync(() -> delegate.deleteById(id), executor);
+    }
+}
@@ -0,0 +1,69 @@
+package com.interactive.repository.impl;
+
+import com.interactive.model.WordCloud;
+import com.interactive.model.WordSubmission;
+import com.interactive.repository.AsyncWordCloudRepository;
+import com.interactive.repository.WordCloudRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+@Repository
+public class ExecutorAsyncWordCloudRepository implements AsyncWordCloudRepository {
+    private final WordCloudRepository delegate;
+    private final ExecutorService executor;
+
+    @Autowired
+    public ExecutorAsyncWordCloudRepository(WordCloudRepository delegate,
+            @Qualifier("astraExecutor") ExecutorService executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletableFuture<WordCloud> save(WordCloud wordCloud) {
+        return CompletableFuture.supplyAsync(() -> delegate.save(wordCloud), executor);
+    }
+
+    @Override
+    public CompletableFuture<Optional<WordCloud>> updateFields(UUID id, Map<String, Object> fields) {
+        return CompletableFuture.supplyAsync(() -> delegate.updateFields(id, fields), executor);
+    }
+
+    @Override
+    public CompletableFuture<Optional<WordCloud>> updateActive(UUID id, boolean active) {
+        return CompletableFuture.supplyAsync(() -> delegate.updateActive(id, active), executor);
+    }
+
+    @Override
+    public CompletableFuture<Void> incrementWordFrequencies(UUID id, Map<String, Long> deltas) {
+        return CompletableFuture.runAsync(() -> delegate.incrementWordFrequencies(id, deltas), executor);
+    }
+
+    @Override
+    public CompletableFuture<Optional<WordCloud>> findById(UUID id) {
+        return CompletableFuture.supplyAsync(() -> delegate.findById(id), executor);
+    }
+
+    @Override
+    public CompletableFuture<List<WordCloud>> findByPresentationId(UUID presentationId) {
+        return CompletableFuture.supplyAsync(() -> delegate.findByPresentationId(presentationId), executor);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteById(UUID id) {
+        return CompletableFuture.runAsync(() -> delegate.deleteById(id), executor);
+    }
+
+    @Override
+    public CompletableFuture<Void> saveSubmissions(List<WordSubmission> submissions) {
+        return CompletableFuture.runAsync(() -> delegate.saveSubmissions(submissions), executor);
+    }
+}
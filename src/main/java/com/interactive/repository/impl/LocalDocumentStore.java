@@ -0,0 +1,286 @@
+package com.interactive.repository.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.interactive.model.PagedResult;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Embedded document store used by the {@code local} profile in place of Astra.
+ * Documents are kept in memory as JSON bytes, every change is appended to a
+ * {@link LocalSegmentLog} before it becomes visible, and the log is replayed
+ * on startup to rebuild the documents and their secondary indexes.
+ */
+@Component
+@Profile("local")
+public class LocalDocumentStore {
+    private static final Logger logger = LoggerFactory.getLogger(LocalDocumentStore.class);
+    private static final int LOCK_STRIPES = 64;
+    private static final Map<String, List<String>> INDEXED_FIELDS = Map.of(
+        "presentations", List.of("presenterId", "active", "accessCode"),
+        "poll_questions", List.of("presentationId"),
+        "responses", List.of("pollQuestionId"),
+        "word_clouds", List.of("presentationId"),
+        "word_submissions", List.of("wordCloudId"),
+        "rollups", List.of("subjectId"));
+
+    private final ObjectMapper objectMapper;
+    private final LocalSegmentLog log;
+    private final ConcurrentMap<String, ConcurrentSkipListMap<String, byte[]>> collections = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ConcurrentSkipListSet<String>> indexes = new ConcurrentHashMap<>();
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    @Autowired
+    public LocalDocumentStore(ObjectMapper objectMapper,
+                              @Value("${local-store.directory:data/local-store}") String directory,
+                              @Value("${local-store.segment-size-mb:64}") int segmentSizeMb,
+                              @Value("${local-store.sync-each-write:false}") boolean syncEachWrite) {
+        this.objectMapper = objectMapper;
+        this.log = new LocalSegmentLog(Path.of(directory), segmentSize(segmentSizeMb), syncEachWrite);
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    // FileChannel.map cannot map a region larger than Integer.MAX_VALUE bytes.
+    private static int segmentSize(int segmentSizeMb) {
+        long bytes = (long) segmentSizeMb * 1024 * 1024;
+        if (bytes <= 0 || bytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("local-store.segment-size-mb must be between 1 and "
+                + (Integer.MAX_VALUE / (1024 * 1024)) + ", was " + segmentSizeMb);
+        }
+        return (int) bytes;
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        log.open((op, collection, id, document) -> {
+            if (op == LocalSegmentLog.PUT) {
+                apply(collection, id, document);
+            } else if (op == LocalSegmentLog.DELETE) {
+                apply(collection, id, null);
+            }
+        });
+    }
+
+    // Records written to the mapped segments survive a process crash as soon as
+    // they are appended; forcing them protects against losing the OS page cache.
+    @Scheduled(fixedDelayString = "${local-store.sync-interval-ms:1000}")
+    public void sync() {
+        log.sync();
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        log.close();
+    }
+
+    public byte[] get(String collection, String id) {
+        return documents(collection).get(id);
+    }
+
+    public void put(String collection, String id, byte[] document) {
+        synchronized (lockFor(id)) {
+            log.append(LocalSegmentLog.PUT, collection, id, document);
+            apply(collection, id, document);
+        }
+    }
+
+    public boolean delete(String collection, String id) {
+        synchronized (lockFor(id)) {
+            if (!documents(collection).containsKey(id)) {
+                return false;
+            }
+            log.append(LocalSegmentLog.DELETE, collection, id, null);
+            apply(collection, id, null);
+            return true;
+        }
+    }
+
+    /**
+     * Atomically replaces a document with the result of {@code change}. Returns
+     * the new document, or null when it does not exist or {@code change}
+     * returns null to leave it untouched.
+     */
+    public byte[] update(String collection, String id, UnaryOperator<byte[]> change) {
+        return upsert(collection, id, current -> current != null ? change.apply(current) : null);
+    }
+
+    /**
+     * Like {@link #update}, but {@code change} is also called, with null, when
+     * the document does not exist yet, so it can be created atomically.
+     */
+    public byte[] upsert(String collection, String id, UnaryOperator<byte[]> change) {
+        synchronized (lockFor(id)) {
+            byte[] current = documents(collection).get(id);
+            byte[] updated = change.apply(current);
+            if (updated == null) {
+                return null;
+            }
+            log.append(LocalSegmentLog.PUT, collection, id, updated);
+            apply(collection, id, updated);
+            return updated;
+        }
+    }
+
+    /** Streams matching documents in id order; a null field matches every document. */
+    public void forEach(String collection, String field, String value, Consumer<byte[]> consumer) {
+        Map<String, byte[]> documents = documents(collection);
+        for (String id : candidates(collection, field, value)) {
+            byte[] document = documents.get(id);
+            if (document != null) {
+                consumer.accept(document);
+            }
+        }
+    }
+
+    public List<byte[]> find(String collection, String field, String value) {
+        List<byte[]> results = new ArrayList<>();
+        forEach(collection, field, value, results::add);
+        return results;
+    }
+
+    /**
+     * Returns up to {@code limit} matching documents after the id in
+     * {@code pageState}. The page state is the last id returned, so pages stay
+     * stable while documents are inserted concurrently.
+     */
+    public PagedResult<byte[]> page(String collection, String field, String value, String pageState, int limit) {
+        NavigableSet<String> ids = candidates(collection, field, value);
+        if (pageState != null) {
+            ids = ids.tailSet(pageState, false);
+        }
+        Map<String, byte[]> documents = documents(collection);
+        List<byte[]> results = new ArrayList<>();
+        String lastId = null;
+        for (String id : ids) {
+            if (results.size() == limit) {
+                return new PagedResult<>(results, lastId);
+            }
+            byte[] document = documents.get(id);
+            if (document != null) {
+                results.add(document);
+                lastId = id;
+            }
+        }
+        return new PagedResult<>(results, null);
+    }
+
+    public byte[] toBytes(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to serialize document", e);
+        }
+    }
+
+    public <T> T fromBytes(byte[] document, Class<T> type) {
+        try {
+            return objectMapper.readValue(document, type);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to deserialize document", e);
+        }
+    }
+
+    /** Applies a partial update, rejecting fields outside {@code updatable}. */
+    public byte[] setFields(byte[] document, Map<String, Object> fields, Set<String> updatable) {
+        for (String field : fields.keySet()) {
+            if (!updatable.contains(field)) {
+                throw new IllegalArgumentException("Field '" + field + "' cannot be updated");
+            }
+        }
+        try {
+            ObjectNode node = (ObjectNode) objectMapper.readTree(document);
+            fields.forEach((field, value) -> node.set(field, objectMapper.valueToTree(value)));
+            return objectMapper.writeValueAsBytes(node);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to update document", e);
+        }
+    }
+
+    private void apply(String collection, String id, byte[] document) {
+        ConcurrentSkipListMap<String, byte[]> documents = documents(collection);
+        byte[] previous = document != null ? documents.put(id, document) : documents.remove(id);
+        List<String> fields = INDEXED_FIELDS.getOrDefault(collection, List.of());
+        if (fields.isEmpty()) {
+            return;
+        }
+        JsonNode before = previous != null ? readIndexed(previous) : null;
+        JsonNode after = document != null ? readIndexed(document) : null;
+        for (String field : fields) {
+            String oldValue = indexValue(before, field);
+            String newValue = indexValue(after, field);
+            if (oldValue != null && !oldValue.equals(newValue)) {
+                index(collection, field, oldValue).remove(id);
+            }
+            if (newValue != null) {
+                index(collection, field, newValue).add(id);
+            }
+        }
+    }
+
+    private NavigableSet<String> candidates(String collection, String field, String value) {
+        if (field == null) {
+            return documents(collection).keySet();
+        }
+        ConcurrentSkipListSet<String> ids = indexes.get(indexKey(collection, field, value));
+        return ids != null ? ids : Collections.emptyNavigableSet();
+    }
+
+    private ConcurrentSkipListMap<String, byte[]> documents(String collection) {
+        return collections.computeIfAbsent(collection, name -> new ConcurrentSkipListMap<>());
+    }
+
+    private ConcurrentSkipListSet<String> index(String collection, String field, String value) {
+        return indexes.computeIfAbsent(indexKey(collection, field, value), key -> new ConcurrentSkipListSet<>());
+    }
+
+    private JsonNode readIndexed(byte[] document) {
+        try {
+            return objectMapper.readTree(document);
+        } catch (IOException e) {
+            logger.warn("Skipping index update for unreadable document: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private Object lockFor(String id) {
+        return locks[Math.floorMod(id.hashCode(), LOCK_STRIPES)];
+    }
+
+    private static String indexValue(JsonNode document, String field) {
+        if (document == null) {
+            return null;
+        }
+        JsonNode value = document.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private static String indexKey(String collection, String field, String value) {
+        return collection + '\u0000' + field + '\u0000' + value;
+    }
+}
@@ -0,0 +1,113 @@
+package com.interactive.repository.impl;
+
+import com.interactive.model.PollQuestion;
+import com.interactive.repository.PollQuestionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+@Repository
+@Profile("local")
+public class LocalPollQuestionRepository implements PollQuestionRepository {
+    private static final Logger logger = LoggerFactory.getLogger(LocalPollQuestionRepository.class);
+    private static final String COLLECTION_NAME = "poll_questions";
+    private static final Set<String> UPDATABLE_FIELDS = Set.of("question", "options", "active");
+
+    private final LocalDocumentStore store;
+
+    @Autowired
+    public LocalPollQuestionRepository(LocalDocumentStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public PollQuestion save(PollQuestion pollQuestion) {
+        try {
+            if (pollQuestion.getId() == null) {
+                pollQuestion.setId(UUID.randomUUID());
+            }
+            store.put(COLLECTION_NAME, pollQuestion.getId().toString(), store.toBytes(pollQuestion));
+            logger.debug("Saved poll question with id: {}", pollQuestion.getId());
+            return pollQuestion;
+        } catch (Exception e) {
+            logger.error("Error saving poll question: {}", e.getMessage());
+            throw new RuntimeException("Failed to save poll question", e);
+        }
+    }
+
+    @Override
+    public Optional<PollQuestion> updateFields(UUID id, Map<String, Object> fields) {
+        byte[] updated = store.update(COLLECTION_NAME, id.toString(),
+            document -> store.setFields(document, fields, UPDATABLE_FIELDS));
+        return Optional.ofNullable(updated).map(document -> store.fromBytes(document, PollQuestion.class));
+    }
+
+    @Override
+    public Optional<PollQuestion> updateActive(UUID id, boolean active) {
+        byte[] updated = store.update(COLLECTION_NAME, id.toString(), document ->
+            store.fromBytes(document, PollQuestion.class).isActive() == active
+                ? null
+                : store.setFields(document, Map.of("active", active), UPDATABLE_FIELDS));
+        return Optional.ofNullable(updated).map(document -> store.fromBytes(document, PollQuestion.class));
+    }
+
+    @Override
+    public void incrementVotes(UUID id, Map<Integer, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        try {
+            store.update(COLLECTION_NAME, id.toString(), document -> {
+                PollQuestion question = store.fromBytes(document, PollQuestion.class);
+                List<Integer> votes = new ArrayList<>(question.getVotes());
+                while (votes.size() < question.getOptions().size()) {
+                    votes.add(0);
+                }
+                deltas.forEach((option, delta) -> {
+                    if (option >= 0 && option < votes.size()) {
+                        votes.set(option, (int) (votes.get(option) + delta));
+                    }
+                });
+                question.setVotes(votes);
+                return store.toBytes(question);
+            });
+        } catch (Exception e) {
+            logger.error("Error incrementing votes for poll question: {}", e.getMessage());
+            throw new RuntimeException("Failed to increment votes", e);
+        }
+    }
+
+    @Override
+    public Optional<PollQuestion> findById(UUID id) {
+        return Optional.ofNullable(store.get(COLLECTION_NAME, id.toString()))
+            .map(document -> store.fromBytes(document, PollQuestion.class));
+    }
+
+    @Override
+    public List<PollQuestion> findByPresentationId(UUID presentationId) {
+        List<PollQuestion> questions = new ArrayList<>();
+        store.forEach(COLLECTION_NAME, "presentationId", presentationId.toString(),
+            document -> questions.add(store.fromBytes(document, PollQuestion.class)));
+        return questions;
+    }
+
+    @Override
+    public void deleteById(UUID id) {
+        try {
+            store.delete(COLLECTION_NAME, id.toString());
+            logger.debug("Deleted poll question with id: {}", id);
+        } catch (Exception e) {
+            logger.error("Error deleting poll question: {}", e.getMessage());
+            throw new RuntimeException("Failed to delete poll question", e);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.interactive.repository.impl;
+
+import com.interactive.model.PagedResult;
+import com.interactive.model.Presentation;
+import com.interactive.repository.PresentationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+@Repository
+@Profile("local")
+@Qualifier("presentationStore")
+public class LocalPresentationRepository implements PresentationRepository {
+    private static final Logger logger = LoggerFactory.getLogger(LocalPresentationRepository.class);
+    private static final String COLLECTION_NAME = "presentations";
+    private static final Set<String> UPDATABLE_FIELDS = Set.of(
+        "title", "description", "accessCode", "presenterId", "active", "endedAt", "currentSlideIndex");
+
+    private final LocalDocumentStore store;
+
+    @Autowired
+    public LocalPresentationRepository(LocalDocumentStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public Presentation save(Presentation presentation) {
+        try {
+            if (presentation.getId() == null) {
+                presentation.setId(UUID.randomUUID());
+            }
+            store.put(COLLECTION_NAME, presentation.getId().toString(), store.toBytes(presentation));
+            logger.debug("Saved presentation with id: {}", presentation.getId());
+            return presentation;
+        } catch (Exception e) {
+            logger.error("Error saving presentation: {}", e.getMessage());
+            throw new RuntimeException("Failed to save presentation", e);
+        }
+    }
+
+    @Override
+    public Presentation updateFields(UUID id, Map<String, Object> fields) {
+        byte[] updated = store.update(COLLECTION_NAME, id.toString(),
+            document -> store.setFields(document, fields, UPDATABLE_FIELDS));
+        return updated != null ? store.fromBytes(updated, Presentation.class) : null;
+    }
+
+    @Override
+    public Presentation updateActive(UUID id, boolean active, LocalDateTime endedAt) {
+        Map<String, Object> fields = new HashMap<>();
+        fields.put("active", active);
+        if (endedAt != null) {
+            fields.put("endedAt", endedAt);
+        }
+        byte[] updated = store.update(COLLECTION_NAME, id.toString(), document ->
+            store.fromBytes(document, Presentation.class).isActive() == active
+                ? null
+                : store.setFields(document, fields, UPDATABLE_FIELDS));
+        return updated != null ? store.fromBytes(updated, Presentation.class) : null;
+    }
+
+    @Override
+    public Presentation findById(UUID id) {
+        byte[] document = store.get(COLLECTION_NAME, id.toString());
+        return document != null ? store.fromBytes(document, Presentation.class) : null;
+    }
+
+    @Override
+    public Presentation findByAccessCode(String accessCode) {
+        List<byte[]> documents = store.find(COLLECTION_NAME, "accessCode", accessCode);
+        return documents.isEmpty() ? null : store.fromBytes(documents.get(0), Presentation.class);
+    }
+
+    @Override
+    public void deleteById(UUID id) {
+        try {
+            store.delete(COLLECTION_NAME, id.toString());
+            logger.debug("Deleted presentation with id: {}", id);
+        } catch (Exception e) {
+            logger.error("Error deleting presentation: {}", e.getMessage());
+            throw new RuntimeException("Failed to delete presentation", e);
+        }
+    }
+
+    @Override
+    public List<Presentation> findAll() {
+        List<Presentation> presentations = new ArrayList<>();
+        streamAll(presentations::add);
+        return presentations;
+    }
+
+    @Override
+    public List<Presentation> findByActive(boolean active) {
+        List<Presentation> presentations = new ArrayList<>();
+        streamByActive(active, presentations::add);
+        return presentations;
+    }
+
+    @Override
+    public List<Presentation> findByPresenterId(String presenterId) {
+        List<Presentation> presentations = new ArrayList<>();
+        streamByPresenterId(presenterId, presentations::add);
+        return presentations;
+    }
+
+    @Override
+    public PagedResult<Presentation> findAll(String pageState, int limit) {
+        return findPage(null, null, pageState, limit);
+    }
+
+    @Override
+    public PagedResult<Presentation> findByActive(boolean active, String pageState, int limit) {
+        return findPage("active", String.valueOf(active), pageState, limit);
+    }
+
+    @Override
+    public PagedResult<Presentation> findByPresenterId(String presenterId, String pageState, int limit) {
+        return findPage("presenterId", presenterId, pageState, limit);
+    }
+
+    @Override
+    public void streamAll(Consumer<Presentation> consumer) {
+        stream(null, null, consumer);
+    }
+
+    @Override
+    public void streamByActive(boolean active, Consumer<Presentation> consumer) {
+        stream("active", String.valueOf(active), consumer);
+    }
+
+    @Override
+    public void streamByPresenterId(String presenterId, Consumer<Presentation> consumer) {
+        stream("presenterId", presenterId, consumer);
+    }
+
+    private PagedResult<Presentation> findPage(String field, String value, String pageState, int limit) {
+        PagedResult<byte[]> page = store.page(COLLECTION_NAME, field, value, pageState, limit);
+        List<Presentation> presentations = new ArrayList<>(page.getItems().size());
+        page.getItems().forEach(document -> presentations.add(store.fromBytes(document, Presentation.class)));
+        return new PagedResult<>(presentations, page.getNextPageState());
+    }
+
+    private void stream(String field, String value, Consumer<Presentation> consumer) {
+        store.forEach(COLLECTION_NAME, field, value,
+            document -> consumer.accept(store.fromBytes(document, Presentation.class)));
+    }
+}
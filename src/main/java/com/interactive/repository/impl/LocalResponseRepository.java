@@ -0,0 +1,98 @@
+package com.interactive.repository.impl;
+
+import com.interactive.model.PagedResult;
+import com.interactive.model.Response;
+import com.interactive.repository.ResponseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+@Repository
+@Profile("local")
+public class LocalResponseRepository implements ResponseRepository {
+    private static final Logger logger = LoggerFactory.getLogger(LocalResponseRepository.class);
+    private static final String COLLECTION_NAME = "responses";
+    private static final Set<String> UPDATABLE_FIELDS = Set.of("selectedOption");
+
+    private final LocalDocumentStore store;
+
+    @Autowired
+    public LocalResponseRepository(LocalDocumentStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public Response save(Response response) {
+        try {
+            store.put(COLLECTION_NAME, response.getId().toString(), store.toBytes(response));
+            logger.debug("Saved response with id: {}", response.getId());
+            return response;
+        } catch (Exception e) {
+            logger.error("Error saving response: {}", e.getMessage());
+            throw new RuntimeException("Failed to save response", e);
+        }
+    }
+
+    @Override
+    public void saveAll(List<Response> responses) {
+        try {
+            for (Response response : responses) {
+                store.put(COLLECTION_NAME, response.getId().toString(), store.toBytes(response));
+            }
+            logger.debug("Saved batch of {} responses", responses.size());
+        } catch (Exception e) {
+            logger.error("Error saving response batch: {}", e.getMessage());
+            throw new RuntimeException("Failed to save responses", e);
+        }
+    }
+
+    @Override
+    public Optional<Response> updateFields(UUID id, Map<String, Object> fields) {
+        byte[] updated = store.update(COLLECTION_NAME, id.toString(),
+            document -> store.setFields(document, fields, UPDATABLE_FIELDS));
+        return Optional.ofNullable(updated).map(document -> store.fromBytes(document, Response.class));
+    }
+
+    @Override
+    public Optional<Response> findById(UUID id) {
+        return Optional.ofNullable(store.get(COLLECTION_NAME, id.toString()))
+            .map(document -> store.fromBytes(document, Response.class));
+    }
+
+    @Override
+    public List<Response> findByPollQuestionId(UUID pollQuestionId) {
+        List<Response> responses = new ArrayList<>();
+        store.forEach(COLLECTION_NAME, "pollQuestionId", pollQuestionId.toString(),
+            document -> responses.add(store.fromBytes(document, Response.class)));
+        return responses;
+    }
+
+    @Override
+    public PagedResult<Response> findPageByPollQuestionId(UUID pollQuestionId, String pageState, int limit) {
+        PagedResult<byte[]> page = store.page(COLLECTION_NAME, "pollQuestionId", pollQuestionId.toString(),
+            pageState, limit);
+        List<Response> responses = new ArrayList<>(page.getItems().size());
+        page.getItems().forEach(document -> responses.add(store.fromBytes(document, Response.class)));
+        return new PagedResult<>(responses, page.getNextPageState());
+    }
+
+    @Override
+    public void deleteById(UUID id) {
+        try {
+            store.delete(COLLECTION_NAME, id.toString());
+            logger.debug("Deleted response with id: {}", id);
+        } catch (Exception e) {
+            logger.error("Error deleting response: {}", e.getMessage());
+            throw new RuntimeException("Failed to delete response", e);
+        }
+    }
+}
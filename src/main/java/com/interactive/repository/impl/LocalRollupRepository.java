@@ -0,0 +1,72 @@
+package com.interactive.repository.impl;
+
+import com.interactive.model.Rollup;
+import com.interactive.repository.RollupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Repository
+@Profile("local")
+public class LocalRollupRepository implements RollupRepository {
+    private static final Logger logger = LoggerFactory.getLogger(LocalRollupRepository.class);
+    private static final String COLLECTION_NAME = "rollups";
+
+    private final LocalDocumentStore store;
+
+    @Autowired
+    public LocalRollupRepository(LocalDocumentStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public void increment(Rollup deltas) {
+        try {
+            store.upsert(COLLECTION_NAME, deltas.getId(), document -> {
+                Rollup rollup = document != null ? store.fromBytes(document, Rollup.class) : copyOf(deltas);
+                if (document != null) {
+                    deltas.getPoints().forEach((slot, counts) -> {
+                        Map<String, Long> stored = rollup.getPoints().computeIfAbsent(slot, s -> new HashMap<>());
+                        counts.forEach((option, delta) -> stored.merge(option, delta, Long::sum));
+                    });
+                }
+                return store.toBytes(rollup);
+            });
+        } catch (Exception e) {
+            logger.error("Error incrementing rollup: {}", e.getMessage());
+            throw new RuntimeException("Failed to increment rollup", e);
+        }
+    }
+
+    @Override
+    public List<Rollup> findBySubject(UUID subjectId, String tier, long from, long to) {
+        List<Rollup> rollups = new ArrayList<>();
+        store.forEach(COLLECTION_NAME, "subjectId", subjectId.toString(), document -> {
+            Rollup rollup = store.fromBytes(document, Rollup.class);
+            if (tier.equals(rollup.getTier()) && rollup.getStart() >= from && rollup.getStart() <= to) {
+                rollups.add(rollup);
+            }
+        });
+        return rollups;
+    }
+
+    private static Rollup copyOf(Rollup deltas) {
+        Rollup rollup = new Rollup();
+        rollup.setId(deltas.getId());
+        rollup.setSubjectId(deltas.getSubjectId());
+        rollup.setKind(deltas.getKind());
+        rollup.setTier(deltas.getTier());
+        rollup.setStart(deltas.getStart());
+        rollup.setStep(deltas.getStep());
+        deltas.getPoints().forEach((slot, counts) -> rollup.getPoints().put(slot, new HashMap<>(counts)));
+        return rollup;
+    }
+}
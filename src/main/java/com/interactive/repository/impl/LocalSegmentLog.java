@@ -0,0 +1,232 @@
+package com.interactive.repository.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only record log stored in fixed-size memory-mapped segment files.
+ *
+ * <p>Each record is written as {@code length, crc32, payload}. Segments are
+ * zero-filled when created, so a zero length marks the end of the written
+ * region. On open every segment is replayed in order; a record that is
+ * truncated or fails its checksum in the last segment is treated as the torn
+ * tail of an interrupted write and everything after it is discarded. Earlier
+ * segments were forced to disk before the next one was started, so a bad
+ * record in one of them is corruption rather than a torn write, and opening
+ * fails instead of replaying later writes on top of lost ones.
+ */
+class LocalSegmentLog implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(LocalSegmentLog.class);
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int HEADER_BYTES = 8;
+
+    static final byte PUT = 1;
+    static final byte DELETE = 2;
+
+    interface RecordHandler {
+        void apply(byte op, String collection, String id, byte[] document);
+    }
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean syncEachWrite;
+    private int segmentIndex;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+
+    LocalSegmentLog(Path directory, int segmentSize, boolean syncEachWrite) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.syncEachWrite = syncEachWrite;
+    }
+
+    /**
+     * Replays every intact record into {@code handler} and positions the log
+     * for appending after the last one.
+     */
+    synchronized void open(RecordHandler handler) throws IOException {
+        Files.createDirectories(directory);
+        List<Path> segments = listSegments();
+        int records = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            boolean last = i == segments.size() - 1;
+            FileChannel segmentChannel = FileChannel.open(segments.get(i),
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer segmentBuffer = segmentChannel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+            try {
+                records += replay(segmentBuffer, segments.get(i), last, handler);
+            } catch (IOException e) {
+                segmentChannel.close();
+                throw e;
+            }
+            if (last) {
+                segmentIndex = parseIndex(segments.get(i));
+                channel = segmentChannel;
+                buffer = segmentBuffer;
+            } else {
+                segmentChannel.close();
+            }
+        }
+        if (buffer == null) {
+            roll(1);
+        }
+        logger.info("Replayed {} records from {} segments in {}", records, segments.size(), directory);
+    }
+
+    synchronized void append(byte op, String collection, String id, byte[] document) {
+        byte[] payload = encode(op, collection, id, document);
+        int recordSize = HEADER_BYTES + payload.length;
+        if (recordSize > segmentSize) {
+            throw new IllegalArgumentException("Record of " + recordSize + " bytes exceeds segment size");
+        }
+        try {
+            // Leave room for the zero length that terminates the segment.
+            if (buffer.remaining() < recordSize + 4) {
+                buffer.force();
+                channel.close();
+                roll(segmentIndex + 1);
+            }
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            int start = buffer.position();
+            buffer.position(start + 4);
+            buffer.putInt((int) crc.getValue());
+            buffer.put(payload);
+            // The length is written last so a crash mid-record leaves a zero
+            // length behind and the record is never seen as complete.
+            buffer.putInt(start, payload.length);
+            if (syncEachWrite) {
+                buffer.force();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append to local store log", e);
+        }
+    }
+
+    synchronized void sync() {
+        if (buffer != null) {
+            buffer.force();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (buffer != null) {
+            buffer.force();
+            channel.close();
+            buffer = null;
+        }
+    }
+
+    private int replay(MappedByteBuffer segment, Path path, boolean last, RecordHandler handler) throws IOException {
+        int records = 0;
+        while (segment.remaining() >= HEADER_BYTES) {
+            int start = segment.position();
+            int length = segment.getInt();
+            if (length == 0) {
+                segment.position(start);
+                break;
+            }
+            int expectedCrc = segment.getInt();
+            if (length < 0 || length > segment.remaining()) {
+                corrupt("Truncated", start, path, last);
+                logger.warn("Truncated record at offset {} in {}, discarding tail", start, path);
+                discardFrom(segment, start);
+                break;
+            }
+            byte[] payload = new byte[length];
+            segment.get(payload);
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            if ((int) crc.getValue() != expectedCrc) {
+                corrupt("Checksum mismatch in", start, path, last);
+                logger.warn("Checksum mismatch at offset {} in {}, discarding tail", start, path);
+                discardFrom(segment, start);
+                break;
+            }
+            decode(payload, handler);
+            records++;
+        }
+        return records;
+    }
+
+    private static void corrupt(String problem, int offset, Path path, boolean last) throws IOException {
+        if (!last) {
+            throw new IOException(problem + " record at offset " + offset + " in " + path
+                + ", which is not the last segment; later segments would replay on top of lost writes");
+        }
+    }
+
+    private void discardFrom(MappedByteBuffer segment, int offset) {
+        segment.putInt(offset, 0);
+        segment.position(offset);
+    }
+
+    private void roll(int index) throws IOException {
+        segmentIndex = index;
+        Path path = directory.resolve(String.format("%s%06d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+    }
+
+    private List<Path> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return new ArrayList<>(files
+                .filter(path -> {
+                    String name = path.getFileName().toString();
+                    return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                })
+                .sorted()
+                .toList());
+        }
+    }
+
+    private int parseIndex(Path segment) {
+        String name = segment.getFileName().toString();
+        return Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static byte[] encode(byte op, String collection, String id, byte[] document) {
+        byte[] collectionBytes = collection.getBytes(StandardCharsets.UTF_8);
+        byte[] idBytes = id.getBytes(StandardCharsets.UTF_8);
+        int documentLength = document != null ? document.length : 0;
+        byte[] payload = new byte[1 + 2 + collectionBytes.length + 2 + idBytes.length + documentLength];
+        java.nio.ByteBuffer out = java.nio.ByteBuffer.wrap(payload);
+        out.put(op);
+        out.putShort((short) collectionBytes.length);
+        out.put(collectionBytes);
+        out.putShort((short) idBytes.length);
+        out.put(idBytes);
+        if (document != null) {
+            out.put(document);
+        }
+        return payload;
+    }
+
+    private static void decode(byte[] payload, RecordHandler handler) {
+        java.nio.ByteBuffer in = java.nio.ByteBuffer.wrap(payload);
+        byte op = in.get();
+        byte[] collectionBytes = new byte[in.getShort()];
+        in.get(collectionBytes);
+        byte[] idBytes = new byte[in.getShort()];
+        in.get(idBytes);
+        byte[] document = new byte[in.remaining()];
+        in.get(document);
+        handler.apply(op, new String(collectionBytes, StandardCharsets.UTF_8),
+            new String(idBytes, StandardCharsets.UTF_8), document);
+    }
+}
@@ -0,0 +1,132 @@
+package com.interactive.repository.impl;
+
+import com.interactive.model.PagedResult;
+import com.interactive.model.WordCloud;
+import com.interactive.model.WordSubmission;
+import com.interactive.repository.WordCloudRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+@Repository
+@Profile("local")
+public class LocalWordCloudRepository implements WordCloudRepository {
+    private static final Logger logger = LoggerFactory.getLogger(LocalWordCloudRepository.class);
+    private static final String COLLECTION_NAME = "word_clouds";
+    private static final String SUBMISSIONS_COLLECTION_NAME = "word_submissions";
+    private static final Set<String> UPDATABLE_FIELDS = Set.of("prompt", "wordFrequencies", "active");
+
+    private final LocalDocumentStore store;
+
+    @Autowired
+    public LocalWordCloudRepository(LocalDocumentStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public WordCloud save(WordCloud wordCloud) {
+        try {
+            if (wordCloud.getId() == null) {
+                wordCloud.setId(UUID.randomUUID());
+            }
+            store.put(COLLECTION_NAME, wordCloud.getId().toString(), store.toBytes(wordCloud));
+            logger.debug("Saved word cloud with id: {}", wordCloud.getId());
+            return wordCloud;
+        } catch (Exception e) {
+            logger.error("Error saving word cloud: {}", e.getMessage());
+            throw new RuntimeException("Failed to save word cloud", e);
+        }
+    }
+
+    @Override
+    public Optional<WordCloud> updateFields(UUID id, Map<String, Object> fields) {
+        byte[] updated = store.update(COLLECTION_NAME, id.toString(),
+            document -> store.setFields(document, fields, UPDATABLE_FIELDS));
+        return Optional.ofNullable(updated).map(document -> store.fromBytes(document, WordCloud.class));
+    }
+
+    @Override
+    public Optional<WordCloud> updateActive(UUID id, boolean active) {
+        byte[] updated = store.update(COLLECTION_NAME, id.toString(), document ->
+            store.fromBytes(document, WordCloud.class).isActive() == active
+                ? null
+                : store.setFields(document, Map.of("active", active), UPDATABLE_FIELDS));
+        return Optional.ofNullable(updated).map(document -> store.fromBytes(document, WordCloud.class));
+    }
+
+    @Override
+    public void incrementWordFrequencies(UUID id, Map<String, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        try {
+            store.update(COLLECTION_NAME, id.toString(), document -> {
+                WordCloud wordCloud = store.fromBytes(document, WordCloud.class);
+                Map<String, Integer> frequencies = new HashMap<>(wordCloud.getWordFrequencies());
+                deltas.forEach((word, delta) -> frequencies.merge(word, delta.intValue(), Integer::sum));
+                wordCloud.setWordFrequencies(frequencies);
+                return store.toBytes(wordCloud);
+            });
+        } catch (Exception e) {
+            logger.error("Error incrementing word frequencies: {}", e.getMessage());
+            throw new RuntimeException("Failed to increment word frequencies", e);
+        }
+    }
+
+    @Override
+    public Optional<WordCloud> findById(UUID id) {
+        return Optional.ofNullable(store.get(COLLECTION_NAME, id.toString()))
+            .map(document -> store.fromBytes(document, WordCloud.class));
+    }
+
+    @Override
+    public List<WordCloud> findByPresentationId(UUID presentationId) {
+        List<WordCloud> wordClouds = new ArrayList<>();
+        store.forEach(COLLECTION_NAME, "presentationId", presentationId.toString(),
+            document -> wordClouds.add(store.fromBytes(document, WordCloud.class)));
+        return wordClouds;
+    }
+
+    @Override
+    public void deleteById(UUID id) {
+        try {
+            store.delete(COLLECTION_NAME, id.toString());
+            logger.debug("Deleted word cloud with id: {}", id);
+        } catch (Exception e) {
+            logger.error("Error deleting word cloud: {}", e.getMessage());
+            throw new RuntimeException("Failed to delete word cloud", e);
+        }
+    }
+
+    @Override
+    public void saveSubmissions(List<WordSubmission> submissions) {
+        try {
+            for (WordSubmission submission : submissions) {
+                store.put(SUBMISSIONS_COLLECTION_NAME, submission.getId().toString(), store.toBytes(submission));
+            }
+            logger.debug("Saved batch of {} word submissions", submissions.size());
+        } catch (Exception e) {
+            logger.error("Error saving word submissions: {}", e.getMessage());
+            throw new RuntimeException("Failed to save word submissions", e);
+        }
+    }
+
+    @Override
+    public PagedResult<WordSubmission> findSubmissionPage(UUID wordCloudId, String pageState, int limit) {
+        PagedResult<byte[]> page = store.page(SUBMISSIONS_COLLECTION_NAME, "wordCloudId", wordCloudId.toString(),
+            pageState, limit);
+        List<WordSubmission> submissions = new ArrayList<>(page.getItems().size());
+        page.getItems().forEach(document -> submissions.add(store.fromBytes(document, WordSubmission.class)));
+        return new PagedResult<>(submissions, page.getNextPageState());
+    }
+}
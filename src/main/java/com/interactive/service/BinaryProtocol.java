@@ -0,0 +1,186 @@
+package com.interactive.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compact binary bodies for the audience channel, carried in STOMP frames on
+ * the native {@code /ws-binary} endpoint. Integers are unsigned LEB128
+ * varints; presentation and question ids are {@link IdInterner} references.
+ *
+ * <pre>
+ * votes frame    : 0x01 epoch (presentationRef questionRef option:byte)*
+ * tallies frame  : 0x02 epoch presentationRef questionCount
+ *                  (questionRef optionCount count*)*
+ * ballots frame  : 0x03 epoch voterIdLength voterId:utf8
+ *                  (presentationRef questionRef option:byte clientSeq)*
+ * </pre>
+ *
+ * A client may pack several votes into one frame. Ballots carry the voter's
+ * identity and sequence number so they are de-duplicated like JSON votes.
+ */
+public final class BinaryProtocol {
+    public static final byte VOTES = 0x01;
+    public static final byte TALLIES = 0x02;
+    public static final byte BALLOTS = 0x03;
+
+    @FunctionalInterface
+    public interface VoteSink {
+        void vote(int presentationRef, int questionRef, int option);
+    }
+
+    @FunctionalInterface
+    public interface BallotSink {
+        void ballot(String voterId, int presentationRef, int questionRef, int option, long clientSeq);
+    }
+
+    private BinaryProtocol() {
+    }
+
+    /**
+     * Decodes a votes frame straight into {@code sink} without allocating.
+     * Returns the number of votes delivered.
+     */
+    public static int decodeVotes(byte[] frame, int expectedEpoch, VoteSink sink) {
+        int pos = readHeader(frame, VOTES, expectedEpoch);
+        int votes = 0;
+        while (pos < frame.length) {
+            long packed = readVarint(frame, pos);
+            int presentationRef = value(packed);
+            packed = readVarint(frame, position(packed));
+            int questionRef = value(packed);
+            pos = position(packed);
+            if (pos >= frame.length) {
+                throw new IllegalArgumentException("Truncated vote record");
+            }
+            int option = frame[pos++] & 0xFF;
+            sink.vote(presentationRef, questionRef, option);
+            votes++;
+        }
+        return votes;
+    }
+
+    /** Decodes a ballots frame into {@code sink}; the voter id is the only allocation. */
+    public static int decodeBallots(byte[] frame, int expectedEpoch, BallotSink sink) {
+        long packed = readVarint(frame, readHeader(frame, BALLOTS, expectedEpoch));
+        int voterIdLength = value(packed);
+        int pos = position(packed);
+        if (voterIdLength == 0 || pos + voterIdLength > frame.length) {
+            throw new IllegalArgumentException("Bad voter id in ballots frame");
+        }
+        String voterId = new String(frame, pos, voterIdLength, StandardCharsets.UTF_8);
+        pos += voterIdLength;
+        int ballots = 0;
+        while (pos < frame.length) {
+            packed = readVarint(frame, pos);
+            int presentationRef = value(packed);
+            packed = readVarint(frame, position(packed));
+            int questionRef = value(packed);
+            pos = position(packed);
+            if (pos >= frame.length) {
+                throw new IllegalArgumentException("Truncated ballot record");
+            }
+            int option = frame[pos++] & 0xFF;
+            packed = readVarint(frame, pos);
+            pos = position(packed);
+            sink.ballot(voterId, presentationRef, questionRef, option, value(packed));
+            ballots++;
+        }
+        return ballots;
+    }
+
+    public static byte[] encodeTallies(int epoch, int presentationRef, int[] questionRefs, List<List<Integer>> votes) {
+        Writer out = new Writer(16 + questionRefs.length * 16);
+        out.writeByte(TALLIES);
+        out.writeVarint(epoch);
+        out.writeVarint(presentationRef);
+        out.writeVarint(questionRefs.length);
+        for (int i = 0; i < questionRefs.length; i++) {
+            List<Integer> counts = votes.get(i);
+            out.writeVarint(questionRefs[i]);
+            out.writeVarint(counts.size());
+            for (Integer count : counts) {
+                out.writeVarint(count);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /** The epoch a votes or ballots frame was built against. */
+    public static int epochOf(byte[] frame) {
+        if (frame.length < 2) {
+            throw new IllegalArgumentException("Truncated binary frame");
+        }
+        return value(readVarint(frame, 1));
+    }
+
+    private static int readHeader(byte[] frame, byte type, int expectedEpoch) {
+        if (frame.length < 2 || frame[0] != type) {
+            throw new IllegalArgumentException("Unexpected binary frame type");
+        }
+        long packed = readVarint(frame, 1);
+        if (value(packed) != expectedEpoch) {
+            throw new IllegalArgumentException("Stale binary frame from epoch " + value(packed));
+        }
+        return position(packed);
+    }
+
+    // The value and the position after it are packed into one long so
+    // decoding needs no holder object.
+    static long readVarint(byte[] buffer, int pos) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            if (pos >= buffer.length) {
+                throw new IllegalArgumentException("Truncated varint");
+            }
+            byte b = buffer[pos++];
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return ((long) value << 32) | pos;
+            }
+        }
+        throw new IllegalArgumentException("Varint too long");
+    }
+
+    private static int value(long packed) {
+        return (int) (packed >>> 32);
+    }
+
+    private static int position(long packed) {
+        return (int) packed;
+    }
+
+    private static final class Writer {
+        private byte[] buffer;
+        private int length;
+
+        Writer(int capacity) {
+            buffer = new byte[capacity];
+        }
+
+        void writeByte(int b) {
+            ensure(1);
+            buffer[length++] = (byte) b;
+        }
+
+        void writeVarint(int value) {
+            ensure(5);
+            while ((value & ~0x7F) != 0) {
+                buffer[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[length++] = (byte) value;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, length);
+        }
+
+        private void ensure(int extra) {
+            if (length + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + extra));
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.interactive.service;
+
+import com.interactive.cluster.ClusterNode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Exchanges live counts with the other cluster nodes. Changed counts are
+ * published every {@code cluster.gossip-interval-ms} and all of them every
+ * {@code cluster.full-sync-interval-ms}. Counts received from other nodes go
+ * into the local tallies and word clouds and are broadcast on the next tick,
+ * so presenters on any node see every node's votes. Subjects nothing has
+ * counted into for {@code cluster.subject-idle-minutes} are dropped from the
+ * cluster node.
+ */
+@Component
+@ConditionalOnProperty(name = "cluster.enabled", havingValue = "true")
+public class ClusterReplication {
+    private final ClusterNode clusterNode;
+    private final VoteTallyService voteTallyService;
+    private final WordCloudEngine wordCloudEngine;
+    private final ResultBroadcaster resultBroadcaster;
+    private final Duration subjectIdle;
+
+    @Autowired
+    public ClusterReplication(ClusterNode clusterNode,
+                              VoteTallyService voteTallyService,
+                              WordCloudEngine wordCloudEngine,
+                              ResultBroadcaster resultBroadcaster,
+                              @Value("${cluster.subject-idle-minutes:30}") long subjectIdleMinutes) {
+        this.clusterNode = clusterNode;
+        this.voteTallyService = voteTallyService;
+        this.wordCloudEngine = wordCloudEngine;
+        this.resultBroadcaster = resultBroadcaster;
+        this.subjectIdle = Duration.ofMinutes(subjectIdleMinutes);
+        clusterNode.addListener(this::counted);
+    }
+
+    @Scheduled(fixedDelayString = "${cluster.gossip-interval-ms:100}")
+    public void gossip() {
+        clusterNode.publish();
+    }
+
+    @Scheduled(fixedDelayString = "${cluster.full-sync-interval-ms:5000}")
+    public void fullSync() {
+        clusterNode.publishAll();
+    }
+
+    @Scheduled(fixedDelayString = "${cluster.eviction-interval-ms:60000}")
+    public void evictIdle() {
+        clusterNode.evictIdle(subjectIdle);
+    }
+
+    private void counted(UUID presentationId, UUID subjectId, String kind, String key, long delta) {
+        if (ClusterNode.VOTES.equals(kind)) {
+            if (voteTallyService.applyRemote(subjectId, Integer.parseInt(key), delta)) {
+                resultBroadcaster.markDirty(presentationId, subjectId);
+            }
+        } else if (ClusterNode.WORDS.equals(kind)) {
+            if (wordCloudEngine.applyRemote(subjectId, key, delta)) {
+                resultBroadcaster.markWordCloudDirty(presentationId, subjectId);
+            }
+        }
+    }
+}
@@ -0,0 +1,320 @@
+package com.interactive.service;
+
+import com.interactive.admission.AdmissionRejectedException;
+import com.interactive.model.PagedResult;
+import com.interactive.model.PollQuestion;
+import com.interactive.model.Response;
+import com.interactive.model.WordCloud;
+import com.interactive.model.WordSubmission;
+import com.interactive.repository.PollQuestionRepository;
+import com.interactive.repository.ResponseRepository;
+import com.interactive.repository.WordCloudRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams every vote and word submission of a presentation as CSV. Each poll
+ * question and word cloud is read page by page on a virtual thread of the
+ * export's own, at most {@code export.parallelism} at a time, so a blocked
+ * producer never holds a thread the async repositories need. Every page is
+ * formatted into one
+ * chunk handed to the writer through a queue of {@code export.queue-pages}
+ * chunks. Producers block while the queue is full, so memory stays at a few
+ * pages however large the event, and a slow client slows the reads down
+ * rather than buffering them.
+ *
+ * <p>At most {@code export.max-concurrent} exports run at once; callers take
+ * a {@link Permit} from {@link #admit()} first, which fails with
+ * {@link AdmissionRejectedException} when they are all taken.
+ *
+ * <p>Rows from different questions are interleaved; each row names its
+ * question or word cloud.
+ */
+@Service
+public class ExportService {
+    private static final Logger logger = LoggerFactory.getLogger(ExportService.class);
+    private static final String HEADER =
+        "type,subject_id,subject,id,option_index,value,voter_id,client_seq,created_at\n";
+    private static final long OFFER_TIMEOUT_MS = 100;
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(5);
+
+    private final PollQuestionRepository pollQuestionRepository;
+    private final ResponseRepository responseRepository;
+    private final WordCloudRepository wordCloudRepository;
+    private final ExecutorService producers = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore exports;
+    private final int parallelism;
+    private final int pageSize;
+    private final int queuePages;
+
+    public enum Format {
+        CSV("text/csv;charset=UTF-8", ".csv"),
+        CSV_GZ("application/gzip", ".csv.gz");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+
+        /** Parses {@code csv} or {@code csv.gz}; null for anything else. */
+        public static Format of(String name) {
+            for (Format format : values()) {
+                if (format.extension.substring(1).equalsIgnoreCase(name)) {
+                    return format;
+                }
+            }
+            return null;
+        }
+    }
+
+    // One formatted page, the end of one producer, or the error that ended it.
+    private record Chunk(String rows, Throwable error, boolean last) {
+    }
+
+    private interface Source {
+        void produce(Exporter exporter) throws InterruptedException;
+    }
+
+    @Autowired
+    public ExportService(PollQuestionRepository pollQuestionRepository,
+                         ResponseRepository responseRepository,
+                         WordCloudRepository wordCloudRepository,
+                         @Value("${export.max-concurrent:4}") int maxConcurrent,
+                         @Value("${export.parallelism:4}") int parallelism,
+                         @Value("${export.page-size:500}") int pageSize,
+                         @Value("${export.queue-pages:8}") int queuePages) {
+        this.pollQuestionRepository = pollQuestionRepository;
+        this.responseRepository = responseRepository;
+        this.wordCloudRepository = wordCloudRepository;
+        this.exports = new Semaphore(Math.max(1, maxConcurrent));
+        this.parallelism = Math.max(1, parallelism);
+        this.pageSize = Math.max(1, pageSize);
+        this.queuePages = Math.max(1, queuePages);
+    }
+
+    /** Holds one export slot until closed. */
+    public final class Permit implements AutoCloseable {
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit() {
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                exports.release();
+            }
+        }
+    }
+
+    /** Takes an export slot, or throws {@link AdmissionRejectedException} when none is free. */
+    public Permit admit() {
+        if (!exports.tryAcquire()) {
+            throw new AdmissionRejectedException("Too many exports in progress", RETRY_AFTER);
+        }
+        return new Permit();
+    }
+
+    public void export(UUID presentationId, Format format, OutputStream out) throws IOException {
+        Queue<Source> sources = new ConcurrentLinkedQueue<>();
+        for (PollQuestion question : pollQuestionRepository.findByPresentationId(presentationId)) {
+            sources.add(exporter -> exportResponses(question, exporter));
+        }
+        for (WordCloud wordCloud : wordCloudRepository.findByPresentationId(presentationId)) {
+            sources.add(exporter -> exportSubmissions(wordCloud, exporter));
+        }
+        int sourceCount = sources.size();
+        OutputStream target = format == Format.CSV_GZ ? new GZIPOutputStream(out, 64 * 1024) : out;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), 64 * 1024);
+        writer.write(HEADER);
+
+        Exporter exporter = new Exporter(new ArrayBlockingQueue<>(queuePages));
+        int running = Math.min(parallelism, sourceCount);
+        for (int i = 0; i < running; i++) {
+            producers.execute(() -> exporter.run(sources));
+        }
+        long pages = 0;
+        try {
+            for (int finished = 0; finished < running; ) {
+                Chunk chunk = exporter.chunks.take();
+                if (chunk.error() != null) {
+                    throw new IOException("Export of presentation " + presentationId + " failed", chunk.error());
+                }
+                if (chunk.last()) {
+                    finished++;
+                } else {
+                    writer.write(chunk.rows());
+                    pages++;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Export interrupted");
+        } finally {
+            // Stops the producers when the client goes away mid-export.
+            exporter.cancelled = true;
+        }
+        writer.flush();
+        if (target instanceof GZIPOutputStream gzip) {
+            gzip.finish();
+        }
+        logger.info("Exported presentation {} as {}: {} pages from {} questions and word clouds",
+            presentationId, format, pages, sourceCount);
+    }
+
+    // Interrupts producers still blocked on a page or on the queue.
+    @PreDestroy
+    public void shutdown() {
+        producers.shutdownNow();
+    }
+
+    private void exportResponses(PollQuestion question, Exporter exporter) throws InterruptedException {
+        String subjectId = question.getId().toString();
+        String subject = csv(question.getQuestion());
+        List<String> options = question.getOptions();
+        String pageState = null;
+        do {
+            PagedResult<Response> page =
+                responseRepository.findPageByPollQuestionId(question.getId(), pageState, pageSize);
+            StringBuilder rows = new StringBuilder(page.getItems().size() * 128);
+            for (Response response : page.getItems()) {
+                int option = response.getSelectedOption();
+                rows.append("vote,").append(subjectId).append(',').append(subject).append(',')
+                    .append(response.getId()).append(',').append(option).append(',')
+                    .append(option >= 0 && option < options.size() ? csv(options.get(option)) : "").append(',')
+                    .append(response.getVoterId() != null ? csv(response.getVoterId()) : "").append(',')
+                    .append(response.getClientSeq() != null ? response.getClientSeq() : "").append(',')
+                    .append(response.getCreatedAt()).append('\n');
+            }
+            if (!exporter.offer(rows.toString())) {
+                return;
+            }
+            pageState = page.getNextPageState();
+        } while (pageState != null);
+    }
+
+    private void exportSubmissions(WordCloud wordCloud, Exporter exporter) throws InterruptedException {
+        String subjectId = wordCloud.getId().toString();
+        String subject = csv(wordCloud.getPrompt());
+        String pageState = null;
+        do {
+            PagedResult<WordSubmission> page =
+                wordCloudRepository.findSubmissionPage(wordCloud.getId(), pageState, pageSize);
+            StringBuilder rows = new StringBuilder(page.getItems().size() * 96);
+            for (WordSubmission submission : page.getItems()) {
+                rows.append("word,").append(subjectId).append(',').append(subject).append(',')
+                    .append(submission.getId()).append(",,")
+                    .append(csv(submission.getWord())).append(",,,")
+                    .append(submission.getCreatedAt()).append('\n');
+            }
+            if (!exporter.offer(rows.toString())) {
+                return;
+            }
+            pageState = page.getNextPageState();
+        } while (pageState != null);
+    }
+
+    // Quotes fields that need it, and neutralizes leading formula characters
+    // since the values are audience input and the file is opened in
+    // spreadsheets.
+    static String csv(String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+        char first = value.charAt(0);
+        if (first == '=' || first == '+' || first == '-' || first == '@') {
+            value = "'" + value;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        return quote ? '"' + value.replace("\"", "\"\"") + '"' : value;
+    }
+
+    private static final class Exporter {
+        private final BlockingQueue<Chunk> chunks;
+        private volatile boolean cancelled;
+
+        private Exporter(BlockingQueue<Chunk> chunks) {
+            this.chunks = chunks;
+        }
+
+        private void run(Queue<Source> sources) {
+            Chunk end = new Chunk(null, null, true);
+            boolean interrupted = false;
+            try {
+                for (Source source = sources.poll(); source != null && !cancelled; source = sources.poll()) {
+                    source.produce(this);
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+                end = new Chunk(null, e, true);
+            } catch (Exception e) {
+                logger.error("Error exporting page: {}", e.getMessage());
+                end = new Chunk(null, e, true);
+            }
+            // The writer waits for one end chunk per producer, so it is
+            // delivered even after an interrupt.
+            try {
+                put(end);
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        // False once the export has been abandoned.
+        private boolean offer(String rows) throws InterruptedException {
+            return rows.isEmpty() || put(new Chunk(rows, null, false));
+        }
+
+        private boolean put(Chunk chunk) throws InterruptedException {
+            while (!cancelled) {
+                if (chunks.offer(chunk, OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
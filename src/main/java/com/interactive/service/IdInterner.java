@@ -0,0 +1,126 @@
+package com.interactive.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Assigns small sequential ints to presentation and question ids so binary
+ * frames can refer to them in a byte or two instead of a 36-character UUID.
+ *
+ * <p>References are only meaningful on this node and within one
+ * {@link Generation}; its random epoch lets a frame built against another
+ * generation or a previous run be recognized and rejected instead of being
+ * applied to whatever id now holds the same number.
+ *
+ * <p>A generation holds up to {@code websocket.binary-protocol.max-interned-ids} ids. When it
+ * is full the next {@link #current()} starts a new one with a new epoch, and
+ * the one before is kept only so frames already in flight still resolve,
+ * so at most two generations are held however long the process runs.
+ * Clients pick up the new references with the next active question.
+ */
+@Component
+public class IdInterner {
+    private final int maxIds;
+    private volatile Generation current;
+    private volatile Generation previous;
+
+    /** One numbering of ids, identified by its epoch. */
+    public static final class Generation {
+        private final int epoch;
+        private final ConcurrentMap<UUID, Integer> refs = new ConcurrentHashMap<>();
+        private volatile UUID[] ids = new UUID[256];
+        private volatile int size;
+
+        private Generation(int epoch) {
+            this.epoch = epoch;
+        }
+
+        public int epoch() {
+            return epoch;
+        }
+
+        public int intern(UUID id) {
+            Integer ref = refs.get(id);
+            if (ref != null) {
+                return ref;
+            }
+            synchronized (this) {
+                ref = refs.get(id);
+                if (ref != null) {
+                    return ref;
+                }
+                UUID[] current = ids;
+                if (size == current.length) {
+                    current = Arrays.copyOf(current, size * 2);
+                }
+                current[size] = id;
+                // Publish the array before the mapping so any ref a reader can
+                // obtain is already resolvable.
+                ids = current;
+                refs.put(id, size);
+                return size++;
+            }
+        }
+
+        /** Returns the id for {@code ref}, or null when it was never assigned. */
+        public UUID resolve(int ref) {
+            UUID[] current = ids;
+            return ref >= 0 && ref < current.length ? current[ref] : null;
+        }
+
+        private boolean isFull(int maxIds) {
+            return size >= maxIds;
+        }
+    }
+
+    @Autowired
+    public IdInterner(@Value("${websocket.binary-protocol.max-interned-ids:1048576}") int maxIds) {
+        this.maxIds = Math.max(1, maxIds);
+        this.current = new Generation(newEpoch(0, 0));
+    }
+
+    /**
+     * The generation new references come from. Callers that send several
+     * references together take them all from the one generation returned.
+     */
+    public Generation current() {
+        Generation generation = current;
+        if (!generation.isFull(maxIds)) {
+            return generation;
+        }
+        synchronized (this) {
+            if (current == generation) {
+                // Also unlike the epoch being dropped, so its frames stay rejected.
+                int dropped = previous != null ? previous.epoch() : 0;
+                previous = generation;
+                current = new Generation(newEpoch(generation.epoch(), dropped));
+            }
+            return current;
+        }
+    }
+
+    /** The generation numbered by {@code epoch}, or null when it is unknown or has been dropped. */
+    public Generation generation(int epoch) {
+        Generation generation = current;
+        if (generation.epoch() == epoch) {
+            return generation;
+        }
+        generation = previous;
+        return generation != null && generation.epoch() == epoch ? generation : null;
+    }
+
+    private static int newEpoch(int avoid, int alsoAvoid) {
+        int epoch;
+        do {
+            epoch = 1 + ThreadLocalRandom.current().nextInt(0x3FFF);
+        } while (epoch == avoid || epoch == alsoAvoid);
+        return epoch;
+    }
+}
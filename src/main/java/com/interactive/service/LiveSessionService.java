@@ -0,0 +1,198 @@
+package com.interactive.service;
+
+import com.interactive.admission.AdmissionControl;
+import com.interactive.model.ActiveQuestion;
+import com.interactive.model.Presentation;
+import com.interactive.model.VoteMessage;
+import com.interactive.model.WordMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Handles messages from presenters and audience members connected over STOMP
+ * and tracks which question is currently live in each presentation.
+ */
+@Service
+public class LiveSessionService {
+    private static final Logger logger = LoggerFactory.getLogger(LiveSessionService.class);
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final VoteTallyService voteTallyService;
+    private final WordCloudService wordCloudService;
+    private final SlidePrewarmer slidePrewarmer;
+    private final PresentationService presentationService;
+    private final ResultBroadcaster resultBroadcaster;
+    private final IdInterner idInterner;
+    private final AdmissionControl admissionControl;
+    private final int maxVotesPerFrame;
+    private final ConcurrentMap<UUID, ActiveQuestion> activeQuestions = new ConcurrentHashMap<>();
+
+    @Autowired
+    public LiveSessionService(SimpMessagingTemplate messagingTemplate,
+                              VoteTallyService voteTallyService,
+                              WordCloudService wordCloudService,
+                              SlidePrewarmer slidePrewarmer,
+                              PresentationService presentationService,
+                              ResultBroadcaster resultBroadcaster,
+                              IdInterner idInterner,
+                              AdmissionControl admissionControl,
+                              @Value("${admission.vote.max-per-frame:10}") int maxVotesPerFrame) {
+        this.messagingTemplate = messagingTemplate;
+        this.voteTallyService = voteTallyService;
+        this.wordCloudService = wordCloudService;
+        this.slidePrewarmer = slidePrewarmer;
+        this.presentationService = presentationService;
+        this.resultBroadcaster = resultBroadcaster;
+        this.idInterner = idInterner;
+        this.admissionControl = admissionControl;
+        this.maxVotesPerFrame = maxVotesPerFrame;
+    }
+
+    /**
+     * Opens {@code questionId} to the audience. The broadcast is normally
+     * prepared by {@link SlidePrewarmer} when the previous slide was shown;
+     * afterwards the presenter's position is saved and the following slides
+     * are warmed in the background.
+     */
+    public ActiveQuestion activate(UUID presentationId, UUID questionId) {
+        SlidePrewarmer.PreparedSlide slide = slidePrewarmer.prepare(presentationId, questionId);
+        activeQuestions.put(presentationId, slide.active());
+        messagingTemplate.send("/topic/presentation/" + presentationId + "/active-question", slide.message());
+        slidePrewarmer.indexOf(presentationId, questionId)
+            .thenCompose(index -> index < 0
+                ? CompletableFuture.<Presentation>completedFuture(null)
+                : presentationService.advanceSlide(presentationId, index))
+            .exceptionally(e -> {
+                logger.warn("Error advancing presentation {} to question {}: {}",
+                    presentationId, questionId, e.getMessage());
+                return null;
+            });
+        return slide.active();
+    }
+
+    public Optional<ActiveQuestion> getActiveQuestion(UUID presentationId) {
+        return Optional.ofNullable(activeQuestions.get(presentationId));
+    }
+
+    public void submitResponse(UUID presentationId, VoteMessage message) {
+        ActiveQuestion active = activeQuestions.get(presentationId);
+        if (active != null && ActiveQuestion.OPEN_ENDED.equals(active.getType())
+                && active.getId().equals(message.getQuestionId())) {
+            wordCloudService.submitWord(active.getId(), message.getResponse(), false);
+            return;
+        }
+        if (!VoteTallyService.isValidClientSeq(message.getClientSeq())) {
+            throw new IllegalArgumentException("Client sequence " + message.getClientSeq() + " out of range");
+        }
+        checkOwner(presentationId, voteTallyService.presentationOf(message.getQuestionId()));
+        int option = voteTallyService.resolveOption(message.getQuestionId(), message.getResponse());
+        if (voteTallyService.recordVote(message.getQuestionId(), option,
+                message.getVoterId(), message.getClientSeq(), false) != null) {
+            resultBroadcaster.markDirty(presentationId, message.getQuestionId());
+        }
+    }
+
+    /**
+     * Applies a binary votes or ballots frame from {@code client}. Votes are
+     * decoded in place and go straight to the tally; the frame may carry
+     * votes for several questions.
+     *
+     * <p>The frame is decoded twice. The first pass checks that every vote
+     * names a valid option of a question of the presentation it names, and
+     * counts them per presentation; {@code client} and each presentation are
+     * then charged one token per vote, and only then does the second pass
+     * count them. A malformed, misaddressed or rate-limited frame therefore
+     * counts none of its votes. A vote that fails while it is being counted,
+     * e.g. because the write-behind queue is full, ends the frame there, and
+     * the votes before it stay counted. A frame may carry at most
+     * {@code admission.vote.max-per-frame} votes.
+     */
+    public int submitBinaryVotes(byte[] frame, String client) {
+        int epoch = BinaryProtocol.epochOf(frame);
+        IdInterner.Generation refs = idInterner.generation(epoch);
+        if (refs == null) {
+            throw new IllegalArgumentException("Stale binary frame from epoch " + epoch);
+        }
+        boolean ballots = frame.length > 0 && frame[0] == BinaryProtocol.BALLOTS;
+        Map<UUID, Integer> perPresentation = new HashMap<>();
+        int[] checked = new int[1];
+        BinaryProtocol.BallotSink check = (voterId, presentationRef, questionRef, option, clientSeq) -> {
+            if (++checked[0] > maxVotesPerFrame) {
+                throw new IllegalArgumentException("More than " + maxVotesPerFrame + " votes in one binary frame");
+            }
+            UUID presentationId = resolve(refs, presentationRef);
+            UUID questionId = resolve(refs, questionRef);
+            voteTallyService.checkOption(questionId, option);
+            // The presentation picks both the bucket charged and the topic
+            // the tally goes to, so it must be the question's own.
+            checkOwner(presentationId, voteTallyService.presentationOf(questionId));
+            perPresentation.merge(presentationId, 1, Integer::sum);
+        };
+        int votes = ballots
+            ? BinaryProtocol.decodeBallots(frame, epoch, check)
+            : BinaryProtocol.decodeVotes(frame, epoch, (presentationRef, questionRef, option) ->
+                check.ballot(null, presentationRef, questionRef, option, -1));
+        if (votes == 0) {
+            return 0;
+        }
+        admissionControl.admitClientVotes(client, votes);
+        perPresentation.forEach(admissionControl::admitPresentationVotes);
+        BinaryProtocol.BallotSink apply = (voterId, presentationRef, questionRef, option, clientSeq) ->
+            recordBinaryBallot(refs, voterId, presentationRef, questionRef, option, clientSeq);
+        return ballots
+            ? BinaryProtocol.decodeBallots(frame, epoch, apply)
+            : BinaryProtocol.decodeVotes(frame, epoch, (presentationRef, questionRef, option) ->
+                apply.ballot(null, presentationRef, questionRef, option, -1));
+    }
+
+    public void submitWord(UUID presentationId, WordMessage message) {
+        UUID wordCloudId = message.getWordCloudId();
+        if (wordCloudId == null) {
+            ActiveQuestion active = activeQuestions.get(presentationId);
+            if (active == null || !ActiveQuestion.OPEN_ENDED.equals(active.getType())) {
+                throw new IllegalArgumentException("No active word cloud for presentation " + presentationId);
+            }
+            wordCloudId = active.getId();
+        } else {
+            checkOwner(presentationId, wordCloudService.presentationOf(wordCloudId));
+        }
+        wordCloudService.submitWord(wordCloudId, message.getWord(), false);
+    }
+
+    private void recordBinaryBallot(IdInterner.Generation refs, String voterId, int presentationRef, int questionRef,
+                                    int option, long clientSeq) {
+        UUID presentationId = resolve(refs, presentationRef);
+        UUID questionId = resolve(refs, questionRef);
+        if (voteTallyService.recordVote(questionId, option, voterId, clientSeq >= 0 ? clientSeq : null, false) != null) {
+            resultBroadcaster.markDirty(presentationId, questionId);
+        }
+    }
+
+    // Keeps a message sent to one room from voting in, and being broadcast
+    // to, another.
+    private static void checkOwner(UUID presentationId, UUID owner) {
+        if (!presentationId.equals(owner)) {
+            throw new IllegalArgumentException("Not a question of presentation " + presentationId);
+        }
+    }
+
+    private static UUID resolve(IdInterner.Generation refs, int ref) {
+        UUID id = refs.resolve(ref);
+        if (id == null) {
+            throw new IllegalArgumentException("Unknown reference in binary vote");
+        }
+        return id;
+    }
+}
@@ -1,65 +1,164 @@
 package com.interactive.service;
 
+import com.interactive.model.PagedResult;
 import com.interactive.model.Presentation;
+import com.interactive.repository.AsyncPresentationRepository;
 import com.interactive.repository.PresentationRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 @Service
 public class PresentationService {
+    private static final int ACCESS_CODE_ATTEMPTS = 10;
+
     private final PresentationRepository presentationRepository;
+    private final AsyncPresentationRepository asyncPresentationRepository;
+    private final SnapshotService snapshotService;
+    private final SlidePrewarmer slidePrewarmer;
+    private final SecureRandom random = new SecureRandom();
 
     @Autowired
-    public PresentationService(PresentationRepository presentationRepository) {
+    public PresentationService(PresentationRepository presentationRepository,
+                               AsyncPresentationRepository asyncPresentationRepository,
+                               SnapshotService snapshotService,
+                               SlidePrewarmer slidePrewarmer) {
         this.presentationRepository = presentationRepository;
+        this.asyncPresentationRepository = asyncPresentationRepository;
+        this.snapshotService = snapshotService;
+        this.slidePrewarmer = slidePrewarmer;
     }
 
     public List<Presentation> getAllPresentations() {
         return presentationRepository.findAll();
     }
 
-    public Presentation createPresentation(String title, String description) {
-        Presentation presentation = new Presentation();
-        presentation.setTitle(title);
-        presentation.setDescription(description);
-        presentation.setActive(true);
-        return presentationRepository.save(presentation);
+    public CompletableFuture<PagedResult<Presentation>> getAllPresentations(String pageState, int limit) {
+        return asyncPresentationRepository.findAll(pageState, limit);
     }
 
-    public Presentation updatePresentation(UUID id, String title) {
-        Presentation presentation = presentationRepository.findById(id);
-        if (presentation == null) {
-            throw new RuntimeException("Presentation not found");
-        }
-        presentation.setTitle(title);
-        return presentationRepository.save(presentation);
+    public void streamAllPresentations(Consumer<Presentation> consumer) {
+        presentationRepository.streamAll(consumer);
     }
 
-    public void endPresentation(UUID id) {
-        Presentation presentation = presentationRepository.findById(id);
-        if (presentation == null) {
-            throw new RuntimeException("Presentation not found");
-        }
-        presentation.setActive(false);
-        presentationRepository.save(presentation);
+    public CompletableFuture<Presentation> createPresentation(String title, String description) {
+        return generateAccessCode(0).thenCompose(accessCode -> {
+            Presentation presentation = new Presentation();
+            presentation.setTitle(title);
+            presentation.setDescription(description);
+            presentation.setAccessCode(accessCode);
+            presentation.setActive(true);
+            return asyncPresentationRepository.save(presentation);
+        });
     }
 
-    public Presentation getPresentation(UUID id) {
-        Presentation presentation = presentationRepository.findById(id);
-        if (presentation == null) {
-            throw new RuntimeException("Presentation not found");
-        }
-        return presentation;
+    public CompletableFuture<Presentation> updatePresentation(UUID id, String title) {
+        return asyncPresentationRepository.updateFields(id, Map.of("title", title))
+            .thenApply(presentation -> {
+                if (presentation == null) {
+                    throw new RuntimeException("Presentation not found");
+                }
+                snapshotService.bump(id);
+                return presentation;
+            });
+    }
+
+    /**
+     * Moves the presenter to slide {@code index} and warms it and the slides
+     * after it, so activating them does not wait on Astra.
+     */
+    public CompletableFuture<Presentation> advanceSlide(UUID id, int index) {
+        return asyncPresentationRepository.updateFields(id, Map.of("currentSlideIndex", index))
+            .thenApply(presentation -> {
+                if (presentation == null) {
+                    throw new RuntimeException("Presentation not found");
+                }
+                snapshotService.bump(id);
+                slidePrewarmer.prewarm(id, index);
+                return presentation;
+            });
+    }
+
+    public CompletableFuture<Void> endPresentation(UUID id) {
+        return asyncPresentationRepository.updateActive(id, false, LocalDateTime.now())
+            .thenCompose(presentation -> presentation != null
+                ? CompletableFuture.completedFuture(presentation)
+                // No match means the presentation is missing or has already ended.
+                : asyncPresentationRepository.findById(id))
+            .thenAccept(presentation -> {
+                if (presentation == null) {
+                    throw new RuntimeException("Presentation not found");
+                }
+                snapshotService.bump(id);
+            });
+    }
+
+    public CompletableFuture<Presentation> getPresentation(UUID id) {
+        return asyncPresentationRepository.findById(id).thenApply(presentation -> {
+            if (presentation == null) {
+                throw new RuntimeException("Presentation not found");
+            }
+            return presentation;
+        });
+    }
+
+    /** Warms the slides from the presenter's current one when the deck is opened. */
+    public CompletableFuture<Presentation> openPresentation(UUID id) {
+        return getPresentation(id).thenApply(presentation -> {
+            slidePrewarmer.prewarm(id, presentation.getCurrentSlideIndex());
+            return presentation;
+        });
+    }
+
+    public CompletableFuture<Presentation> joinByAccessCode(String accessCode) {
+        return asyncPresentationRepository.findByAccessCode(accessCode).thenApply(presentation -> {
+            if (presentation == null || !presentation.isActive()) {
+                throw new RuntimeException("Presentation not found");
+            }
+            return presentation;
+        });
     }
 
     public List<Presentation> getActivePresentations() {
         return presentationRepository.findByActive(true);
     }
 
+    public CompletableFuture<PagedResult<Presentation>> getActivePresentations(String pageState, int limit) {
+        return asyncPresentationRepository.findByActive(true, pageState, limit);
+    }
+
+    public void streamActivePresentations(Consumer<Presentation> consumer) {
+        presentationRepository.streamByActive(true, consumer);
+    }
+
     public List<Presentation> getPresentationsByPresenter(String presenterId) {
         return presentationRepository.findByPresenterId(presenterId);
     }
-} 
\ No newline at end of file
+
+    public CompletableFuture<PagedResult<Presentation>> getPresentationsByPresenter(
+            String presenterId, String pageState, int limit) {
+        return asyncPresentationRepository.findByPresenterId(presenterId, pageState, limit);
+    }
+
+    public void streamPresentationsByPresenter(String presenterId, Consumer<Presentation> consumer) {
+        presentationRepository.streamByPresenterId(presenterId, consumer);
+    }
+
+    private CompletableFuture<String> generateAccessCode(int attempt) {
+        if (attempt >= ACCESS_CODE_ATTEMPTS) {
+            return CompletableFuture.failedFuture(new RuntimeException("Could not allocate a unique access code"));
+        }
+        String code = String.format("%06d", random.nextInt(1_000_000));
+        return asyncPresentationRepository.findByAccessCode(code)
+            .thenCompose(existing -> existing == null
+                ? CompletableFuture.completedFuture(code)
+                : generateAccessCode(attempt + 1));
+    }
+}
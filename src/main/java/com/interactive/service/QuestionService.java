@@ -0,0 +1,111 @@
+package com.interactive.service;
+
+import com.interactive.model.PollQuestion;
+import com.interactive.model.WordCloud;
+import com.interactive.repository.AsyncPollQuestionRepository;
+import com.interactive.repository.AsyncWordCloudRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Edits to poll questions and word clouds. Each edit is saved to Astra first
+ * and then handed to the live tally or word cloud, the results snapshot and
+ * {@link SlidePrewarmer}, so results, votes and the next activation use the
+ * new text and options straight away.
+ */
+@Service
+public class QuestionService {
+    private final AsyncPollQuestionRepository asyncPollQuestionRepository;
+    private final AsyncWordCloudRepository asyncWordCloudRepository;
+    private final VoteTallyService voteTallyService;
+    private final WordCloudEngine wordCloudEngine;
+    private final SnapshotService snapshotService;
+    private final SlidePrewarmer slidePrewarmer;
+
+    @Autowired
+    public QuestionService(AsyncPollQuestionRepository asyncPollQuestionRepository,
+                           AsyncWordCloudRepository asyncWordCloudRepository,
+                           VoteTallyService voteTallyService,
+                           WordCloudEngine wordCloudEngine,
+                           SnapshotService snapshotService,
+                           SlidePrewarmer slidePrewarmer) {
+        this.asyncPollQuestionRepository = asyncPollQuestionRepository;
+        this.asyncWordCloudRepository = asyncWordCloudRepository;
+        this.voteTallyService = voteTallyService;
+        this.wordCloudEngine = wordCloudEngine;
+        this.snapshotService = snapshotService;
+        this.slidePrewarmer = slidePrewarmer;
+    }
+
+    /** Changes the text and/or options of a poll question; null leaves a field as it is. */
+    public CompletableFuture<PollQuestion> updateQuestion(UUID id, String question, List<String> options) {
+        Map<String, Object> fields = new HashMap<>();
+        if (question != null) {
+            fields.put("question", question);
+        }
+        if (options != null) {
+            if (options.isEmpty()) {
+                return CompletableFuture.failedFuture(
+                    new IllegalArgumentException("Poll question " + id + " needs at least one option"));
+            }
+            fields.put("options", options);
+        }
+        if (fields.isEmpty()) {
+            return getQuestion(id);
+        }
+        return asyncPollQuestionRepository.updateFields(id, fields).thenApply(this::updated);
+    }
+
+    public CompletableFuture<PollQuestion> setQuestionActive(UUID id, boolean active) {
+        return asyncPollQuestionRepository.updateActive(id, active)
+            .thenCompose(question -> question.isPresent()
+                ? CompletableFuture.completedFuture(question)
+                // No match means the question is missing or already in that state.
+                : asyncPollQuestionRepository.findById(id))
+            .thenApply(this::updated);
+    }
+
+    /** Changes a word cloud's prompt; its counts are kept. */
+    public CompletableFuture<WordCloud> updateWordCloud(UUID id, String prompt) {
+        if (prompt == null) {
+            return asyncWordCloudRepository.findById(id).thenApply(this::wordCloudUpdated);
+        }
+        return asyncWordCloudRepository.updateFields(id, Map.of("prompt", prompt))
+            .thenApply(this::wordCloudUpdated);
+    }
+
+    public CompletableFuture<WordCloud> setWordCloudActive(UUID id, boolean active) {
+        return asyncWordCloudRepository.updateActive(id, active)
+            .thenCompose(wordCloud -> wordCloud.isPresent()
+                ? CompletableFuture.completedFuture(wordCloud)
+                : asyncWordCloudRepository.findById(id))
+            .thenApply(this::wordCloudUpdated);
+    }
+
+    private CompletableFuture<PollQuestion> getQuestion(UUID id) {
+        return asyncPollQuestionRepository.findById(id).thenApply(question -> question
+            .orElseThrow(() -> new RuntimeException("Poll question not found")));
+    }
+
+    private PollQuestion updated(Optional<PollQuestion> updated) {
+        PollQuestion question = updated.orElseThrow(() -> new RuntimeException("Poll question not found"));
+        voteTallyService.refresh(question);
+        snapshotService.bump(question.getId());
+        slidePrewarmer.evict(question.getId());
+        return question;
+    }
+
+    private WordCloud wordCloudUpdated(Optional<WordCloud> updated) {
+        WordCloud wordCloud = updated.orElseThrow(() -> new RuntimeException("Word cloud not found"));
+        wordCloudEngine.refresh(wordCloud);
+        slidePrewarmer.evict(wordCloud.getId());
+        return wordCloud;
+    }
+}
@@ -0,0 +1,144 @@
+package com.interactive.service;
+
+import com.interactive.model.PollQuestion;
+import com.interactive.model.TallyUpdate;
+import com.interactive.model.WordCloudUpdate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Coalesces tally and word cloud changes and pushes them to presenters on a
+ * fixed tick, so a burst of submissions costs at most one broadcast per
+ * changed question per tick. The same tick advances each changed question's
+ * {@link SnapshotService} version, releasing clients long-polling its results.
+ */
+@Component
+public class ResultBroadcaster {
+    private static final Logger logger = LoggerFactory.getLogger(ResultBroadcaster.class);
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final VoteTallyService voteTallyService;
+    private final WordCloudEngine wordCloudEngine;
+    private final IdInterner idInterner;
+    private final SnapshotService snapshotService;
+    private final boolean binaryProtocol;
+    private final ConcurrentMap<UUID, Set<UUID>> dirtyQuestions = new ConcurrentHashMap<>();
+    private final ConcurrentMap<UUID, Set<UUID>> dirtyWordClouds = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ResultBroadcaster(SimpMessagingTemplate messagingTemplate,
+                             VoteTallyService voteTallyService,
+                             WordCloudEngine wordCloudEngine,
+                             IdInterner idInterner,
+                             SnapshotService snapshotService,
+                             @Value("${websocket.binary-protocol.enabled:true}") boolean binaryProtocol) {
+        this.messagingTemplate = messagingTemplate;
+        this.voteTallyService = voteTallyService;
+        this.wordCloudEngine = wordCloudEngine;
+        this.idInterner = idInterner;
+        this.snapshotService = snapshotService;
+        this.binaryProtocol = binaryProtocol;
+    }
+
+    public void markDirty(UUID presentationId, UUID pollQuestionId) {
+        markDirty(dirtyQuestions, presentationId, pollQuestionId);
+    }
+
+    public void markWordCloudDirty(UUID presentationId, UUID wordCloudId) {
+        markDirty(dirtyWordClouds, presentationId, wordCloudId);
+    }
+
+    @Scheduled(fixedDelayString = "${broadcast.tick-ms:200}")
+    public void flush() {
+        for (UUID presentationId : dirtyQuestions.keySet()) {
+            Set<UUID> questions = dirtyQuestions.remove(presentationId);
+            if (questions == null) {
+                continue;
+            }
+            List<PollQuestion> changed = new ArrayList<>(questions.size());
+            for (UUID questionId : questions) {
+                try {
+                    PollQuestion results = voteTallyService.getResults(questionId);
+                    snapshotService.bump(questionId);
+                    messagingTemplate.convertAndSend(
+                        "/topic/presentation/" + presentationId + "/responses", toUpdate(results));
+                    changed.add(results);
+                } catch (Exception e) {
+                    logger.error("Error broadcasting results for poll question {}: {}", questionId, e.getMessage());
+                }
+            }
+            if (binaryProtocol && !changed.isEmpty()) {
+                broadcastBinaryTallies(presentationId, changed);
+            }
+        }
+        for (UUID presentationId : dirtyWordClouds.keySet()) {
+            Set<UUID> wordClouds = dirtyWordClouds.remove(presentationId);
+            if (wordClouds == null) {
+                continue;
+            }
+            for (UUID wordCloudId : wordClouds) {
+                try {
+                    WordCloudUpdate update = wordCloudEngine.drainUpdate(wordCloudId);
+                    if (update != null) {
+                        messagingTemplate.convertAndSend(
+                            "/topic/presentation/" + presentationId + "/wordcloud", update);
+                    }
+                } catch (Exception e) {
+                    logger.error("Error broadcasting word cloud {}: {}", wordCloudId, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void markDirty(ConcurrentMap<UUID, Set<UUID>> dirty, UUID presentationId, UUID itemId) {
+        // Fast path: the item is already queued for the next tick, which reads
+        // its state after this submission was counted.
+        Set<UUID> pending = dirty.get(presentationId);
+        if (pending != null && pending.contains(itemId)) {
+            return;
+        }
+        dirty.compute(presentationId, (id, items) -> {
+            Set<UUID> set = items != null ? items : ConcurrentHashMap.newKeySet();
+            set.add(itemId);
+            return set;
+        });
+    }
+
+    // Binary clients get every changed question in the presentation in one frame.
+    private void broadcastBinaryTallies(UUID presentationId, List<PollQuestion> changed) {
+        try {
+            IdInterner.Generation refs = idInterner.current();
+            int[] questionRefs = new int[changed.size()];
+            List<List<Integer>> votes = new ArrayList<>(changed.size());
+            for (int i = 0; i < changed.size(); i++) {
+                questionRefs[i] = refs.intern(changed.get(i).getId());
+                votes.add(changed.get(i).getVotes());
+            }
+            byte[] frame = BinaryProtocol.encodeTallies(refs.epoch(), refs.intern(presentationId),
+                questionRefs, votes);
+            messagingTemplate.convertAndSend("/topic/presentation/" + presentationId + "/responses.bin", frame);
+        } catch (Exception e) {
+            logger.error("Error broadcasting binary results for presentation {}: {}", presentationId, e.getMessage());
+        }
+    }
+
+    private TallyUpdate toUpdate(PollQuestion results) {
+        TallyUpdate update = new TallyUpdate();
+        update.setQuestionId(results.getId());
+        update.setOptions(results.getOptions());
+        update.setVotes(results.getVotes());
+        return update;
+    }
+}
@@ -0,0 +1,212 @@
+package com.interactive.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.interactive.model.ActiveQuestion;
+import com.interactive.model.PollQuestion;
+import com.interactive.model.WordCloud;
+import com.interactive.repository.PollQuestionRepository;
+import com.interactive.repository.WordCloudRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Loads the slides a presenter is about to show before they are shown. When
+ * a presentation is opened or advanced, the next {@code slides.prewarm-lookahead}
+ * slides have their tallies or word clouds loaded, their results serialized
+ * into {@link SnapshotService}, and their active-question broadcast converted
+ * to a ready-to-send message, so activating one is an in-memory fan-out.
+ *
+ * <p>A presentation's slides are its poll questions and word clouds in
+ * creation order.
+ */
+@Service
+public class SlidePrewarmer {
+    private static final Logger logger = LoggerFactory.getLogger(SlidePrewarmer.class);
+    private static final Comparator<Slide> SLIDE_ORDER = Comparator
+        .comparing(Slide::createdAt, Comparator.nullsFirst(Comparator.naturalOrder()))
+        .thenComparing(Slide::id);
+
+    private final PollQuestionRepository pollQuestionRepository;
+    private final WordCloudRepository wordCloudRepository;
+    private final VoteTallyService voteTallyService;
+    private final WordCloudEngine wordCloudEngine;
+    private final SnapshotService snapshotService;
+    private final IdInterner idInterner;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ExecutorService executor;
+    private final int lookahead;
+    private final Cache<UUID, PreparedSlide> prepared;
+
+    /** An active-question broadcast built ahead of time. */
+    public record PreparedSlide(UUID presentationId, ActiveQuestion active, Message<?> message) {
+    }
+
+    private record Slide(UUID id, boolean wordCloud, LocalDateTime createdAt) {
+    }
+
+    @Autowired
+    public SlidePrewarmer(PollQuestionRepository pollQuestionRepository,
+                          WordCloudRepository wordCloudRepository,
+                          VoteTallyService voteTallyService,
+                          WordCloudEngine wordCloudEngine,
+                          SnapshotService snapshotService,
+                          IdInterner idInterner,
+                          SimpMessagingTemplate messagingTemplate,
+                          @Qualifier("astraExecutor") ExecutorService executor,
+                          @Value("${slides.prewarm-lookahead:3}") int lookahead,
+                          @Value("${slides.max-prepared:10000}") long maxPrepared,
+                          @Value("${slides.prepared-ttl-minutes:30}") long preparedTtlMinutes) {
+        this.pollQuestionRepository = pollQuestionRepository;
+        this.wordCloudRepository = wordCloudRepository;
+        this.voteTallyService = voteTallyService;
+        this.wordCloudEngine = wordCloudEngine;
+        this.snapshotService = snapshotService;
+        this.idInterner = idInterner;
+        this.messagingTemplate = messagingTemplate;
+        this.executor = executor;
+        this.lookahead = lookahead;
+        this.prepared = Caffeine.newBuilder()
+            .maximumSize(maxPrepared)
+            .expireAfterWrite(Duration.ofMinutes(preparedTtlMinutes))
+            .build();
+    }
+
+    /**
+     * Returns the prepared broadcast for {@code questionId}, building it on
+     * the caller's thread when it was not warmed ahead of time.
+     */
+    public PreparedSlide prepare(UUID presentationId, UUID questionId) {
+        PreparedSlide slide = prepared.getIfPresent(questionId);
+        if (isCurrent(slide, presentationId)) {
+            return slide;
+        }
+        Optional<WordCloud> wordCloud = wordCloudRepository.findById(questionId);
+        slide = wordCloud.isPresent()
+            ? prepareWordCloud(presentationId, wordCloud.get())
+            : preparePoll(presentationId, questionId);
+        prepared.put(questionId, slide);
+        return slide;
+    }
+
+    /**
+     * Warms slide {@code index} and the {@code slides.prewarm-lookahead} slides
+     * after it in the background.
+     */
+    public CompletableFuture<Void> prewarm(UUID presentationId, int index) {
+        return CompletableFuture.runAsync(() -> {
+            List<Slide> slides = slides(presentationId);
+            int end = Math.min(slides.size(), index + lookahead + 1);
+            for (int i = Math.max(0, index); i < end; i++) {
+                warm(presentationId, slides.get(i));
+            }
+        }, executor);
+    }
+
+    /** Position of {@code questionId} among the presentation's slides, or -1. */
+    public CompletableFuture<Integer> indexOf(UUID presentationId, UUID questionId) {
+        return CompletableFuture.supplyAsync(() -> {
+            List<Slide> slides = slides(presentationId);
+            for (int i = 0; i < slides.size(); i++) {
+                if (slides.get(i).id().equals(questionId)) {
+                    return i;
+                }
+            }
+            return -1;
+        }, executor);
+    }
+
+    /** Drops the prepared broadcast after the question or word cloud is edited. */
+    public void evict(UUID questionId) {
+        prepared.invalidate(questionId);
+    }
+
+    private void warm(UUID presentationId, Slide slide) {
+        if (isCurrent(prepared.getIfPresent(slide.id()), presentationId)) {
+            return;
+        }
+        try {
+            if (slide.wordCloud()) {
+                // Going through the engine loads its counts as well as the prompt.
+                prepared.put(slide.id(), prepareWordCloud(presentationId, wordCloudEngine.getWordCloud(slide.id())));
+                return;
+            }
+            prepared.put(slide.id(), preparePoll(presentationId, slide.id()));
+            // Results pollers hit this as soon as the question opens.
+            snapshotService.snapshot(slide.id(),
+                () -> CompletableFuture.completedFuture(voteTallyService.getResults(slide.id()))).join();
+        } catch (Exception e) {
+            logger.warn("Error prewarming slide {} of presentation {}: {}", slide.id(), presentationId, e.getMessage());
+        }
+    }
+
+    // A slide prepared before the interner moved to a new generation carries
+    // references binary clients could soon no longer use.
+    private boolean isCurrent(PreparedSlide slide, UUID presentationId) {
+        return slide != null && slide.presentationId().equals(presentationId)
+            && slide.active().getProtocolEpoch() == idInterner.current().epoch();
+    }
+
+    private PreparedSlide preparePoll(UUID presentationId, UUID questionId) {
+        PollQuestion question = voteTallyService.getResults(questionId);
+        ActiveQuestion active = newActiveQuestion(presentationId, questionId);
+        active.setQuestion(question.getQuestion());
+        active.setType(ActiveQuestion.MULTIPLE_CHOICE);
+        active.setOptions(question.getOptions());
+        return new PreparedSlide(presentationId, active, toMessage(active));
+    }
+
+    private PreparedSlide prepareWordCloud(UUID presentationId, WordCloud wordCloud) {
+        ActiveQuestion active = newActiveQuestion(presentationId, wordCloud.getId());
+        active.setQuestion(wordCloud.getPrompt());
+        active.setType(ActiveQuestion.OPEN_ENDED);
+        return new PreparedSlide(presentationId, active, toMessage(active));
+    }
+
+    private ActiveQuestion newActiveQuestion(UUID presentationId, UUID questionId) {
+        ActiveQuestion active = new ActiveQuestion();
+        active.setId(questionId);
+        IdInterner.Generation refs = idInterner.current();
+        active.setPresentationRef(refs.intern(presentationId));
+        active.setQuestionRef(refs.intern(questionId));
+        active.setProtocolEpoch(refs.epoch());
+        return active;
+    }
+
+    // Serialized once with the broker's converter; every send shares the payload.
+    private Message<?> toMessage(ActiveQuestion active) {
+        Message<?> message = messagingTemplate.getMessageConverter().toMessage(active, null);
+        if (message == null) {
+            throw new IllegalStateException("No message converter for active question");
+        }
+        return message;
+    }
+
+    private List<Slide> slides(UUID presentationId) {
+        List<Slide> slides = new ArrayList<>();
+        for (PollQuestion question : pollQuestionRepository.findByPresentationId(presentationId)) {
+            slides.add(new Slide(question.getId(), false, question.getCreatedAt()));
+        }
+        for (WordCloud wordCloud : wordCloudRepository.findByPresentationId(presentationId)) {
+            slides.add(new Slide(wordCloud.getId(), true, wordCloud.getCreatedAt()));
+        }
+        slides.sort(SLIDE_ORDER);
+        return slides;
+    }
+}
@@ -0,0 +1,177 @@
+package com.interactive.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Versioned, pre-serialized JSON for resources that clients poll, such as a
+ * presentation or a poll question's results. Each resource's version moves
+ * when it is {@linkplain #bump bumped} after a write, and the JSON for a
+ * version is built once and shared by every request that asks for it.
+ *
+ * <p>Versions are node-local. ETags carry a random per-process epoch, so a
+ * client that moves to another node or outlives a restart gets a full
+ * response rather than a wrong 304. Writes made on other nodes are picked up
+ * when a snapshot older than {@code snapshots.max-age-ms} is rebuilt; the
+ * version only moves if the rebuilt JSON differs.
+ */
+@Service
+public class SnapshotService {
+    private final ObjectMapper objectMapper;
+    private final long maxAgeNanos;
+    private final long longPollTimeoutMs;
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() >>> 1, 36);
+    // One sequence for every resource, so a version is never reused by an
+    // entry that was evicted and created again.
+    private final AtomicLong sequence = new AtomicLong();
+    private final Cache<UUID, Entry> entries;
+
+    public record Snapshot(long version, String etag, byte[] body, long builtAt) {
+    }
+
+    private static final class Entry {
+        final AtomicLong version;
+        final Set<CompletableFuture<Boolean>> waiters = ConcurrentHashMap.newKeySet();
+        volatile Snapshot snapshot;
+
+        Entry(long version) {
+            this.version = new AtomicLong(version);
+        }
+    }
+
+    @Autowired
+    public SnapshotService(ObjectMapper objectMapper,
+                           @Value("${snapshots.max-entries:50000}") long maxEntries,
+                           @Value("${snapshots.max-age-ms:1000}") long maxAgeMs,
+                           @Value("${snapshots.long-poll-timeout-ms:25000}") long longPollTimeoutMs) {
+        this.objectMapper = objectMapper;
+        this.maxAgeNanos = TimeUnit.MILLISECONDS.toNanos(maxAgeMs);
+        this.longPollTimeoutMs = longPollTimeoutMs;
+        this.entries = Caffeine.newBuilder()
+            .maximumSize(maxEntries)
+            .expireAfterAccess(Duration.ofMinutes(10))
+            .build();
+    }
+
+    /** Marks {@code id} as changed and releases any long-polls parked on it. */
+    public void bump(UUID id) {
+        Entry entry = entries.getIfPresent(id);
+        if (entry != null) {
+            advance(entry);
+        }
+    }
+
+    /**
+     * Returns the snapshot for the current version of {@code id}, calling
+     * {@code loader} only when there is no fresh one to share.
+     */
+    public CompletableFuture<Snapshot> snapshot(UUID id, Supplier<? extends CompletableFuture<?>> loader) {
+        Entry entry = entry(id);
+        long version = entry.version.get();
+        Snapshot current = entry.snapshot;
+        if (current != null && current.version() == version && System.nanoTime() - current.builtAt() < maxAgeNanos) {
+            return CompletableFuture.completedFuture(current);
+        }
+        return loader.get().thenApply(value -> store(entry, version, serialize(value)));
+    }
+
+    /**
+     * Completes with true once the version of {@code id} differs from
+     * {@code sinceVersion}, or with false when the long-poll times out.
+     */
+    public CompletableFuture<Boolean> awaitChange(UUID id, long sinceVersion) {
+        Entry entry = entry(id);
+        if (entry.version.get() != sinceVersion) {
+            return CompletableFuture.completedFuture(true);
+        }
+        CompletableFuture<Boolean> waiter = new CompletableFuture<>();
+        entry.waiters.add(waiter);
+        // Re-check after registering so a bump between the two reads is not missed.
+        if (entry.version.get() != sinceVersion) {
+            entry.waiters.remove(waiter);
+            return CompletableFuture.completedFuture(true);
+        }
+        waiter.whenComplete((changed, e) -> entry.waiters.remove(waiter));
+        return waiter.completeOnTimeout(false, longPollTimeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    private Entry entry(UUID id) {
+        return entries.get(id, key -> new Entry(sequence.incrementAndGet()));
+    }
+
+    private Snapshot store(Entry entry, long version, byte[] body) {
+        Snapshot stored;
+        boolean changed = false;
+        synchronized (entry) {
+            Snapshot current = entry.snapshot;
+            if (current != null && current.version() > version) {
+                // A build for a newer version finished first.
+                return current;
+            }
+            if (current != null && current.version() == version) {
+                if (Arrays.equals(current.body(), body)) {
+                    // Same JSON: keep the version and ETag clients already hold.
+                    stored = new Snapshot(version, current.etag(), current.body(), System.nanoTime());
+                } else {
+                    // The content moved without a local bump, e.g. a write on another node.
+                    version = next(entry);
+                    changed = true;
+                    stored = new Snapshot(version, etag(version), body, System.nanoTime());
+                }
+            } else {
+                stored = new Snapshot(version, etag(version), body, System.nanoTime());
+            }
+            entry.snapshot = stored;
+        }
+        if (changed) {
+            wake(entry);
+        }
+        return stored;
+    }
+
+    private void advance(Entry entry) {
+        next(entry);
+        wake(entry);
+    }
+
+    private long next(Entry entry) {
+        return entry.version.accumulateAndGet(sequence.incrementAndGet(), Math::max);
+    }
+
+    private void wake(Entry entry) {
+        for (CompletableFuture<Boolean> waiter : entry.waiters) {
+            waiter.complete(true);
+        }
+    }
+
+    // Weak, because Tomcat will not compress a response with a strong ETag;
+    // If-None-Match only needs weak comparison.
+    private String etag(long version) {
+        return "W/\"" + epoch + "-" + Long.toString(version, 36) + "\"";
+    }
+
+    private byte[] serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
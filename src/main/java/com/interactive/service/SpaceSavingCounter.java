@@ -0,0 +1,120 @@
+package com.interactive.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Approximate heavy-hitter counter using the Space-Saving algorithm. At most
+ * {@code capacity} terms are tracked; when a new term arrives at capacity it
+ * replaces the least frequent one and inherits its count, so memory stays
+ * fixed while the most frequent terms are always retained.
+ */
+public class SpaceSavingCounter {
+    private static final Comparator<Entry> BY_COUNT =
+        Comparator.comparingLong((Entry e) -> e.count).thenComparing(e -> e.term);
+
+    private final int capacity;
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final TreeSet<Entry> byCount = new TreeSet<>(BY_COUNT);
+    private final Set<String> changed = new HashSet<>();
+    private final Set<String> evicted = new HashSet<>();
+
+    public SpaceSavingCounter(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public synchronized long add(String term, long count) {
+        Entry entry = entries.get(term);
+        if (entry != null) {
+            byCount.remove(entry);
+            entry.count += count;
+        } else if (entries.size() < capacity) {
+            entry = new Entry(term, count);
+            entries.put(term, entry);
+            evicted.remove(term);
+        } else {
+            Entry min = byCount.pollFirst();
+            entries.remove(min.term);
+            changed.remove(min.term);
+            evicted.add(min.term);
+            entry = new Entry(term, min.count + count);
+            entries.put(term, entry);
+            evicted.remove(term);
+        }
+        byCount.add(entry);
+        changed.add(term);
+        return entry.count;
+    }
+
+    /**
+     * Returns the {@code limit} most frequent terms, highest count first.
+     */
+    public synchronized Map<String, Long> top(int limit) {
+        Map<String, Long> top = new LinkedHashMap<>();
+        Iterator<Entry> it = byCount.descendingIterator();
+        while (it.hasNext() && top.size() < limit) {
+            Entry entry = it.next();
+            top.put(entry.term, entry.count);
+        }
+        return top;
+    }
+
+    /**
+     * Returns the counts that changed and the terms that were evicted since
+     * the previous call.
+     */
+    public synchronized Changes drainChanges() {
+        Map<String, Long> counts = new HashMap<>();
+        for (String term : changed) {
+            counts.put(term, entries.get(term).count);
+        }
+        Changes changes = new Changes(counts, new ArrayList<>(evicted));
+        changed.clear();
+        evicted.clear();
+        return changes;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public static final class Changes {
+        private final Map<String, Long> counts;
+        private final List<String> removed;
+
+        Changes(Map<String, Long> counts, List<String> removed) {
+            this.counts = counts;
+            this.removed = removed;
+        }
+
+        public Map<String, Long> getCounts() {
+            return counts;
+        }
+
+        public List<String> getRemoved() {
+            return removed;
+        }
+
+        public boolean isEmpty() {
+            return counts.isEmpty() && removed.isEmpty();
+        }
+    }
+
+    private static final class Entry {
+        private final String term;
+        private long count;
+
+        private Entry(String term, long count) {
+            this.term = term;
+            this.count = count;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.interactive.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interactive.model.ActiveQuestion;
+import com.interactive.model.PollQuestion;
+import com.interactive.model.TallyUpdate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the vote, tally, word cloud and serialization paths on synthetic
+ * data before the node reports ready, so the first audience of a freshly
+ * scaled-out node is not served by the interpreter. Application runners
+ * finish before Spring Boot marks the application as accepting traffic, so
+ * the readiness probe stays down until this returns. Nothing touches the
+ * database or the shared tallies.
+ */
+@Component
+public class StartupWarmup implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(StartupWarmup.class);
+    private static final List<String> OPTIONS = List.of("Alpha", "Beta", "Gamma", "Delta");
+    private static final String[] SUBMISSIONS = {
+        "Scaling", "latency!", "the Deployments", "observability", "cost savings", "On-call"
+    };
+
+    private final ObjectMapper objectMapper;
+    private final WordNormalizer wordNormalizer;
+    private final boolean enabled;
+    private final int iterations;
+    private final long maxDurationNanos;
+
+    @Autowired
+    public StartupWarmup(ObjectMapper objectMapper,
+                         WordNormalizer wordNormalizer,
+                         @Value("${warmup.enabled:true}") boolean enabled,
+                         @Value("${warmup.iterations:20000}") int iterations,
+                         @Value("${warmup.max-duration-ms:5000}") long maxDurationMs) {
+        this.objectMapper = objectMapper;
+        this.wordNormalizer = wordNormalizer;
+        this.enabled = enabled;
+        this.iterations = iterations;
+        this.maxDurationNanos = TimeUnit.MILLISECONDS.toNanos(maxDurationMs);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        PollQuestion question = new PollQuestion();
+        question.setPresentationId(UUID.randomUUID());
+        question.setQuestion("Warm-up question");
+        question.setOptions(OPTIONS);
+        VoteTally tally = new VoteTally(question);
+        SpaceSavingCounter counter = new SpaceSavingCounter(100);
+        byte[] votesFrame = votesFrame(7, 1, 2, OPTIONS.size());
+        int[] questionRefs = {2};
+        long sink = 0;
+
+        int done = 0;
+        for (; done < iterations && System.nanoTime() - start < maxDurationNanos; done++) {
+            int option = done % OPTIONS.size();
+            tally.castBallot(done % 1024, option, done);
+            tally.increment(option);
+            sink += BinaryProtocol.decodeVotes(votesFrame, 7, (presentationRef, questionRef, vote) -> { });
+            for (String token : wordNormalizer.normalize(SUBMISSIONS[done % SUBMISSIONS.length])) {
+                counter.add(token, 1);
+            }
+            if (done % 16 == 0) {
+                question.setVotes(tally.snapshot());
+                sink += BinaryProtocol.encodeTallies(7, 1, questionRefs, List.of(question.getVotes())).length;
+                sink += serialize(question) + serialize(toUpdate(question)) + serialize(toActive(question));
+                counter.top(10);
+                counter.drainChanges();
+            }
+        }
+        logger.info("Startup warm-up ran {} iterations in {} ms ({})", done,
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), sink);
+    }
+
+    private int serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value).length;
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static TallyUpdate toUpdate(PollQuestion question) {
+        TallyUpdate update = new TallyUpdate();
+        update.setQuestionId(question.getId());
+        update.setOptions(question.getOptions());
+        update.setVotes(question.getVotes());
+        return update;
+    }
+
+    private static ActiveQuestion toActive(PollQuestion question) {
+        ActiveQuestion active = new ActiveQuestion();
+        active.setId(question.getId());
+        active.setQuestion(question.getQuestion());
+        active.setType(ActiveQuestion.MULTIPLE_CHOICE);
+        active.setOptions(question.getOptions());
+        return active;
+    }
+
+    // A votes frame with one record per option; see BinaryProtocol.
+    private static byte[] votesFrame(int epoch, int presentationRef, int questionRef, int options) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(BinaryProtocol.VOTES);
+        writeVarint(out, epoch);
+        for (int option = 0; option < options; option++) {
+            writeVarint(out, presentationRef);
+            writeVarint(out, questionRef);
+            out.write(option);
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+}
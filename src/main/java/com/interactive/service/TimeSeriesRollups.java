@@ -0,0 +1,251 @@
+package com.interactive.service;
+
+import com.interactive.admission.AdmissionRejectedException;
+import com.interactive.model.Rollup;
+import com.interactive.model.TimelinePoint;
+import com.interactive.repository.RollupRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts votes per poll question and word submissions per word cloud in
+ * one-second buckets and persists them as rollup documents at three
+ * resolutions: 1s points in one-minute windows, 10s points in ten-minute
+ * windows and 1m points in one-hour windows. Each window is a single
+ * document of at most 60 slots, so a voting-over-time chart reads a handful
+ * of documents instead of every response.
+ *
+ * <p>Buckets are drained like {@link VoteCounterBuffer}: once a second has
+ * passed its counts are taken with getAndSet, folded into every tier, and
+ * written as one $inc per window. A $inc is not idempotent, so only a window
+ * shed by admission control before it was sent is retried on the next
+ * flush; any other failure may have applied it, and the window is dropped
+ * and counted in {@link #droppedWindows()}. Votes count ballots cast, so a
+ * changed vote is counted again for its new option.
+ */
+@Service
+public class TimeSeriesRollups {
+    private static final Logger logger = LoggerFactory.getLogger(TimeSeriesRollups.class);
+    private static final Map<String, Tier> TIERS = new LinkedHashMap<>();
+    // Seconds a drained bucket is kept for increments that computed their
+    // second just before it ended.
+    private static final long RETAIN_SECONDS = 5;
+
+    static {
+        for (Tier tier : List.of(new Tier("1s", 1, 60), new Tier("10s", 10, 600), new Tier("1m", 60, 3600))) {
+            TIERS.put(tier.name(), tier);
+        }
+    }
+
+    private final RollupRepository rollupRepository;
+    private final ExecutorService executor;
+    private final int defaultPoints;
+    private final int maxPoints;
+    private final int maxRetainedWindows;
+    private final ConcurrentMap<Bucket, AtomicLongArray> pending = new ConcurrentHashMap<>();
+    // Only touched by flush, which is synchronized.
+    private final Map<String, Rollup> failed = new HashMap<>();
+    private final AtomicLong droppedWindows = new AtomicLong();
+
+    /** A resolution: one point every {@code step} seconds, one document every {@code span}. */
+    public record Tier(String name, int step, int span) {
+    }
+
+    private record Bucket(UUID subjectId, String kind, long second) {
+    }
+
+    @Autowired
+    public TimeSeriesRollups(RollupRepository rollupRepository,
+                             @Qualifier("astraExecutor") ExecutorService executor,
+                             @Value("${rollups.default-points:360}") int defaultPoints,
+                             @Value("${rollups.max-points:1440}") int maxPoints,
+                             @Value("${rollups.max-retained-windows:10000}") int maxRetainedWindows) {
+        this.rollupRepository = rollupRepository;
+        this.executor = executor;
+        this.defaultPoints = defaultPoints;
+        this.maxPoints = maxPoints;
+        this.maxRetainedWindows = maxRetainedWindows;
+    }
+
+    public static Optional<Tier> tier(String name) {
+        return Optional.ofNullable(TIERS.get(name));
+    }
+
+    public void recordVote(UUID pollQuestionId, int optionCount, int option) {
+        add(pollQuestionId, Rollup.VOTES, optionCount, option);
+    }
+
+    public void recordWord(UUID wordCloudId) {
+        add(wordCloudId, Rollup.WORDS, 1, 0);
+    }
+
+    private void add(UUID subjectId, String kind, int width, int index) {
+        Bucket bucket = new Bucket(subjectId, kind, Instant.now().getEpochSecond());
+        AtomicLongArray counts = pending.get(bucket);
+        if (counts == null) {
+            counts = pending.computeIfAbsent(bucket, b -> new AtomicLongArray(width));
+        }
+        if (index < counts.length()) {
+            counts.incrementAndGet(index);
+        }
+    }
+
+    /** Windows given up on, either unconfirmed or with the retry queue full. */
+    public long droppedWindows() {
+        return droppedWindows.get();
+    }
+
+    @Scheduled(fixedDelayString = "${rollups.flush-interval-ms:2000}")
+    public void flush() {
+        flush(Instant.now().getEpochSecond());
+    }
+
+    // Drains buckets for seconds before upTo; the current second is still filling.
+    private synchronized void flush(long upTo) {
+        Map<String, Rollup> windows = new HashMap<>(failed);
+        failed.clear();
+        for (Map.Entry<Bucket, AtomicLongArray> entry : pending.entrySet()) {
+            Bucket bucket = entry.getKey();
+            if (bucket.second() >= upTo) {
+                continue;
+            }
+            AtomicLongArray counts = entry.getValue();
+            boolean drained = true;
+            for (int option = 0; option < counts.length(); option++) {
+                long delta = counts.getAndSet(option, 0);
+                if (delta != 0) {
+                    drained = false;
+                    for (Tier tier : TIERS.values()) {
+                        addPoint(windows, bucket, tier, option, delta);
+                    }
+                }
+            }
+            if (drained && bucket.second() < upTo - RETAIN_SECONDS) {
+                pending.remove(bucket, counts);
+            }
+        }
+        for (Rollup window : windows.values()) {
+            try {
+                rollupRepository.increment(window);
+            } catch (AdmissionRejectedException e) {
+                if (failed.size() < maxRetainedWindows) {
+                    failed.put(window.getId(), window);
+                    logger.warn("Re-queueing rollup {}: {}", window.getId(), e.getMessage());
+                } else {
+                    droppedWindows.incrementAndGet();
+                    logger.error("Dropping rollup {}, {} windows already waiting: {}",
+                        window.getId(), failed.size(), e.getMessage());
+                }
+            } catch (Exception e) {
+                droppedWindows.incrementAndGet();
+                logger.error("Not retrying rollup {}, it may not have been applied: {}",
+                    window.getId(), e.getMessage());
+            }
+        }
+    }
+
+    private static void addPoint(Map<String, Rollup> windows, Bucket bucket, Tier tier, int option, long delta) {
+        long start = bucket.second() - Math.floorMod(bucket.second(), tier.span());
+        String id = Rollup.id(bucket.subjectId(), tier.name(), start);
+        Rollup window = windows.computeIfAbsent(id, key -> {
+            Rollup rollup = new Rollup();
+            rollup.setId(key);
+            rollup.setSubjectId(bucket.subjectId());
+            rollup.setKind(bucket.kind());
+            rollup.setTier(tier.name());
+            rollup.setStart(start);
+            rollup.setStep(tier.step());
+            return rollup;
+        });
+        String slot = String.valueOf((bucket.second() - start) / tier.step());
+        window.getPoints().computeIfAbsent(slot, s -> new HashMap<>())
+            .merge(String.valueOf(option), delta, Long::sum);
+    }
+
+    /**
+     * Points of {@code tier} between {@code from} and {@code to}, one per step
+     * with empty steps as zeros. Defaults to the last
+     * {@code rollups.default-points} steps and keeps at most
+     * {@code rollups.max-points}, the most recent. Counts from the last flush
+     * interval are not included yet.
+     */
+    public CompletableFuture<List<TimelinePoint>> timeline(UUID subjectId, Tier tier, Instant from, Instant to) {
+        long step = tier.step();
+        long last = floor(to != null ? to.getEpochSecond() : Instant.now().getEpochSecond(), step);
+        long first = from != null ? floor(from.getEpochSecond(), step) : last - (defaultPoints - 1) * step;
+        first = Math.max(first, last - (maxPoints - 1) * step);
+        if (first > last) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        long rangeStart = first;
+        return CompletableFuture.supplyAsync(() -> toPoints(
+            rollupRepository.findBySubject(subjectId, tier.name(), floor(rangeStart, tier.span()), last),
+            tier, rangeStart, last), executor);
+    }
+
+    private static List<TimelinePoint> toPoints(List<Rollup> windows, Tier tier, long first, long last) {
+        int size = (int) ((last - first) / tier.step()) + 1;
+        long[][] counts = new long[size][];
+        int width = 1;
+        for (Rollup window : windows) {
+            for (Map.Entry<String, Map<String, Long>> slot : window.getPoints().entrySet()) {
+                long time = window.getStart() + Long.parseLong(slot.getKey()) * tier.step();
+                if (time < first || time > last) {
+                    continue;
+                }
+                int index = (int) ((time - first) / tier.step());
+                for (Map.Entry<String, Long> count : slot.getValue().entrySet()) {
+                    int option = Integer.parseInt(count.getKey());
+                    if (counts[index] == null || counts[index].length <= option) {
+                        long[] grown = new long[option + 1];
+                        if (counts[index] != null) {
+                            System.arraycopy(counts[index], 0, grown, 0, counts[index].length);
+                        }
+                        counts[index] = grown;
+                    }
+                    counts[index][option] += count.getValue();
+                    width = Math.max(width, option + 1);
+                }
+            }
+        }
+        List<TimelinePoint> points = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            List<Long> values = new ArrayList<>(width);
+            for (int option = 0; option < width; option++) {
+                values.add(counts[i] != null && option < counts[i].length ? counts[i][option] : 0L);
+            }
+            points.add(new TimelinePoint(Instant.ofEpochSecond(first + (long) i * tier.step()), values));
+        }
+        return points;
+    }
+
+    private static long floor(long second, long step) {
+        return second - Math.floorMod(second, step);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush(Long.MAX_VALUE);
+    }
+}
@@ -0,0 +1,191 @@
+package com.interactive.service;
+
+import com.interactive.admission.AdmissionRejectedException;
+import com.interactive.cluster.ClusterNode;
+import com.interactive.repository.PollQuestionRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Accumulates vote deltas per poll question and applies them to the
+ * poll_questions document as one $inc per question per flush, so hundreds of
+ * votes for the same option become a single small write.
+ *
+ * <p>A $inc is not idempotent, so deltas go back into the buffer only when
+ * the write was shed by admission control before it was sent. Any other
+ * failure may or may not have been applied; its deltas are not retried and
+ * are counted in {@link #unconfirmedVotes()} instead.
+ *
+ * <p>In cluster mode every written delta is reported to the {@link ClusterNode},
+ * so other nodes know that part of this node's votes is already in Astra.
+ */
+@Component
+public class VoteCounterBuffer {
+    private static final Logger logger = LoggerFactory.getLogger(VoteCounterBuffer.class);
+
+    private final PollQuestionRepository pollQuestionRepository;
+    private final ClusterNode clusterNode;
+    private final ConcurrentMap<UUID, Pending> pending = new ConcurrentHashMap<>();
+    private final AtomicLong unconfirmedVotes = new AtomicLong();
+
+    // Deltas not yet taken by a flush, and the future of the flush that will
+    // take them. Durable adds hold the read lock so they cannot land between
+    // a flush swapping the future and draining the deltas.
+    private static final class Pending {
+        private final AtomicLongArray counts;
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private CompletableFuture<Void> written = new CompletableFuture<>();
+
+        private Pending(int optionCount) {
+            this.counts = new AtomicLongArray(optionCount);
+        }
+    }
+
+    @Autowired
+    public VoteCounterBuffer(PollQuestionRepository pollQuestionRepository,
+                             ObjectProvider<ClusterNode> clusterNode) {
+        this.pollQuestionRepository = pollQuestionRepository;
+        this.clusterNode = clusterNode.getIfAvailable();
+    }
+
+    public void add(UUID pollQuestionId, int optionCount, int option, long delta) {
+        pending(pollQuestionId, optionCount).counts.addAndGet(option, delta);
+    }
+
+    /**
+     * Adds one vote for {@code option}, and takes one from {@code previous}
+     * when it is not negative, and returns a future that completes once the
+     * flush carrying both deltas has written them, or fails with that write.
+     */
+    public CompletableFuture<Void> addDurable(UUID pollQuestionId, int optionCount, int option, int previous) {
+        Pending counts = pending(pollQuestionId, optionCount);
+        counts.lock.readLock().lock();
+        try {
+            counts.counts.incrementAndGet(option);
+            if (previous >= 0) {
+                counts.counts.decrementAndGet(previous);
+            }
+            return counts.written;
+        } finally {
+            counts.lock.readLock().unlock();
+        }
+    }
+
+    /** Votes counted in memory that have not been written to Astra yet. */
+    public long pendingVotes() {
+        long pendingVotes = 0;
+        for (Pending counts : pending.values()) {
+            for (int option = 0; option < counts.counts.length(); option++) {
+                pendingVotes += counts.counts.get(option);
+            }
+        }
+        return pendingVotes;
+    }
+
+    /** Votes whose write failed in a way that may or may not have applied it. */
+    public long unconfirmedVotes() {
+        return unconfirmedVotes.get();
+    }
+
+    @Scheduled(fixedDelayString = "${votes.counter.flush-interval-ms:250}")
+    public void flush() {
+        for (UUID pollQuestionId : pending.keySet()) {
+            flush(pollQuestionId);
+        }
+    }
+
+    /**
+     * Writes the deltas buffered for one question. The returned future
+     * completes when they are written, and fails when the write failed.
+     */
+    public CompletableFuture<Void> flush(UUID pollQuestionId) {
+        Pending counts = pending.get(pollQuestionId);
+        if (counts == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        // getAndSet hands each delta to exactly one flush; votes that land
+        // after the swap are picked up next time.
+        Map<Integer, Long> deltas = new HashMap<>();
+        CompletableFuture<Void> written;
+        counts.lock.writeLock().lock();
+        try {
+            written = counts.written;
+            counts.written = new CompletableFuture<>();
+            for (int option = 0; option < counts.counts.length(); option++) {
+                long delta = counts.counts.getAndSet(option, 0);
+                if (delta != 0) {
+                    deltas.put(option, delta);
+                }
+            }
+        } finally {
+            counts.lock.writeLock().unlock();
+        }
+        if (deltas.isEmpty()) {
+            written.complete(null);
+            return written;
+        }
+        try {
+            pollQuestionRepository.incrementVotes(pollQuestionId, deltas);
+            if (clusterNode != null) {
+                deltas.forEach((option, delta) -> clusterNode.persisted(pollQuestionId, String.valueOf(option), delta));
+            }
+            written.complete(null);
+        } catch (AdmissionRejectedException e) {
+            // Shed before it was sent, so the deltas ride on the next flush,
+            // and so do the durable votes waiting on this one.
+            logger.warn("Re-queueing {} vote deltas for poll question {}: {}",
+                deltas.size(), pollQuestionId, e.getMessage());
+            CompletableFuture<Void> next;
+            counts.lock.readLock().lock();
+            try {
+                deltas.forEach((option, delta) -> counts.counts.addAndGet(option, delta));
+                next = counts.written;
+            } finally {
+                counts.lock.readLock().unlock();
+            }
+            next.whenComplete((ignored, error) -> {
+                if (error != null) {
+                    written.completeExceptionally(error);
+                } else {
+                    written.complete(null);
+                }
+            });
+        } catch (Exception e) {
+            long votes = 0;
+            for (long delta : deltas.values()) {
+                votes += Math.abs(delta);
+            }
+            unconfirmedVotes.addAndGet(votes);
+            logger.error("Not retrying {} vote deltas for poll question {}, they may not have been applied: {}",
+                deltas.size(), pollQuestionId, e.getMessage());
+            written.completeExceptionally(e);
+        }
+        return written;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private Pending pending(UUID pollQuestionId, int optionCount) {
+        Pending counts = pending.get(pollQuestionId);
+        return counts != null ? counts : pending.computeIfAbsent(pollQuestionId, id -> new Pending(optionCount));
+    }
+}
@@ -0,0 +1,159 @@
+package com.interactive.service;
+
+import com.interactive.model.PollQuestion;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live vote counts for a single poll question. Each option has its own
+ * {@link LongAdder}, so concurrent voters on the same option do not contend
+ * on one memory location and reading the tally is O(options). Votes that
+ * carry a voter identity go through {@link #castBallot}, which keeps one
+ * ballot per voter. Voter ids are numbered per tally, so they go when the
+ * tally does, and a tally takes at most {@code maxVoters} of them.
+ */
+public class VoteTally {
+    /** Returned by {@link #castBallot} when the ballot was a repeat or older than the one held. */
+    public static final int UNCHANGED = -2;
+    /** Returned by {@link #castBallot} for a voter's first ballot. */
+    public static final int FIRST_BALLOT = -1;
+
+    private final LongAdder[] counters;
+    private volatile PollQuestion question;
+    private final VoterBallots ballots = new VoterBallots();
+    private final ConcurrentMap<String, Integer> voterRefs = new ConcurrentHashMap<>();
+    private final AtomicInteger nextVoterRef = new AtomicInteger();
+    private final int maxVoters;
+
+    public VoteTally(PollQuestion question) {
+        this(question, Integer.MAX_VALUE);
+    }
+
+    public VoteTally(PollQuestion question, int maxVoters) {
+        this.question = question;
+        this.maxVoters = maxVoters;
+        this.counters = new LongAdder[question.getOptions().size()];
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = new LongAdder();
+        }
+    }
+
+    public PollQuestion getQuestion() {
+        return question;
+    }
+
+    /** Swaps in an edited question. Its option count must not change. */
+    public void setQuestion(PollQuestion question) {
+        if (question.getOptions().size() != counters.length) {
+            throw new IllegalArgumentException("Question " + question.getId() + " now has "
+                + question.getOptions().size() + " options, the tally counts " + counters.length);
+        }
+        this.question = question;
+    }
+
+    public int optionCount() {
+        return counters.length;
+    }
+
+    public boolean isValidOption(int option) {
+        return option >= 0 && option < counters.length;
+    }
+
+    public void increment(int option) {
+        counters[option].increment();
+    }
+
+    public void add(int option, long delta) {
+        counters[option].add(delta);
+    }
+
+    /**
+     * The ref {@link #castBallot} knows {@code voterId} by. Throws
+     * {@link IllegalStateException} for a new voter once the tally holds
+     * {@code maxVoters} ballots.
+     */
+    public int voterRef(String voterId) {
+        Integer ref = voterRefs.get(voterId);
+        return ref != null ? ref : voterRefs.computeIfAbsent(voterId, id -> {
+            int next = nextVoterRef.getAndIncrement();
+            if (next >= maxVoters) {
+                throw new IllegalStateException("Poll question " + question.getId()
+                    + " already has " + maxVoters + " voters");
+            }
+            return next;
+        });
+    }
+
+    /**
+     * Replays a persisted ballot. Voters already on record are never turned
+     * away, so this ignores {@code maxVoters}.
+     */
+    public void replayBallot(String voterId, int option, long sequence) {
+        Integer ref = voterRefs.computeIfAbsent(voterId, id -> nextVoterRef.getAndIncrement());
+        castBallot(ref, option, sequence);
+    }
+
+    /**
+     * Records {@code voter}'s choice, replacing any earlier one. A ballot with
+     * a sequence number no newer than the held one, or for the option already
+     * held, changes nothing. Pass a negative {@code sequence} when the client
+     * sends none; such ballots always count as newer.
+     *
+     * @return the option the voter held before, {@link #FIRST_BALLOT}, or {@link #UNCHANGED}
+     */
+    public int castBallot(int voter, int option, long sequence) {
+        while (true) {
+            long held = ballots.get(voter);
+            long next = sequence >= 0 ? sequence
+                : held == VoterBallots.NONE ? 0 : VoterBallots.sequence(held) + 1;
+            if (held != VoterBallots.NONE) {
+                if (sequence >= 0 && next <= VoterBallots.sequence(held)) {
+                    return UNCHANGED;
+                }
+                if (VoterBallots.option(held) == option) {
+                    // Remember the newer sequence so an older retry of a
+                    // different option is still recognized as stale.
+                    if (sequence < 0 || ballots.compareAndSet(voter, held, VoterBallots.ballot(next, option))) {
+                        return UNCHANGED;
+                    }
+                    continue;
+                }
+            }
+            if (ballots.compareAndSet(voter, held, VoterBallots.ballot(next, option))) {
+                counters[option].increment();
+                if (held == VoterBallots.NONE) {
+                    return FIRST_BALLOT;
+                }
+                int previous = VoterBallots.option(held);
+                counters[previous].decrement();
+                return previous;
+            }
+        }
+    }
+
+    /** True when {@link #castBallot} with these arguments would change nothing. */
+    public boolean isUnchanged(int voter, int option, long sequence) {
+        long held = ballots.get(voter);
+        if (held == VoterBallots.NONE) {
+            return false;
+        }
+        return (sequence >= 0 && sequence <= VoterBallots.sequence(held)) || VoterBallots.option(held) == option;
+    }
+
+    public long count(int option) {
+        return counters[option].sum();
+    }
+
+    public List<Integer> snapshot() {
+        List<Integer> votes = new ArrayList<>(counters.length);
+        for (LongAdder counter : counters) {
+            votes.add((int) Math.min(Integer.MAX_VALUE, counter.sum()));
+        }
+        return votes;
+    }
+}
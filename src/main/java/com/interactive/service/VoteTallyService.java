@@ -0,0 +1,440 @@
+package com.interactive.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.interactive.cluster.ClusterNode;
+import com.interactive.model.PollQuestion;
+import com.interactive.model.Response;
+import com.interactive.repository.PollQuestionRepository;
+import com.interactive.repository.ResponseRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Single source of live poll results. Votes are counted in memory and
+ * persisted either as response documents through the write-behind queue or,
+ * in counter mode, as merged $inc updates on the poll question itself. A
+ * question's tally is rebuilt from Astra the first time it is touched after a
+ * restart. At most {@code votes.max-tallies} tallies are kept, and one left
+ * idle for {@code votes.tally-idle-minutes} is dropped and rebuilt when it is
+ * next used.
+ *
+ * <p>Votes that carry a voter id are idempotent: each voter holds one ballot
+ * per question, keyed on (pollQuestionId, voterId) and ordered by the
+ * client's sequence number, so retries and double submits are dropped in
+ * memory and a changed vote moves one count from the old option to the new.
+ * A question takes ballots from at most {@code votes.max-voters-per-question}
+ * voters, and voter ids longer than {@value #MAX_VOTER_ID_LENGTH} characters
+ * are refused.
+ *
+ * <p>In cluster mode each vote this node counts is also added to its
+ * {@link ClusterNode} replica and marked persisted there once it is written,
+ * and votes other nodes counted are applied to the local tally as they
+ * arrive, so every node serves cluster-wide results. A tally loaded from
+ * Astra attaches to its subject on the cluster node, which adds the votes
+ * no node has persisted yet; see {@link ClusterNode} for how the two are
+ * reconciled. Ballot de-duplication is per node; presentation-affinity
+ * routing keeps a presentation's voters on its owner.
+ */
+@Service
+public class VoteTallyService {
+    private static final Logger logger = LoggerFactory.getLogger(VoteTallyService.class);
+    static final String MODE_RESPONSES = "responses";
+    static final String MODE_COUNTERS = "counters";
+    static final int MAX_VOTER_ID_LENGTH = 128;
+    private static final Comparator<Response> BALLOT_ORDER = Comparator
+        .comparing(Response::getCreatedAt, Comparator.nullsFirst(Comparator.naturalOrder()))
+        .thenComparing(Response::getId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final PollQuestionRepository pollQuestionRepository;
+    private final ResponseRepository responseRepository;
+    private final WriteBehindService writeBehindService;
+    private final VoteCounterBuffer voteCounterBuffer;
+    private final TimeSeriesRollups timeSeriesRollups;
+    private final ClusterNode clusterNode;
+    private final boolean counterMode;
+    private final Timer voteTimer;
+    private final Cache<UUID, VoteTally> tallies;
+    private final int maxVotersPerQuestion;
+
+    @Autowired
+    public VoteTallyService(PollQuestionRepository pollQuestionRepository,
+                            ResponseRepository responseRepository,
+                            WriteBehindService writeBehindService,
+                            VoteCounterBuffer voteCounterBuffer,
+                            TimeSeriesRollups timeSeriesRollups,
+                            ObjectProvider<ClusterNode> clusterNode,
+                            MeterRegistry meterRegistry,
+                            @Value("${votes.persistence:" + MODE_RESPONSES + "}") String persistenceMode,
+                            @Value("${votes.max-tallies:100000}") long maxTallies,
+                            @Value("${votes.tally-idle-minutes:120}") long tallyIdleMinutes,
+                            @Value("${votes.max-voters-per-question:100000}") int maxVotersPerQuestion) {
+        this.pollQuestionRepository = pollQuestionRepository;
+        this.responseRepository = responseRepository;
+        this.writeBehindService = writeBehindService;
+        this.voteCounterBuffer = voteCounterBuffer;
+        this.timeSeriesRollups = timeSeriesRollups;
+        this.clusterNode = clusterNode.getIfAvailable();
+        this.counterMode = MODE_COUNTERS.equals(persistenceMode);
+        this.maxVotersPerQuestion = maxVotersPerQuestion;
+        this.voteTimer = Timer.builder("votes.recorded")
+            .tag("mode", counterMode ? MODE_COUNTERS : MODE_RESPONSES)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        this.tallies = Caffeine.newBuilder()
+            .maximumSize(maxTallies)
+            .expireAfterAccess(Duration.ofMinutes(tallyIdleMinutes))
+            .removalListener(this::removed)
+            .build();
+    }
+
+    public Response recordVote(UUID pollQuestionId, int selectedOption) {
+        return recordVote(pollQuestionId, selectedOption, false);
+    }
+
+    /**
+     * Counts a vote and queues it for persistence. With {@code durable} set the
+     * call returns only after the vote has been written to Astra.
+     */
+    public Response recordVote(UUID pollQuestionId, int selectedOption, boolean durable) {
+        return recordVote(pollQuestionId, selectedOption, null, null, durable);
+    }
+
+    /**
+     * Counts a vote from {@code voterId}, or an anonymous one when it is null.
+     * Returns null when the vote repeats or is older than the voter's current
+     * ballot; nothing is counted or written in that case.
+     */
+    public Response recordVote(UUID pollQuestionId, int selectedOption, String voterId, Long clientSeq,
+                               boolean durable) {
+        Response response = voteTimer.record(
+            () -> countVote(pollQuestionId, selectedOption, voterId, clientSeq, durable));
+        if (response != null) {
+            timeSeriesRollups.recordVote(pollQuestionId, getTally(pollQuestionId).optionCount(), selectedOption);
+        }
+        return response;
+    }
+
+    private Response countVote(UUID pollQuestionId, int selectedOption, String voterId, Long clientSeq,
+                               boolean durable) {
+        VoteTally tally = getTally(pollQuestionId);
+        checkOption(tally, selectedOption);
+        Response response = new Response();
+        response.setPollQuestionId(pollQuestionId);
+        response.setSelectedOption(selectedOption);
+        if (voterId != null) {
+            if (voterId.length() > MAX_VOTER_ID_LENGTH) {
+                throw new IllegalArgumentException("Voter id longer than " + MAX_VOTER_ID_LENGTH + " characters");
+            }
+            if (!isValidClientSeq(clientSeq)) {
+                throw new IllegalArgumentException("Client sequence " + clientSeq + " out of range");
+            }
+            response.setVoterId(voterId);
+            response.setClientSeq(clientSeq);
+            return castBallot(tally, response, durable);
+        }
+        if (counterMode) {
+            tally.increment(selectedOption);
+            replicate(tally, selectedOption, -1);
+            buffer(pollQuestionId, tally.optionCount(), selectedOption, -1, durable);
+            return response;
+        }
+        // Queue first so a vote rejected by backpressure is never counted.
+        CompletableFuture<Void> written = writeBehindService.submitResponse(response);
+        tally.increment(selectedOption);
+        replicate(tally, selectedOption, -1);
+        markPersisted(written, tally, selectedOption, -1);
+        if (durable) {
+            writeBehindService.awaitWritten(written);
+        }
+        return response;
+    }
+
+    /** True when {@code clientSeq} is absent or a sequence number ballots can hold. */
+    public static boolean isValidClientSeq(Long clientSeq) {
+        return clientSeq == null || (clientSeq >= 0 && clientSeq < VoterBallots.SEQUENCE_LIMIT);
+    }
+
+    /** The presentation a poll question belongs to. */
+    public UUID presentationOf(UUID pollQuestionId) {
+        return getTally(pollQuestionId).getQuestion().getPresentationId();
+    }
+
+    /** Throws {@link IllegalArgumentException} when {@code option} is not one of the question's. */
+    public void checkOption(UUID pollQuestionId, int option) {
+        checkOption(getTally(pollQuestionId), option);
+    }
+
+    private static void checkOption(VoteTally tally, int option) {
+        if (!tally.isValidOption(option)) {
+            throw new IllegalArgumentException("Invalid option " + option
+                + " for poll question " + tally.getQuestion().getId());
+        }
+    }
+
+    private Response castBallot(VoteTally tally, Response response, boolean durable) {
+        UUID pollQuestionId = response.getPollQuestionId();
+        int voter = tally.voterRef(response.getVoterId());
+        int option = response.getSelectedOption();
+        long sequence = response.getClientSeq() != null ? response.getClientSeq() : -1;
+        if (counterMode) {
+            int previous = tally.castBallot(voter, option, sequence);
+            if (previous == VoteTally.UNCHANGED) {
+                return null;
+            }
+            replicate(tally, option, previous);
+            buffer(pollQuestionId, tally.optionCount(), option, previous, durable);
+            return response;
+        }
+        if (tally.isUnchanged(voter, option, sequence)) {
+            return null;
+        }
+        // Queue before counting, as for anonymous votes. Two copies of the same
+        // ballot racing past the check may both be written; only one is
+        // counted, and a rebuild keeps the voter's latest ballot either way.
+        CompletableFuture<Void> written = writeBehindService.submitResponse(response);
+        int previous = tally.castBallot(voter, option, sequence);
+        if (previous != VoteTally.UNCHANGED) {
+            replicate(tally, option, previous);
+            markPersisted(written, tally, option, previous);
+        }
+        if (durable) {
+            writeBehindService.awaitWritten(written);
+        }
+        return response;
+    }
+
+    // Counter mode. A durable vote flushes its question and waits for the
+    // flush that actually took its deltas, which may be a scheduled one
+    // already writing.
+    private void buffer(UUID pollQuestionId, int optionCount, int option, int previous, boolean durable) {
+        if (!durable) {
+            voteCounterBuffer.add(pollQuestionId, optionCount, option, 1);
+            if (previous >= 0) {
+                voteCounterBuffer.add(pollQuestionId, optionCount, previous, -1);
+            }
+            return;
+        }
+        CompletableFuture<Void> written = voteCounterBuffer.addDurable(pollQuestionId, optionCount, option, previous);
+        voteCounterBuffer.flush(pollQuestionId);
+        writeBehindService.awaitWritten(written);
+    }
+
+    // previous is the option a changed ballot left, or negative for a new vote.
+    private void replicate(VoteTally tally, int option, int previous) {
+        if (clusterNode == null) {
+            return;
+        }
+        PollQuestion question = tally.getQuestion();
+        clusterNode.add(question.getPresentationId(), question.getId(), ClusterNode.VOTES, String.valueOf(option), 1);
+        if (previous >= 0) {
+            clusterNode.add(question.getPresentationId(), question.getId(), ClusterNode.VOTES,
+                String.valueOf(previous), -1);
+        }
+    }
+
+    // Responses mode. Registered after replicate(), so the mark never runs
+    // ahead of the count it covers; a write that fails is never marked.
+    private void markPersisted(CompletableFuture<Void> written, VoteTally tally, int option, int previous) {
+        if (clusterNode == null) {
+            return;
+        }
+        UUID pollQuestionId = tally.getQuestion().getId();
+        written.thenRun(() -> {
+            clusterNode.persisted(pollQuestionId, String.valueOf(option), 1);
+            if (previous >= 0) {
+                clusterNode.persisted(pollQuestionId, String.valueOf(previous), -1);
+            }
+        });
+    }
+
+    /**
+     * Applies votes another node counted. Returns false when the tally is not
+     * loaded here; the cluster node keeps them, and they are added when the
+     * tally is loaded unless Astra has them by then.
+     */
+    public boolean applyRemote(UUID pollQuestionId, int option, long delta) {
+        VoteTally tally = tallies.getIfPresent(pollQuestionId);
+        if (tally == null || !tally.isValidOption(option)) {
+            return false;
+        }
+        tally.add(option, delta);
+        return true;
+    }
+
+    /**
+     * Maps a client-supplied response to an option index. Clients may send
+     * either the option text or the index itself.
+     */
+    public int resolveOption(UUID pollQuestionId, String response) {
+        if (response == null) {
+            throw new IllegalArgumentException("Missing response for poll question " + pollQuestionId);
+        }
+        int index = getTally(pollQuestionId).getQuestion().getOptions().indexOf(response);
+        if (index >= 0) {
+            return index;
+        }
+        try {
+            return Integer.parseInt(response.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Unknown option '" + response
+                + "' for poll question " + pollQuestionId);
+        }
+    }
+
+    public List<Integer> getVotes(UUID pollQuestionId) {
+        return getTally(pollQuestionId).snapshot();
+    }
+
+    public PollQuestion getResults(UUID pollQuestionId) {
+        VoteTally tally = getTally(pollQuestionId);
+        PollQuestion source = tally.getQuestion();
+        PollQuestion results = new PollQuestion();
+        results.setId(source.getId());
+        results.setPresentationId(source.getPresentationId());
+        results.setQuestion(source.getQuestion());
+        results.setOptions(source.getOptions());
+        results.setActive(source.isActive());
+        results.setCreatedAt(source.getCreatedAt());
+        results.setVotes(tally.snapshot());
+        return results;
+    }
+
+    /**
+     * Makes results and new votes use an edited question. A tally whose
+     * question kept its number of options keeps its counts; otherwise it is
+     * dropped and rebuilt from Astra when next used.
+     */
+    public void refresh(PollQuestion question) {
+        VoteTally tally = tallies.getIfPresent(question.getId());
+        if (tally == null) {
+            return;
+        }
+        if (tally.optionCount() == question.getOptions().size()) {
+            tally.setQuestion(question);
+        } else {
+            evict(question.getId());
+        }
+    }
+
+    // Counter-mode deltas are written before the tally goes, so the rebuild
+    // reads them back from the question document. In responses mode the
+    // rebuild adds the responses still in the write-behind queue.
+    public void evict(UUID pollQuestionId) {
+        if (counterMode) {
+            voteCounterBuffer.flush(pollQuestionId);
+        }
+        tallies.invalidate(pollQuestionId);
+    }
+
+    private void removed(UUID pollQuestionId, VoteTally tally, RemovalCause cause) {
+        if (pollQuestionId == null) {
+            return;
+        }
+        if (counterMode && cause.wasEvicted()) {
+            voteCounterBuffer.flush(pollQuestionId);
+        }
+        // Every tally in the map attached once when it was loaded.
+        if (clusterNode != null) {
+            clusterNode.detach(pollQuestionId);
+        }
+    }
+
+    VoteTally getTally(UUID pollQuestionId) {
+        VoteTally tally = tallies.getIfPresent(pollQuestionId);
+        if (tally != null) {
+            return tally;
+        }
+        // Load outside the map so a slow Astra read never blocks other questions;
+        // if two threads race, the loser's copy is discarded before it sees a vote.
+        VoteTally loaded = loadTally(pollQuestionId);
+        if (clusterNode == null) {
+            VoteTally existing = tallies.asMap().putIfAbsent(pollQuestionId, loaded);
+            return existing != null ? existing : loaded;
+        }
+        return clusterNode.attach(loaded.getQuestion().getPresentationId(), pollQuestionId, ClusterNode.VOTES,
+            unpersisted -> {
+                unpersisted.forEach((key, count) -> {
+                    int option = Integer.parseInt(key);
+                    if (loaded.isValidOption(option)) {
+                        loaded.add(option, count);
+                    }
+                });
+                VoteTally existing = tallies.asMap().putIfAbsent(pollQuestionId, loaded);
+                if (existing != null) {
+                    clusterNode.detach(pollQuestionId);
+                    return existing;
+                }
+                return loaded;
+            });
+    }
+
+    private VoteTally loadTally(UUID pollQuestionId) {
+        PollQuestion question = pollQuestionRepository.findById(pollQuestionId)
+            .orElseThrow(() -> new RuntimeException("Poll question not found"));
+        VoteTally tally = new VoteTally(question, maxVotersPerQuestion);
+        if (counterMode) {
+            List<Integer> stored = question.getVotes();
+            for (int option = 0; option < tally.optionCount() && option < stored.size(); option++) {
+                tally.add(option, stored.get(option));
+            }
+            return tally;
+        }
+        // Responses still in the write-behind queue are not in Astra yet. They
+        // are taken before the read, so one written meanwhile is found by the
+        // read and skipped here. In cluster mode they are part of this node's
+        // unpersisted counts, which attach() adds instead.
+        Map<UUID, Response> unwritten = new HashMap<>();
+        if (clusterNode == null) {
+            for (Response response : writeBehindService.unwrittenResponses(pollQuestionId)) {
+                unwritten.put(response.getId(), response);
+            }
+        }
+        List<Response> ballots = new ArrayList<>();
+        for (Response response : responseRepository.findByPollQuestionId(pollQuestionId)) {
+            unwritten.remove(response.getId());
+            replay(tally, response, ballots);
+        }
+        for (Response response : unwritten.values()) {
+            replay(tally, response, ballots);
+        }
+        // A ballot without a client sequence was numbered in memory after the
+        // one it replaced, so ballots are replayed in the order they were cast
+        // rather than in whatever order Astra returned them.
+        ballots.sort(BALLOT_ORDER);
+        for (Response ballot : ballots) {
+            tally.replayBallot(ballot.getVoterId(), ballot.getSelectedOption(),
+                ballot.getClientSeq() != null ? ballot.getClientSeq() : -1);
+        }
+        logger.debug("Rebuilt tally for poll question {}: {}", pollQuestionId, tally.snapshot());
+        return tally;
+    }
+
+    // Counts an anonymous vote at once; ballots are collected to be replayed in order.
+    private static void replay(VoteTally tally, Response response, List<Response> ballots) {
+        if (!tally.isValidOption(response.getSelectedOption())) {
+            return;
+        }
+        if (response.getVoterId() != null) {
+            ballots.add(response);
+        } else {
+            tally.increment(response.getSelectedOption());
+        }
+    }
+}
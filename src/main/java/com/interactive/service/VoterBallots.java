@@ -0,0 +1,68 @@
+package com.interactive.service;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Each voter's current ballot on one poll question, indexed by interned voter
+ * ref. A ballot is a single long packing the voter's latest client sequence
+ * number and chosen option, so checking for a duplicate or changing a vote is
+ * one read and one CAS, with no Astra round trip. Slots are allocated in
+ * fixed-size chunks on first use, so a question only pays for the ref ranges
+ * its voters fall in.
+ */
+public class VoterBallots {
+    static final long NONE = 0;
+    private static final int CHUNK_BITS = 12;
+    private static final int CHUNK_MASK = (1 << CHUNK_BITS) - 1;
+    private static final int OPTION_BITS = 16;
+    /** Sequences from here up would not fit beside the option in a non-negative long. */
+    static final long SEQUENCE_LIMIT = 1L << (Long.SIZE - 1 - OPTION_BITS);
+
+    private volatile AtomicLongArray[] chunks = new AtomicLongArray[4];
+
+    static long ballot(long sequence, int option) {
+        return (sequence << OPTION_BITS) | (option + 1);
+    }
+
+    static int option(long ballot) {
+        return (int) (ballot & ((1 << OPTION_BITS) - 1)) - 1;
+    }
+
+    static long sequence(long ballot) {
+        return ballot >>> OPTION_BITS;
+    }
+
+    long get(int voter) {
+        AtomicLongArray chunk = chunk(voter, false);
+        return chunk != null ? chunk.get(voter & CHUNK_MASK) : NONE;
+    }
+
+    boolean compareAndSet(int voter, long expected, long ballot) {
+        return chunk(voter, true).compareAndSet(voter & CHUNK_MASK, expected, ballot);
+    }
+
+    private AtomicLongArray chunk(int voter, boolean create) {
+        int index = voter >>> CHUNK_BITS;
+        AtomicLongArray[] current = chunks;
+        if (index < current.length && current[index] != null) {
+            return current[index];
+        }
+        if (!create) {
+            return null;
+        }
+        synchronized (this) {
+            current = chunks;
+            if (index >= current.length) {
+                current = Arrays.copyOf(current, Math.max(index + 1, current.length * 2));
+            }
+            if (current[index] == null) {
+                current[index] = new AtomicLongArray(CHUNK_MASK + 1);
+            }
+            // The volatile write publishes the new chunk to readers that
+            // missed it above.
+            chunks = current;
+            return current[index];
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.interactive.service;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks connected STOMP sessions. Spring can publish more than one disconnect
+ * event for a session, so sessions are kept by id rather than counted.
+ */
+@Component
+public class WebSocketSessionTracker {
+    private final Set<String> sessions = ConcurrentHashMap.newKeySet();
+
+    @EventListener
+    public void onConnected(SessionConnectedEvent event) {
+        String sessionId = (String) event.getMessage().getHeaders().get("simpSessionId");
+        if (sessionId != null) {
+            sessions.add(sessionId);
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        sessions.remove(event.getSessionId());
+    }
+
+    public int activeSessions() {
+        return sessions.size();
+    }
+}
@@ -0,0 +1,260 @@
+package com.interactive.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.interactive.cluster.ClusterNode;
+import com.interactive.model.WordCloud;
+import com.interactive.model.WordCloudUpdate;
+import com.interactive.repository.WordCloudRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Live word counts for every word cloud. Each cloud keeps a fixed-size
+ * Space-Saving counter, so memory does not grow with the number of distinct
+ * words submitted, and the persisted document only ever holds the top terms.
+ * At most {@code word-cloud.max-clouds} clouds are kept, and one left idle
+ * for {@code word-cloud.idle-minutes} is saved, dropped and reloaded from
+ * Astra when it is next used.
+ *
+ * <p>In cluster mode each node's tokens are also counted into its
+ * {@link ClusterNode} replica and other nodes' counts are added to the local
+ * counter as they arrive, so every node persists the same merged top terms.
+ * A cloud loaded from Astra attaches to its subject on the cluster node,
+ * which adds the counts no node has persisted yet, and each persist marks
+ * this node's counts up to that point as written. The stored document
+ * holds only the merged top terms, so this reconciliation is as
+ * approximate as the counts themselves.
+ */
+@Component
+public class WordCloudEngine {
+    private static final Logger logger = LoggerFactory.getLogger(WordCloudEngine.class);
+
+    private final WordCloudRepository wordCloudRepository;
+    private final WordNormalizer wordNormalizer;
+    private final ClusterNode clusterNode;
+    private final int trackedWords;
+    private final int displayedWords;
+    private final Cache<UUID, CloudState> clouds;
+    private final Set<UUID> unsaved = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public WordCloudEngine(WordCloudRepository wordCloudRepository,
+                           WordNormalizer wordNormalizer,
+                           ObjectProvider<ClusterNode> clusterNode,
+                           @Value("${word-cloud.tracked-words:1000}") int trackedWords,
+                           @Value("${word-cloud.displayed-words:100}") int displayedWords,
+                           @Value("${word-cloud.max-clouds:1000}") long maxClouds,
+                           @Value("${word-cloud.idle-minutes:120}") long idleMinutes) {
+        this.wordCloudRepository = wordCloudRepository;
+        this.wordNormalizer = wordNormalizer;
+        this.clusterNode = clusterNode.getIfAvailable();
+        this.trackedWords = trackedWords;
+        this.displayedWords = displayedWords;
+        this.clouds = Caffeine.newBuilder()
+            .maximumSize(maxClouds)
+            .expireAfterAccess(Duration.ofMinutes(idleMinutes))
+            .removalListener(this::removed)
+            .build();
+    }
+
+    /**
+     * Counts the normalized tokens of a submission and returns the id of the
+     * presentation the cloud belongs to.
+     */
+    public UUID submit(UUID wordCloudId, String text) {
+        CloudState state = getState(wordCloudId);
+        List<String> tokens = wordNormalizer.normalize(text);
+        for (String token : tokens) {
+            state.counter.add(token, 1);
+            if (clusterNode != null) {
+                clusterNode.add(state.cloud.getPresentationId(), wordCloudId, ClusterNode.WORDS, token, 1);
+            }
+        }
+        if (!tokens.isEmpty()) {
+            unsaved.add(wordCloudId);
+        }
+        return state.cloud.getPresentationId();
+    }
+
+    /**
+     * Adds counts another node accepted. Returns false when the cloud is not
+     * loaded here; the cluster node keeps them, and they are added when the
+     * cloud is loaded unless Astra has them by then.
+     */
+    public boolean applyRemote(UUID wordCloudId, String word, long delta) {
+        CloudState state = clouds.getIfPresent(wordCloudId);
+        if (state == null || delta <= 0) {
+            return false;
+        }
+        state.counter.add(word, delta);
+        return true;
+    }
+
+    /** The presentation a word cloud belongs to. */
+    public UUID presentationOf(UUID wordCloudId) {
+        return getState(wordCloudId).cloud.getPresentationId();
+    }
+
+    public WordCloud getWordCloud(UUID wordCloudId) {
+        CloudState state = getState(wordCloudId);
+        WordCloud wordCloud = new WordCloud();
+        wordCloud.setId(state.cloud.getId());
+        wordCloud.setPresentationId(state.cloud.getPresentationId());
+        wordCloud.setPrompt(state.cloud.getPrompt());
+        wordCloud.setActive(state.cloud.isActive());
+        wordCloud.setCreatedAt(state.cloud.getCreatedAt());
+        wordCloud.setWordFrequencies(topWords(state));
+        return wordCloud;
+    }
+
+    /**
+     * Returns the counts that changed since the last call, or null when
+     * nothing changed. Evicted words are listed so clients can drop them.
+     */
+    public WordCloudUpdate drainUpdate(UUID wordCloudId) {
+        CloudState state = clouds.getIfPresent(wordCloudId);
+        if (state == null) {
+            return null;
+        }
+        SpaceSavingCounter.Changes changes = state.counter.drainChanges();
+        if (changes.isEmpty()) {
+            return null;
+        }
+        WordCloudUpdate update = new WordCloudUpdate();
+        update.setId(wordCloudId);
+        update.setWordFrequencies(changes.getCounts());
+        update.setRemoved(changes.getRemoved());
+        return update;
+    }
+
+    /** Makes a loaded cloud show an edited prompt or active flag; its counts are kept. */
+    public void refresh(WordCloud cloud) {
+        CloudState state = clouds.getIfPresent(cloud.getId());
+        if (state != null) {
+            state.cloud = cloud;
+        }
+    }
+
+    public void evict(UUID wordCloudId) {
+        unsaved.remove(wordCloudId);
+        clouds.invalidate(wordCloudId);
+    }
+
+    @Scheduled(fixedDelayString = "${word-cloud.flush-interval-ms:1000}")
+    public void persist() {
+        for (UUID wordCloudId : unsaved) {
+            unsaved.remove(wordCloudId);
+            CloudState state = clouds.getIfPresent(wordCloudId);
+            if (state == null) {
+                // Evicted meanwhile; the removal listener saves it.
+                continue;
+            }
+            try {
+                save(wordCloudId, state);
+            } catch (Exception e) {
+                logger.warn("Error persisting word cloud {}: {}", wordCloudId, e.getMessage());
+                unsaved.add(wordCloudId);
+            }
+        }
+    }
+
+    private void save(UUID wordCloudId, CloudState state) {
+        // Taken before the snapshot, so it never covers a count the write missed.
+        Map<String, Long> written = clusterNode != null ? clusterNode.ownCounts(wordCloudId) : null;
+        wordCloudRepository.updateFields(wordCloudId, Map.of("wordFrequencies", topWords(state)));
+        if (written != null) {
+            clusterNode.persistedUpTo(wordCloudId, written);
+        }
+    }
+
+    // An evicted cloud is saved before it goes, whether or not a persist
+    // was due, so its counts are there when it is reloaded.
+    private void removed(UUID wordCloudId, CloudState state, RemovalCause cause) {
+        if (wordCloudId == null || state == null) {
+            return;
+        }
+        if (cause.wasEvicted()) {
+            unsaved.remove(wordCloudId);
+            try {
+                save(wordCloudId, state);
+            } catch (Exception e) {
+                logger.warn("Error persisting evicted word cloud {}: {}", wordCloudId, e.getMessage());
+            }
+        }
+        // Every cloud in the cache attached once when it was loaded.
+        if (clusterNode != null) {
+            clusterNode.detach(wordCloudId);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        persist();
+    }
+
+    private Map<String, Integer> topWords(CloudState state) {
+        Map<String, Integer> words = new HashMap<>();
+        state.counter.top(displayedWords)
+            .forEach((word, count) -> words.put(word, (int) Math.min(Integer.MAX_VALUE, count)));
+        return words;
+    }
+
+    private CloudState getState(UUID wordCloudId) {
+        CloudState state = clouds.getIfPresent(wordCloudId);
+        if (state != null) {
+            return state;
+        }
+        WordCloud cloud = wordCloudRepository.findById(wordCloudId)
+            .orElseThrow(() -> new RuntimeException("Word cloud not found"));
+        CloudState loaded = new CloudState(cloud, new SpaceSavingCounter(trackedWords));
+        if (cloud.getWordFrequencies() != null) {
+            cloud.getWordFrequencies().forEach((word, count) -> loaded.counter.add(word, count));
+            loaded.counter.drainChanges();
+        }
+        if (clusterNode == null) {
+            CloudState existing = clouds.asMap().putIfAbsent(wordCloudId, loaded);
+            return existing != null ? existing : loaded;
+        }
+        return clusterNode.attach(cloud.getPresentationId(), wordCloudId, ClusterNode.WORDS, unpersisted -> {
+            unpersisted.forEach((word, count) -> {
+                if (count > 0) {
+                    loaded.counter.add(word, count);
+                }
+            });
+            // Seeded counts are the other nodes' to persist; they are not a change of this node's.
+            loaded.counter.drainChanges();
+            CloudState existing = clouds.asMap().putIfAbsent(wordCloudId, loaded);
+            if (existing != null) {
+                clusterNode.detach(wordCloudId);
+                return existing;
+            }
+            return loaded;
+        });
+    }
+
+    private static final class CloudState {
+        private volatile WordCloud cloud;
+        private final SpaceSavingCounter counter;
+
+        private CloudState(WordCloud cloud, SpaceSavingCounter counter) {
+            this.cloud = cloud;
+            this.counter = counter;
+        }
+    }
+}
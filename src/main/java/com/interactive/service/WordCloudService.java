@@ -0,0 +1,53 @@
+package com.interactive.service;
+
+import com.interactive.model.WordCloud;
+import com.interactive.model.WordSubmission;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+@Service
+public class WordCloudService {
+    private final WriteBehindService writeBehindService;
+    private final WordCloudEngine wordCloudEngine;
+    private final ResultBroadcaster resultBroadcaster;
+    private final TimeSeriesRollups timeSeriesRollups;
+
+    @Autowired
+    public WordCloudService(WriteBehindService writeBehindService,
+                            WordCloudEngine wordCloudEngine,
+                            ResultBroadcaster resultBroadcaster,
+                            TimeSeriesRollups timeSeriesRollups) {
+        this.writeBehindService = writeBehindService;
+        this.wordCloudEngine = wordCloudEngine;
+        this.resultBroadcaster = resultBroadcaster;
+        this.timeSeriesRollups = timeSeriesRollups;
+    }
+
+    public WordCloud getWordCloud(UUID wordCloudId) {
+        return wordCloudEngine.getWordCloud(wordCloudId);
+    }
+
+    public UUID presentationOf(UUID wordCloudId) {
+        return wordCloudEngine.presentationOf(wordCloudId);
+    }
+
+    public WordSubmission submitWord(UUID wordCloudId, String word, boolean durable) {
+        // Loads the cloud first, so an unknown id fails before anything is written.
+        UUID presentationId = wordCloudEngine.presentationOf(wordCloudId);
+        WordSubmission submission = new WordSubmission();
+        submission.setWordCloudId(wordCloudId);
+        submission.setWord(word);
+        // Queue first so a word rejected by backpressure is never counted.
+        CompletableFuture<Void> written = writeBehindService.submitWordSubmission(submission);
+        wordCloudEngine.submit(wordCloudId, word);
+        resultBroadcaster.markWordCloudDirty(presentationId, wordCloudId);
+        timeSeriesRollups.recordWord(wordCloudId);
+        if (durable) {
+            writeBehindService.awaitWritten(written);
+        }
+        return submission;
+    }
+}
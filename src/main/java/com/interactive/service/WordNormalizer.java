@@ -0,0 +1,51 @@
+package com.interactive.service;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+@Component
+public class WordNormalizer {
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int MAX_TOKENS = 5;
+    private static final int MAX_TOKEN_LENGTH = 40;
+    private static final Set<String> STOP_WORDS = Set.of(
+        "a", "an", "and", "are", "as", "at", "be", "but", "by", "for", "from", "i", "if", "in",
+        "into", "is", "it", "its", "me", "my", "no", "not", "of", "on", "or", "our", "so", "such",
+        "that", "the", "their", "then", "there", "these", "they", "this", "to", "was", "we",
+        "were", "will", "with", "you", "your");
+
+    private final WordStemmer stemmer;
+
+    @Autowired
+    public WordNormalizer(ObjectProvider<WordStemmer> stemmer) {
+        this.stemmer = stemmer.getIfAvailable(() -> word -> word);
+    }
+
+    /**
+     * Splits a submission into lower-cased tokens with punctuation and stop
+     * words removed. At most a handful of tokens are kept per submission.
+     */
+    public List<String> normalize(String input) {
+        List<String> tokens = new ArrayList<>();
+        if (input == null) {
+            return tokens;
+        }
+        for (String raw : NON_WORD.split(input.toLowerCase(Locale.ROOT))) {
+            if (raw.isEmpty() || raw.length() > MAX_TOKEN_LENGTH || STOP_WORDS.contains(raw)) {
+                continue;
+            }
+            tokens.add(stemmer.stem(raw));
+            if (tokens.size() == MAX_TOKENS) {
+                break;
+            }
+        }
+        return tokens;
+    }
+}
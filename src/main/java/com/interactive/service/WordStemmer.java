@@ -0,0 +1,11 @@
+package com.interactive.service;
+
+/**
+ * Reduces a normalized word to the form it is counted under. Register a bean
+ * of this type to merge inflections such as "cats" and "cat"; without one,
+ * words are counted as typed.
+ */
+@FunctionalInterface
+public interface WordStemmer {
+    String stem(String word);
+}
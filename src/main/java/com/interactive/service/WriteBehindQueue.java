@@ -0,0 +1,204 @@
+package com.interactive.service;
+
+import com.interactive.admission.AdmissionRejectedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Bounded buffer that collects documents and hands them to a batch writer once
+ * either {@code batchSize} items are queued or {@code flushInterval} has passed
+ * since the first item of the batch arrived. Producers block for at most
+ * {@code offerTimeout} when the buffer is full and are then rejected.
+ *
+ * <p>A batch that fails to write is retried with jittered exponential backoff
+ * up to {@code maxWriteAttempts} times, so the writer must tolerate a batch
+ * that an earlier attempt already stored. A batch that still fails is
+ * dropped, its futures fail, and its items are counted in {@link #dropped()}.
+ */
+public class WriteBehindQueue<T> {
+    private static final Logger logger = LoggerFactory.getLogger(WriteBehindQueue.class);
+    private static final long IDLE_POLL_MILLIS = 100;
+    private static final int MAX_ADMISSION_RETRIES = 50;
+
+    private final String name;
+    private final Consumer<List<T>> writer;
+    private final BlockingQueue<Pending<T>> queue;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long offerTimeoutMillis;
+    private final int maxWriteAttempts;
+    private final long retryBaseDelayMillis;
+    private final long retryMaxDelayMillis;
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    public WriteBehindQueue(String name, Consumer<List<T>> writer, int capacity, int batchSize,
+                            long flushIntervalMillis, long offerTimeoutMillis, int maxWriteAttempts,
+                            long retryBaseDelayMillis, long retryMaxDelayMillis) {
+        this.name = name;
+        this.writer = writer;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.maxWriteAttempts = Math.max(1, maxWriteAttempts);
+        this.retryBaseDelayMillis = retryBaseDelayMillis;
+        this.retryMaxDelayMillis = retryMaxDelayMillis;
+        this.flusher = new Thread(this::run, "write-behind-" + name);
+        this.flusher.start();
+    }
+
+    /**
+     * Queues an item and returns a future that completes once the batch holding
+     * it has been written. Callers that need durability can wait on the future.
+     */
+    public CompletableFuture<Void> submit(T item) {
+        if (!running) {
+            throw new RejectedExecutionException("Write-behind queue " + name + " is shut down");
+        }
+        Pending<T> pending = new Pending<>(item);
+        try {
+            if (!queue.offer(pending, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new RejectedExecutionException("Write-behind queue " + name + " is full");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while queueing to " + name, e);
+        }
+        // A close that raced the check above may have let the flusher exit
+        // already; take the item back unless the flusher got to it first.
+        if (!running && queue.remove(pending)) {
+            throw new RejectedExecutionException("Write-behind queue " + name + " is shut down");
+        }
+        return pending.future;
+    }
+
+    public int size() {
+        return queue.size();
+    }
+
+    /** Items whose batch was given up on after its last write attempt. */
+    public long dropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Stops accepting new items and waits for everything already queued to be
+     * written.
+     */
+    public void close(long timeoutMillis) throws InterruptedException {
+        running = false;
+        flusher.join(timeoutMillis);
+        if (flusher.isAlive()) {
+            logger.warn("Write-behind queue {} did not drain within {} ms, {} items pending",
+                name, timeoutMillis, queue.size());
+        }
+    }
+
+    private void run() {
+        List<Pending<T>> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending<T> first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                        break;
+                    }
+                    Pending<T> next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Pending<T>> batch) {
+        List<T> items = new ArrayList<>(batch.size());
+        for (Pending<T> pending : batch) {
+            items.add(pending.item);
+        }
+        try {
+            write(items);
+            for (Pending<T> pending : batch) {
+                pending.future.complete(null);
+            }
+        } catch (Exception e) {
+            dropped.addAndGet(items.size());
+            logger.error("Dropping {} items from write-behind queue {}: {}",
+                items.size(), name, e.getMessage());
+            for (Pending<T> pending : batch) {
+                pending.future.completeExceptionally(e);
+            }
+        }
+    }
+
+    // A batch shed by the Astra concurrency limit is retried after the
+    // suggested delay; other failures are retried with backoff up to
+    // maxWriteAttempts. Meanwhile the bounded queue fills and pushes back on
+    // producers.
+    private void write(List<T> items) throws InterruptedException {
+        int rejections = 0;
+        for (int attempt = 1; ; ) {
+            try {
+                writer.accept(items);
+                return;
+            } catch (AdmissionRejectedException e) {
+                if (++rejections >= MAX_ADMISSION_RETRIES) {
+                    throw e;
+                }
+                Thread.sleep(Math.max(1, e.getRetryAfter().toMillis()));
+            } catch (RuntimeException e) {
+                if (attempt >= maxWriteAttempts) {
+                    throw e;
+                }
+                logger.warn("Retrying {} items from write-behind queue {} (attempt {}): {}",
+                    items.size(), name, attempt, e.getMessage());
+                attempt++;
+                backoff(attempt);
+            }
+        }
+    }
+
+    private void backoff(int attempt) throws InterruptedException {
+        long ceiling = Math.min(retryMaxDelayMillis, retryBaseDelayMillis << Math.min(attempt - 2, 20));
+        if (ceiling > 0) {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling / 2, ceiling + 1));
+        }
+    }
+
+    private static final class Pending<T> {
+        private final T item;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        private Pending(T item) {
+            this.item = item;
+        }
+    }
+}
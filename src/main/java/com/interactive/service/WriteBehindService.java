@@ -0,0 +1,129 @@
+package com.interactive.service;
+
+import com.interactive.model.Response;
+import com.interactive.model.WordSubmission;
+import com.interactive.repository.ResponseRepository;
+import com.interactive.repository.WordCloudRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Batches response and word submission writes so peak voting turns into a
+ * handful of insertMany calls instead of one Data API request per document.
+ * Responses are also indexed by poll question until their write finishes,
+ * so a tally rebuilt meanwhile can count the ones Astra does not have yet.
+ */
+@Service
+public class WriteBehindService {
+    private final WriteBehindQueue<Response> responses;
+    private final WriteBehindQueue<WordSubmission> wordSubmissions;
+    private final long shutdownTimeoutMillis;
+    private final long durableTimeoutMillis;
+    private final ConcurrentMap<UUID, ConcurrentMap<UUID, Response>> unwrittenResponses = new ConcurrentHashMap<>();
+
+    @Autowired
+    public WriteBehindService(ResponseRepository responseRepository,
+                              WordCloudRepository wordCloudRepository,
+                              @Value("${write-behind.capacity:50000}") int capacity,
+                              @Value("${write-behind.batch-size:200}") int batchSize,
+                              @Value("${write-behind.flush-interval-ms:50}") long flushIntervalMillis,
+                              @Value("${write-behind.offer-timeout-ms:100}") long offerTimeoutMillis,
+                              @Value("${write-behind.max-write-attempts:5}") int maxWriteAttempts,
+                              @Value("${write-behind.retry-base-delay-ms:100}") long retryBaseDelayMillis,
+                              @Value("${write-behind.retry-max-delay-ms:5000}") long retryMaxDelayMillis,
+                              @Value("${write-behind.durable-timeout-ms:10000}") long durableTimeoutMillis,
+                              @Value("${write-behind.shutdown-timeout-ms:30000}") long shutdownTimeoutMillis) {
+        this.responses = new WriteBehindQueue<>("responses", responseRepository::saveAll,
+            capacity, batchSize, flushIntervalMillis, offerTimeoutMillis,
+            maxWriteAttempts, retryBaseDelayMillis, retryMaxDelayMillis);
+        this.wordSubmissions = new WriteBehindQueue<>("word-submissions", wordCloudRepository::saveSubmissions,
+            capacity, batchSize, flushIntervalMillis, offerTimeoutMillis,
+            maxWriteAttempts, retryBaseDelayMillis, retryMaxDelayMillis);
+        this.durableTimeoutMillis = durableTimeoutMillis;
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+    }
+
+    public CompletableFuture<Void> submitResponse(Response response) {
+        unwrittenResponses.compute(response.getPollQuestionId(), (id, unwritten) -> {
+            ConcurrentMap<UUID, Response> pending = unwritten != null ? unwritten : new ConcurrentHashMap<>();
+            pending.put(response.getId(), response);
+            return pending;
+        });
+        try {
+            CompletableFuture<Void> written = responses.submit(response);
+            // A failed write is forgotten too; the response is not in Astra.
+            written.whenComplete((ignored, error) -> forget(response));
+            return written;
+        } catch (RuntimeException e) {
+            forget(response);
+            throw e;
+        }
+    }
+
+    /** Responses to a poll question that are queued or being written. */
+    public List<Response> unwrittenResponses(UUID pollQuestionId) {
+        ConcurrentMap<UUID, Response> unwritten = unwrittenResponses.get(pollQuestionId);
+        return unwritten != null ? List.copyOf(unwritten.values()) : List.of();
+    }
+
+    public CompletableFuture<Void> submitWordSubmission(WordSubmission submission) {
+        return wordSubmissions.submit(submission);
+    }
+
+    /**
+     * Waits up to {@code write-behind.durable-timeout-ms} for a queued or buffered write
+     * to complete, for callers that asked for durability.
+     */
+    public void awaitWritten(CompletableFuture<Void> written) {
+        try {
+            written.get(durableTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new RuntimeException("Write not confirmed within " + durableTimeoutMillis + " ms", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Write failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted waiting for write", e);
+        }
+    }
+
+    private void forget(Response response) {
+        unwrittenResponses.computeIfPresent(response.getPollQuestionId(), (id, unwritten) -> {
+            unwritten.remove(response.getId());
+            return unwritten.isEmpty() ? null : unwritten;
+        });
+    }
+
+    public int responseQueueDepth() {
+        return responses.size();
+    }
+
+    public int wordSubmissionQueueDepth() {
+        return wordSubmissions.size();
+    }
+
+    public long responsesDropped() {
+        return responses.dropped();
+    }
+
+    public long wordSubmissionsDropped() {
+        return wordSubmissions.dropped();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        responses.close(shutdownTimeoutMillis);
+        wordSubmissions.close(shutdownTimeoutMillis);
+    }
+}
@@ -0,0 +1,197 @@
+package com.interactive.cluster;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that tallies loaded from storage on any node converge to the votes
+ * counted across the cluster, however loads, restarts and full syncs
+ * interleave with the gossip.
+ */
+class InProcessClusterTest {
+    private static final UUID PRESENTATION = UUID.randomUUID();
+    private static final UUID QUESTION = UUID.randomUUID();
+
+    private InProcessCluster cluster;
+    private Map<String, Long> store;
+    private Replica[] replicas;
+
+    @BeforeEach
+    void setUp() {
+        cluster = new InProcessCluster(3, 16, 100);
+        store = new HashMap<>();
+        replicas = new Replica[3];
+        for (int i = 0; i < replicas.length; i++) {
+            replicas[i] = new Replica(cluster.node(i));
+        }
+    }
+
+    @Test
+    void loadsWhatAnotherNodePersisted() {
+        replicas[0].load();
+        replicas[0].vote("0", 3);
+        replicas[0].persist();
+        cluster.gossip();
+
+        replicas[1].load();
+        cluster.fullSync();
+
+        assertEquals(3, replicas[0].total("0"));
+        assertEquals(3, replicas[1].total("0"));
+    }
+
+    @Test
+    void gossipReachesLoadedTallyOnce() {
+        replicas[0].load();
+        replicas[1].load();
+        replicas[0].vote("1", 2);
+        cluster.gossip();
+        assertEquals(2, replicas[1].total("1"));
+
+        replicas[0].persist();
+        cluster.gossip();
+        cluster.fullSync();
+        replicas[2].load();
+
+        assertEquals(2, replicas[1].total("1"));
+        assertEquals(2, replicas[2].total("1"));
+    }
+
+    @Test
+    void includesCountsMergedWhileNotLoaded() {
+        replicas[0].load();
+        replicas[0].vote("0", 4);
+        cluster.gossip();
+
+        replicas[1].load();
+        cluster.fullSync();
+
+        assertEquals(4, replicas[1].total("0"));
+    }
+
+    @Test
+    void restartedNodeDoesNotCountPersistedVotesTwice() {
+        replicas[0].load();
+        replicas[0].vote("0", 5);
+        replicas[0].persist();
+        replicas[0].vote("0", 1);
+        cluster.gossip();
+
+        replicas[1] = new Replica(cluster.restart(1));
+        replicas[1].load();
+        cluster.fullSync();
+        assertEquals(6, replicas[1].total("0"));
+
+        replicas[0].vote("0", 2);
+        replicas[0].persist();
+        cluster.gossip();
+        cluster.fullSync();
+
+        assertEquals(8, replicas[0].total("0"));
+        assertEquals(8, replicas[1].total("0"));
+        assertEquals(8, store.get("0"));
+    }
+
+    @Test
+    void changedBallotsConverge() {
+        replicas[0].load();
+        replicas[1].load();
+        replicas[0].vote("0", 3);
+        replicas[1].vote("1", 2);
+        cluster.gossip();
+        replicas[0].persist();
+        replicas[0].vote("0", -1);
+        replicas[0].vote("1", 1);
+        cluster.gossip();
+        replicas[1].persist();
+        cluster.gossip();
+
+        replicas[2].load();
+        cluster.fullSync();
+
+        for (Replica replica : replicas) {
+            assertEquals(2, replica.total("0"));
+            assertEquals(3, replica.total("1"));
+        }
+    }
+
+    @Test
+    void reloadsAfterEvictionWithoutLosingUnpersistedCounts() {
+        replicas[0].load();
+        replicas[1].load();
+        replicas[0].vote("0", 3);
+        cluster.gossip();
+        replicas[0].persist();
+        replicas[0].vote("0", 2);
+        cluster.gossip();
+        assertEquals(5, replicas[1].total("0"));
+
+        replicas[1].unload();
+        assertTrue(cluster.node(1).evictIdle(Duration.ZERO) > 0);
+        assertTrue(cluster.node(1).counts(QUESTION).isEmpty());
+
+        replicas[1].load();
+        assertEquals(3, replicas[1].total("0"));
+        cluster.fullSync();
+
+        assertEquals(5, replicas[1].total("0"));
+    }
+
+    // A node's tally: loaded from the shared store, seeded with the counts
+    // no node has persisted, and kept current by the cluster's deltas.
+    private final class Replica {
+        private final ClusterNode node;
+        private final Map<String, Long> pending = new HashMap<>();
+        private Map<String, Long> tally;
+
+        private Replica(ClusterNode node) {
+            this.node = node;
+            node.addListener((presentationId, subjectId, kind, key, delta) -> {
+                if (tally != null) {
+                    tally.merge(key, delta, Long::sum);
+                }
+            });
+        }
+
+        private void load() {
+            Map<String, Long> loaded = new HashMap<>(store);
+            tally = node.attach(PRESENTATION, QUESTION, ClusterNode.VOTES, unpersisted -> {
+                unpersisted.forEach((key, count) -> loaded.merge(key, count, Long::sum));
+                return loaded;
+            });
+        }
+
+        private void unload() {
+            tally = null;
+            node.detach(QUESTION);
+        }
+
+        private void vote(String option, long delta) {
+            node.add(PRESENTATION, QUESTION, ClusterNode.VOTES, option, delta);
+            pending.merge(option, delta, Long::sum);
+            if (tally != null) {
+                tally.merge(option, delta, Long::sum);
+            }
+        }
+
+        private void persist() {
+            pending.forEach((option, delta) -> {
+                store.merge(option, delta, Long::sum);
+                node.persisted(QUESTION, option, delta);
+            });
+            pending.clear();
+        }
+
+        private long total(String option) {
+            return tally.getOrDefault(option, 0L);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.interactive.repository.impl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks what survives a reopen when the log was left torn or damaged: a bad
+ * record at the end of the last segment is dropped and appends carry on in
+ * its place, while a bad record in an earlier segment stops the replay.
+ */
+class LocalSegmentLogTest {
+    // Collection "c", a one-character id and a ten-byte document make a
+    // 17-byte payload, so each record takes 25 bytes and two fit a segment.
+    private static final int SEGMENT_SIZE = 64;
+    private static final int RECORD_SIZE = 25;
+    private static final int HEADER_BYTES = 8;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replaysWhatWasAppended() throws IOException {
+        append("1", "2", "3");
+
+        assertEquals(List.of("1", "2", "3"), replay());
+    }
+
+    @Test
+    void discardsTruncatedTail() throws IOException {
+        append("1", "2");
+        // A length that runs past the end of the segment, as a record cut
+        // short by the crash would leave.
+        writeInt(segment(1), 2L * RECORD_SIZE, SEGMENT_SIZE);
+
+        assertEquals(List.of("1", "2"), replay());
+        append("3");
+        assertEquals(List.of("1", "2", "3"), replay());
+    }
+
+    @Test
+    void discardsLastRecordWithBadChecksum() throws IOException {
+        append("1", "2");
+        flipByte(segment(1), RECORD_SIZE + HEADER_BYTES + 1);
+
+        assertEquals(List.of("1"), replay());
+        append("3");
+        assertEquals(List.of("1", "3"), replay());
+    }
+
+    @Test
+    void refusesCorruptRecordInEarlierSegment() throws IOException {
+        append("1", "2", "3");
+        flipByte(segment(1), RECORD_SIZE + HEADER_BYTES + 1);
+
+        assertThrows(IOException.class, this::replay);
+    }
+
+    private void append(String... ids) throws IOException {
+        try (LocalSegmentLog log = new LocalSegmentLog(directory, SEGMENT_SIZE, false)) {
+            log.open((op, collection, id, document) -> { });
+            for (String id : ids) {
+                log.append(LocalSegmentLog.PUT, "c", id, "document-0".getBytes(StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    private List<String> replay() throws IOException {
+        List<String> ids = new ArrayList<>();
+        try (LocalSegmentLog log = new LocalSegmentLog(directory, SEGMENT_SIZE, false)) {
+            log.open((op, collection, id, document) -> ids.add(id));
+        }
+        return ids;
+    }
+
+    private Path segment(int index) {
+        return directory.resolve(String.format("segment-%06d.log", index));
+    }
+
+    private static void writeInt(Path file, long offset, int value) throws IOException {
+        try (RandomAccessFile out = new RandomAccessFile(file.toFile(), "rw")) {
+            out.seek(offset);
+            out.writeInt(value);
+        }
+    }
+
+    private static void flipByte(Path file, long offset) throws IOException {
+        try (RandomAccessFile out = new RandomAccessFile(file.toFile(), "rw")) {
+            out.seek(offset);
+            int value = out.read();
+            out.seek(offset);
+            out.write(value ^ 0xFF);
+        }
+    }
+}